@@ -1,6 +1,7 @@
 package uk.gov.hmcts.reform.timedevent.infrastructure.controllers;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -72,6 +73,18 @@ class PostTimedEventIntegrationTest extends SpringBootIntegrationTest {
             .andReturn();
 
         assertEquals(timedEventWithIdAndDate(identity), getResponse.getResponse().getContentAsString());
+
+        // assert pending timed events of the case
+        getResponse = mockMvc
+            .perform(
+                get("/timed-event")
+                    .param("caseId", "1588772172174023")
+                    .contentType("application/json")
+            )
+            .andExpect(status().isOk())
+            .andReturn();
+
+        assertTrue(getResponse.getResponse().getContentAsString().contains(timedEventWithIdAndDate(identity)));
     }
 
     @Test
@@ -100,6 +113,40 @@ class PostTimedEventIntegrationTest extends SpringBootIntegrationTest {
             .andReturn();
     }
 
+    @Test
+    @WithMockUser(authorities = {"tribunal-caseworker"})
+    void timedEventBatchEndpoint() throws Exception {
+
+        String identity = "0b5bdb5c-3f4b-4a39-9b7f-7d7f4e1f3d11";
+
+        when(identityProvider.identity()).thenReturn(identity);
+
+        // schedule batch with one valid and one forbidden timed event
+        MvcResult postResponse = mockMvc
+            .perform(
+                post("/timed-event/batch")
+                    .content("[" + timedEvent() + "," + timedEvent().replace("example", "endAppealAutomatically") + "]")
+                    .contentType("application/json")
+            )
+            .andExpect(status().isOk())
+            .andReturn();
+
+        String body = postResponse.getResponse().getContentAsString();
+        assertTrue(body.startsWith("[{\"index\":0,\"status\":201,\"timedEvent\":" + timedEventWithId(identity)));
+        assertTrue(body.contains("{\"index\":1,\"status\":403,"));
+
+        // assert creation of timed event
+        MvcResult getResponse = mockMvc
+            .perform(
+                get("/timed-event/" + identity)
+                    .contentType("application/json")
+            )
+            .andExpect(status().isOk())
+            .andReturn();
+
+        assertEquals(timedEventWithId(identity), getResponse.getResponse().getContentAsString());
+    }
+
     private String timedEventWithIdAndDate(String id) {
         return "{\"id\":\"" + id + "\","
                + "\"event\":\"example\","
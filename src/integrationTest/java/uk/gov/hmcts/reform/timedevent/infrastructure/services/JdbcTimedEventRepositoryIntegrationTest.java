@@ -0,0 +1,78 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import uk.gov.hmcts.reform.timedevent.domain.entities.TimedEvent;
+import uk.gov.hmcts.reform.timedevent.domain.entities.ccd.Event;
+import uk.gov.hmcts.reform.timedevent.domain.services.SchedulerService;
+import uk.gov.hmcts.reform.timedevent.domain.services.TimedEventRepository;
+import uk.gov.hmcts.reform.timedevent.testutils.SpringBootIntegrationTest;
+
+class JdbcTimedEventRepositoryIntegrationTest extends SpringBootIntegrationTest {
+
+    private static final long CASE_ID = 1588772172174099L;
+
+    @Autowired
+    private SchedulerService schedulerService;
+
+    @Autowired
+    private TimedEventRepository timedEventRepository;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final ZonedDateTime scheduledDateTime = ZonedDateTime.parse("2099-07-12T10:00:00Z");
+
+    private String identity;
+
+    @AfterEach
+    void cleanUp() {
+        triggerState("WAITING");
+        schedulerService.deleteSchedule(identity);
+    }
+
+    @Test
+    void should_not_treat_acquired_or_executing_trigger_as_pending() {
+
+        identity = schedulerService.schedule(
+            new TimedEvent("", Event.EXAMPLE, scheduledDateTime, "IA", "Asylum", CASE_ID)
+        );
+
+        List<TimedEvent> pending = lockPending();
+        assertEquals(1, pending.size());
+        assertEquals(identity, pending.get(0).getId());
+
+        // timed_event row stays SCHEDULED until the job has been executed
+        triggerState("ACQUIRED");
+        assertTrue(lockPending().isEmpty());
+
+        triggerState("EXECUTING");
+        assertTrue(lockPending().isEmpty());
+    }
+
+    private List<TimedEvent> lockPending() {
+        return timedEventRepository.lockPending(
+            CASE_ID,
+            Event.EXAMPLE,
+            scheduledDateTime.minusHours(1),
+            scheduledDateTime.plusHours(1)
+        );
+    }
+
+    private void triggerState(String state) {
+        jdbcTemplate.update(
+            "UPDATE QRTZ_TRIGGERS SET TRIGGER_STATE = :state WHERE TRIGGER_NAME = :identity",
+            new MapSqlParameterSource()
+                .addValue("state", state)
+                .addValue("identity", identity)
+        );
+    }
+}
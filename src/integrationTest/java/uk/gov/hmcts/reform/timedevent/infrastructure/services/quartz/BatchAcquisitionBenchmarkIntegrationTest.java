@@ -0,0 +1,158 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.services.quartz;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.quartz.Job;
+import org.quartz.JobBuilder;
+import org.quartz.JobDetail;
+import org.quartz.JobExecutionContext;
+import org.quartz.Scheduler;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+import org.springframework.scheduling.quartz.SchedulerFactoryBean;
+import uk.gov.hmcts.reform.timedevent.testutils.PostgresBenchmarkDatabase;
+
+// measures how fast two clustered nodes drain a backlog of due triggers for different
+// org.quartz.scheduler.batchTriggerAcquisitionMaxCount values, see PostgresBenchmarkDatabase for setup
+@Slf4j
+@EnabledIfEnvironmentVariable(named = PostgresBenchmarkDatabase.URL_VARIABLE, matches = ".+")
+class BatchAcquisitionBenchmarkIntegrationTest {
+
+    private static final int TRIGGERS = 5000;
+    private static final int THREAD_COUNT = 16;
+    private static final int NODES = 2;
+    private static final int[] BATCH_SIZES = {1, 4, 16};
+
+    private static volatile CountDownLatch fired;
+
+    @Test
+    void should_drain_due_triggers_for_each_batch_size() throws Exception {
+
+        List<String> results = new ArrayList<>();
+
+        for (int batchSize : BATCH_SIZES) {
+            results.add(run(batchSize));
+        }
+
+        log.info("Batch acquisition benchmark, {} triggers, {} nodes, {} threads each:", TRIGGERS, NODES, THREAD_COUNT);
+        results.forEach(result -> log.info("    {}", result));
+    }
+
+    private String run(int batchSize) throws Exception {
+
+        try (HikariDataSource dataSource = PostgresBenchmarkDatabase.dataSource(THREAD_COUNT * NODES + 4)) {
+
+            PostgresBenchmarkDatabase.recreateSchema(dataSource);
+
+            List<SchedulerFactoryBean> nodes = new ArrayList<>();
+            for (int i = 0; i < NODES; i++) {
+                nodes.add(node(dataSource, "node-" + i, batchSize));
+            }
+
+            seed(nodes.get(0).getScheduler());
+
+            fired = new CountDownLatch(TRIGGERS);
+
+            long start = System.nanoTime();
+            boolean drained;
+
+            try (PostgresBenchmarkDatabase.LockWaitSampler sampler = new PostgresBenchmarkDatabase.LockWaitSampler(dataSource)) {
+
+                for (SchedulerFactoryBean node : nodes) {
+                    node.start();
+                }
+
+                drained = fired.await(10, TimeUnit.MINUTES);
+
+                long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+                for (SchedulerFactoryBean node : nodes) {
+                    node.destroy();
+                }
+
+                assertTrue(drained, "not all triggers fired for batch size: " + batchSize);
+
+                return String.format(
+                    "batch size: %2d, fires/s: %8.1f, lock wait: %6dms, avg lock waiters: %.2f, max lock waiters: %d",
+                    batchSize,
+                    TRIGGERS * 1000.0 / elapsedMillis,
+                    sampler.lockWaitMillis(),
+                    sampler.averageWaiters(),
+                    sampler.getMaxWaiters().get()
+                );
+            }
+        }
+    }
+
+    private SchedulerFactoryBean node(HikariDataSource dataSource, String instanceId, int batchSize) throws Exception {
+
+        Properties properties = new Properties();
+        properties.setProperty("org.quartz.scheduler.instanceName", "benchmark-scheduler");
+        properties.setProperty("org.quartz.scheduler.instanceId", instanceId);
+        properties.setProperty("org.quartz.threadPool.class", VirtualThreadPool.class.getName());
+        properties.setProperty("org.quartz.threadPool.threadCount", String.valueOf(THREAD_COUNT));
+        properties.setProperty("org.quartz.jobStore.driverDelegateClass", CompactJobDataDelegate.class.getName());
+        properties.setProperty("org.quartz.jobStore.tablePrefix", PostgresBenchmarkDatabase.SCHEMA + ".QRTZ_");
+        properties.setProperty("org.quartz.jobStore.isClustered", "true");
+        properties.setProperty("org.quartz.scheduler.batchTriggerAcquisitionMaxCount", String.valueOf(batchSize));
+        properties.setProperty("org.quartz.scheduler.batchTriggerAcquisitionFireAheadTimeWindow", "1000");
+        properties.setProperty("org.quartz.jobStore.acquireTriggersWithinLock", String.valueOf(batchSize > 1));
+
+        SchedulerFactoryBean factory = new SchedulerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setQuartzProperties(properties);
+        factory.setAutoStartup(false);
+        factory.setBeanName(instanceId);
+        factory.afterPropertiesSet();
+
+        return factory;
+    }
+
+    private void seed(Scheduler scheduler) throws Exception {
+
+        Date due = new Date(System.currentTimeMillis() - 1000);
+        Map<JobDetail, Set<? extends Trigger>> chunk = new LinkedHashMap<>();
+
+        for (int i = 0; i < TRIGGERS; i++) {
+
+            JobDetail job = JobBuilder.newJob(CountingJob.class)
+                .storeDurably()
+                .withIdentity("job-" + i)
+                .usingJobData("caseId", String.valueOf(i))
+                .build();
+
+            chunk.put(job, Collections.singleton(TriggerBuilder.newTrigger().forJob(job).withIdentity("job-" + i).startAt(due).build()));
+
+            if (chunk.size() == 500) {
+                scheduler.scheduleJobs(chunk, true);
+                chunk.clear();
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            scheduler.scheduleJobs(chunk, true);
+        }
+    }
+
+    public static class CountingJob implements Job {
+
+        @Override
+        public void execute(JobExecutionContext context) {
+            fired.countDown();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.services.quartz;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.quartz.impl.jdbcjobstore.StdJDBCConstants;
+import org.quartz.impl.jdbcjobstore.Util;
+import uk.gov.hmcts.reform.timedevent.testutils.PostgresBenchmarkDatabase;
+
+// checks that queries Quartz runs for us keep using V1.0.4 indexes on a realistically sized QRTZ_TRIGGERS
+// pgjdbc switches to server prepared statements after 5 executions and Postgres may then use generic plans,
+// so the hot queries are checked with both custom and forced generic plans
+@Slf4j
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfEnvironmentVariable(named = PostgresBenchmarkDatabase.URL_VARIABLE, matches = ".+")
+class TriggerIndexPlanIntegrationTest {
+
+    private static final String SCHED_NAME = "timed-event-quartz-scheduler";
+
+    private HikariDataSource dataSource;
+    private long now;
+
+    @BeforeAll
+    void seed() {
+        dataSource = PostgresBenchmarkDatabase.dataSource(2);
+        PostgresBenchmarkDatabase.recreateSchema(dataSource);
+        PostgresBenchmarkDatabase.seedTriggers(dataSource, SCHED_NAME, PostgresBenchmarkDatabase.rows(2_000_000));
+        now = System.currentTimeMillis();
+    }
+
+    @AfterAll
+    void close() {
+        dataSource.close();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"force_custom_plan", "force_generic_plan"})
+    void should_acquire_triggers_with_waiting_partial_index(String planCacheMode) throws Exception {
+
+        String plan = explain(
+            planCacheMode,
+            CompactJobDataDelegate.SELECT_WAITING_TRIGGERS_TO_ACQUIRE,
+            now + 30000, now - 60000, 16
+        );
+
+        assertIndexScan(plan, "idx_qrtz_t_nft_waiting");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"force_custom_plan", "force_generic_plan"})
+    void should_find_misfired_triggers_with_waiting_partial_index(String planCacheMode) throws Exception {
+
+        assertIndexScan(
+            explain(planCacheMode, CompactJobDataDelegate.SELECT_MISFIRED_WAITING_TRIGGERS, now - 60000, 21),
+            "idx_qrtz_t_nft_waiting"
+        );
+        assertIndexScan(
+            explain(planCacheMode, CompactJobDataDelegate.COUNT_MISFIRED_WAITING_TRIGGERS, now - 60000),
+            "idx_qrtz_t_nft_waiting"
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"force_custom_plan", "force_generic_plan"})
+    void should_find_job_triggers_with_job_index(String planCacheMode) throws Exception {
+
+        assertIndexScan(
+            explain(planCacheMode, StdJDBCConstants.SELECT_TRIGGERS_FOR_JOB, "job-42", "DEFAULT"),
+            "idx_qrtz_t_j"
+        );
+        assertIndexScan(
+            explain(planCacheMode, StdJDBCConstants.UPDATE_JOB_TRIGGER_STATES_FROM_OTHER_STATE, "WAITING", "job-42", "DEFAULT", "BLOCKED"),
+            "idx_qrtz_t_j"
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"force_custom_plan", "force_generic_plan"})
+    void should_find_trigger_state_with_primary_key(String planCacheMode) throws Exception {
+
+        assertIndexScan(
+            explain(planCacheMode, StdJDBCConstants.SELECT_TRIGGER_STATE, "job-42", "DEFAULT"),
+            "qrtz_triggers_pkey"
+        );
+    }
+
+    // runs a few times per scheduler start, before pgjdbc prepares it on the server, so custom plan only
+    @ParameterizedTest
+    @ValueSource(strings = {"force_custom_plan"})
+    void should_recover_not_waiting_triggers_with_state_partial_index(String planCacheMode) throws Exception {
+
+        assertIndexScan(
+            explain(planCacheMode, StdJDBCConstants.UPDATE_TRIGGER_STATES_FROM_OTHER_STATES, "WAITING", "ACQUIRED", "BLOCKED"),
+            "idx_qrtz_t_state_not_waiting"
+        );
+    }
+
+    private String explain(String planCacheMode, String query, Object... parameters) throws Exception {
+
+        String sql = Util.rtp(query, PostgresBenchmarkDatabase.SCHEMA + ".QRTZ_", "'" + SCHED_NAME + "'");
+
+        StringBuilder numbered = new StringBuilder();
+        int index = 1;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(index++);
+            } else {
+                numbered.append(c);
+            }
+        }
+
+        List<String> values = new ArrayList<>();
+        for (Object parameter : parameters) {
+            values.add(parameter instanceof String ? "'" + parameter + "'" : String.valueOf(parameter));
+        }
+
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+
+            statement.execute("SET plan_cache_mode = " + planCacheMode);
+            statement.execute("PREPARE explained AS " + numbered);
+
+            try {
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rs = statement.executeQuery("EXPLAIN EXECUTE explained(" + String.join(", ", values) + ")")) {
+                    while (rs.next()) {
+                        plan.append(rs.getString(1)).append('\n');
+                    }
+                }
+
+                log.info("{} plan for: {}\n{}", planCacheMode, sql, plan);
+
+                return plan.toString();
+
+            } finally {
+                statement.execute("DEALLOCATE explained");
+                statement.execute("RESET plan_cache_mode");
+            }
+        }
+    }
+
+    private static void assertIndexScan(String plan, String index) {
+        assertTrue(plan.contains(index), "expected " + index + " in plan:\n" + plan);
+        assertFalse(plan.contains("Seq Scan on qrtz_triggers"), "unexpected sequential scan in plan:\n" + plan);
+    }
+}
@@ -0,0 +1,137 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.services.quartz;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import uk.gov.hmcts.reform.timedevent.testutils.PostgresBenchmarkDatabase;
+
+// compares write cost of the stock Quartz index set (V1.0.2) and the lean one (V1.0.4)
+// for the schedule -> acquire -> fire -> delete life cycle of one-shot timed event triggers
+@Slf4j
+@EnabledIfEnvironmentVariable(named = PostgresBenchmarkDatabase.URL_VARIABLE, matches = ".+")
+class TriggerIndexWriteBenchmarkIntegrationTest {
+
+    private static final String SCHED_NAME = "timed-event-quartz-scheduler";
+    private static final int BATCH_SIZE = 500;
+
+    private static final List<String> LEAN_INDEXES = List.of(
+        "IDX_QRTZ_T_NFT_WAITING",
+        "IDX_QRTZ_T_STATE_NOT_WAITING"
+    );
+
+    private static final List<String> STOCK_INDEXES = List.of(
+        "IDX_QRTZ_J_REQ_RECOVERY ON {0}QRTZ_JOB_DETAILS (SCHED_NAME, REQUESTS_RECOVERY)",
+        "IDX_QRTZ_J_GRP ON {0}QRTZ_JOB_DETAILS (SCHED_NAME, JOB_GROUP)",
+        "IDX_QRTZ_T_JG ON {0}QRTZ_TRIGGERS (SCHED_NAME, JOB_GROUP)",
+        "IDX_QRTZ_T_C ON {0}QRTZ_TRIGGERS (SCHED_NAME, CALENDAR_NAME)",
+        "IDX_QRTZ_T_G ON {0}QRTZ_TRIGGERS (SCHED_NAME, TRIGGER_GROUP)",
+        "IDX_QRTZ_T_STATE ON {0}QRTZ_TRIGGERS (SCHED_NAME, TRIGGER_STATE)",
+        "IDX_QRTZ_T_N_STATE ON {0}QRTZ_TRIGGERS (SCHED_NAME, TRIGGER_NAME, TRIGGER_GROUP, TRIGGER_STATE)",
+        "IDX_QRTZ_T_N_G_STATE ON {0}QRTZ_TRIGGERS (SCHED_NAME, TRIGGER_GROUP, TRIGGER_STATE)",
+        "IDX_QRTZ_T_NEXT_FIRE_TIME ON {0}QRTZ_TRIGGERS (SCHED_NAME, NEXT_FIRE_TIME)",
+        "IDX_QRTZ_T_NFT_ST ON {0}QRTZ_TRIGGERS (SCHED_NAME, TRIGGER_STATE, NEXT_FIRE_TIME)",
+        "IDX_QRTZ_T_NFT_MISFIRE ON {0}QRTZ_TRIGGERS (SCHED_NAME, MISFIRE_INSTR, NEXT_FIRE_TIME)",
+        "IDX_QRTZ_T_NFT_ST_MISFIRE ON {0}QRTZ_TRIGGERS (SCHED_NAME, MISFIRE_INSTR, NEXT_FIRE_TIME, TRIGGER_STATE)",
+        "IDX_QRTZ_T_NFT_ST_MISFIRE_GRP ON {0}QRTZ_TRIGGERS (SCHED_NAME, MISFIRE_INSTR, NEXT_FIRE_TIME, TRIGGER_GROUP, TRIGGER_STATE)",
+        "IDX_QRTZ_FT_INST_JOB_REQ_RCVRY ON {0}QRTZ_FIRED_TRIGGERS (SCHED_NAME, INSTANCE_NAME, REQUESTS_RECOVERY)",
+        "IDX_QRTZ_FT_JG ON {0}QRTZ_FIRED_TRIGGERS (SCHED_NAME, JOB_GROUP)",
+        "IDX_QRTZ_FT_T_G ON {0}QRTZ_FIRED_TRIGGERS (SCHED_NAME, TRIGGER_NAME, TRIGGER_GROUP)",
+        "IDX_QRTZ_FT_TG ON {0}QRTZ_FIRED_TRIGGERS (SCHED_NAME, TRIGGER_GROUP)"
+    );
+
+    @Test
+    void should_compare_trigger_life_cycle_cost_of_index_sets() {
+
+        int backgroundRows = PostgresBenchmarkDatabase.rows(1_000_000);
+        int measuredRows = Math.max(backgroundRows / 20, BATCH_SIZE);
+
+        try (HikariDataSource dataSource = PostgresBenchmarkDatabase.dataSource(2)) {
+
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+            PostgresBenchmarkDatabase.recreateSchema(dataSource);
+            PostgresBenchmarkDatabase.seedTriggers(dataSource, SCHED_NAME, backgroundRows);
+            String lean = run(jdbcTemplate, "lean", measuredRows);
+
+            LEAN_INDEXES.forEach(index -> jdbcTemplate.execute("DROP INDEX " + PostgresBenchmarkDatabase.SCHEMA + "." + index));
+            STOCK_INDEXES.forEach(index ->
+                jdbcTemplate.execute("CREATE INDEX " + index.replace("{0}", PostgresBenchmarkDatabase.SCHEMA + "."))
+            );
+            jdbcTemplate.execute("ANALYZE " + PostgresBenchmarkDatabase.SCHEMA + ".QRTZ_TRIGGERS");
+            String stock = run(jdbcTemplate, "stock", measuredRows);
+
+            log.info("Trigger index write benchmark, {} background triggers, {} measured:", backgroundRows, measuredRows);
+            log.info("    {}", stock);
+            log.info("    {}", lean);
+        }
+    }
+
+    private String run(JdbcTemplate jdbcTemplate, String indexSet, int rows) {
+
+        String prefix = PostgresBenchmarkDatabase.SCHEMA + ".";
+        long fireTime = System.currentTimeMillis() + TimeUnit.DAYS.toMillis(30);
+
+        long insertStart = System.nanoTime();
+        for (int from = 0; from < rows; from += BATCH_SIZE) {
+
+            List<Object[]> batch = new ArrayList<>();
+            for (int i = from; i < Math.min(from + BATCH_SIZE, rows); i++) {
+                batch.add(new Object[] {SCHED_NAME, indexSet + "-" + i, fireTime + i});
+            }
+
+            jdbcTemplate.batchUpdate(
+                "INSERT INTO " + prefix + "QRTZ_JOB_DETAILS"
+                + " (SCHED_NAME, JOB_NAME, JOB_GROUP, JOB_CLASS_NAME, IS_DURABLE, IS_NONCONCURRENT, IS_UPDATE_DATA, REQUESTS_RECOVERY)"
+                + " VALUES (?, ?, 'DEFAULT', 'TimedEventJob', true, false, true, false)",
+                batch.stream().map(row -> new Object[] {row[0], row[1]}).toList()
+            );
+            jdbcTemplate.batchUpdate(
+                "INSERT INTO " + prefix + "QRTZ_TRIGGERS"
+                + " (SCHED_NAME, TRIGGER_NAME, TRIGGER_GROUP, JOB_NAME, JOB_GROUP, NEXT_FIRE_TIME, PREV_FIRE_TIME, PRIORITY,"
+                + " TRIGGER_STATE, TRIGGER_TYPE, START_TIME, MISFIRE_INSTR)"
+                + " VALUES (?, ?, 'DEFAULT', ?, 'DEFAULT', ?, -1, 5, 'WAITING', 'SIMPLE', ?, 0)",
+                batch.stream().map(row -> new Object[] {row[0], row[1], row[1], row[2], row[2]}).toList()
+            );
+        }
+        long insertMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - insertStart);
+
+        long fireStart = System.nanoTime();
+        for (int from = 0; from < rows; from += BATCH_SIZE) {
+
+            List<Object[]> batch = new ArrayList<>();
+            for (int i = from; i < Math.min(from + BATCH_SIZE, rows); i++) {
+                batch.add(new Object[] {SCHED_NAME, indexSet + "-" + i});
+            }
+
+            String byTrigger = " WHERE SCHED_NAME = ? AND TRIGGER_NAME = ? AND TRIGGER_GROUP = 'DEFAULT'";
+            jdbcTemplate.batchUpdate("UPDATE " + prefix + "QRTZ_TRIGGERS SET TRIGGER_STATE = 'ACQUIRED'" + byTrigger, batch);
+            jdbcTemplate.batchUpdate("UPDATE " + prefix + "QRTZ_TRIGGERS SET TRIGGER_STATE = 'EXECUTING'" + byTrigger, batch);
+            jdbcTemplate.batchUpdate("DELETE FROM " + prefix + "QRTZ_TRIGGERS" + byTrigger, batch);
+        }
+        long fireMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - fireStart);
+
+        Integer remaining = jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM " + prefix + "QRTZ_TRIGGERS WHERE TRIGGER_NAME LIKE ?", Integer.class, indexSet + "-%"
+        );
+        assertEquals(0, remaining);
+
+        Long indexBytes = jdbcTemplate.queryForObject(
+            "SELECT pg_indexes_size('" + prefix + "qrtz_triggers')", Long.class
+        );
+
+        return String.format(
+            "%-5s indexes: schedule %8.1f triggers/s, fire %8.1f triggers/s, QRTZ_TRIGGERS index size: %d MB",
+            indexSet,
+            rows * 1000.0 / Math.max(insertMillis, 1),
+            rows * 1000.0 / Math.max(fireMillis, 1),
+            indexBytes == null ? 0 : indexBytes / (1024 * 1024)
+        );
+    }
+}
@@ -0,0 +1,126 @@
+package uk.gov.hmcts.reform.timedevent.testutils;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.DataSource;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// benchmarks need a real, disposable Postgres database, e.g.:
+// QUARTZ_BENCHMARK_DB_URL=jdbc:postgresql://localhost:5432/benchmark QUARTZ_BENCHMARK_DB_USER=... ./gradlew integration
+// the ia_timed_event_service schema of that database is dropped and re-created by every benchmark
+@Slf4j
+public class PostgresBenchmarkDatabase {
+
+    public static final String URL_VARIABLE = "QUARTZ_BENCHMARK_DB_URL";
+    public static final String SCHEMA = "ia_timed_event_service";
+
+    private PostgresBenchmarkDatabase() {
+    }
+
+    public static int rows(int defaultRows) {
+        return Integer.parseInt(System.getenv().getOrDefault("QUARTZ_BENCHMARK_ROWS", String.valueOf(defaultRows)));
+    }
+
+    public static HikariDataSource dataSource(int poolSize) {
+
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(System.getenv(URL_VARIABLE));
+        config.setUsername(System.getenv().getOrDefault("QUARTZ_BENCHMARK_DB_USER", "postgres"));
+        config.setPassword(System.getenv().getOrDefault("QUARTZ_BENCHMARK_DB_PASSWORD", "postgres"));
+        config.setMaximumPoolSize(poolSize);
+
+        return new HikariDataSource(config);
+    }
+
+    public static void recreateSchema(DataSource dataSource) {
+
+        Flyway flyway = Flyway.configure()
+            .dataSource(dataSource)
+            .schemas(SCHEMA)
+            .cleanDisabled(false)
+            .load();
+
+        flyway.clean();
+        flyway.migrate();
+    }
+
+    // one-shot timed event jobs with triggers spread from an hour ago to a year ahead, 0.2% of them not WAITING
+    public static void seedTriggers(DataSource dataSource, String schedName, int rows) {
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        long now = System.currentTimeMillis();
+        long spread = TimeUnit.DAYS.toMillis(365) / rows;
+
+        jdbcTemplate.update(
+            "INSERT INTO " + SCHEMA + ".QRTZ_JOB_DETAILS"
+            + " (SCHED_NAME, JOB_NAME, JOB_GROUP, DESCRIPTION, JOB_CLASS_NAME, IS_DURABLE, IS_NONCONCURRENT, IS_UPDATE_DATA, REQUESTS_RECOVERY)"
+            + " SELECT ?, 'job-' || i, 'DEFAULT', 'Timed Event job', ?, true, false, true, false FROM generate_series(1, ?) i",
+            schedName, "uk.gov.hmcts.reform.timedevent.infrastructure.services.quartz.TimedEventJob", rows
+        );
+        jdbcTemplate.update(
+            "INSERT INTO " + SCHEMA + ".QRTZ_TRIGGERS"
+            + " (SCHED_NAME, TRIGGER_NAME, TRIGGER_GROUP, JOB_NAME, JOB_GROUP, DESCRIPTION, NEXT_FIRE_TIME, PREV_FIRE_TIME,"
+            + " PRIORITY, TRIGGER_STATE, TRIGGER_TYPE, START_TIME, MISFIRE_INSTR)"
+            + " SELECT ?, 'job-' || i, 'DEFAULT', 'job-' || i, 'DEFAULT', 'Timed Event trigger', ? + i * ?, -1, 5,"
+            + " CASE i % 1000 WHEN 0 THEN 'ACQUIRED' WHEN 1 THEN 'BLOCKED' ELSE 'WAITING' END, 'SIMPLE', ? + i * ?, 0"
+            + " FROM generate_series(1, ?) i",
+            schedName, now - TimeUnit.HOURS.toMillis(1), spread, now - TimeUnit.HOURS.toMillis(1), spread, rows
+        );
+        jdbcTemplate.execute("ANALYZE " + SCHEMA + ".QRTZ_JOB_DETAILS");
+        jdbcTemplate.execute("ANALYZE " + SCHEMA + ".QRTZ_TRIGGERS");
+    }
+
+    // samples pg_stat_activity for backends of this database waiting on a lock
+    @Getter
+    public static class LockWaitSampler implements AutoCloseable {
+
+        private static final long SAMPLE_INTERVAL_MILLIS = 10;
+
+        private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        private final AtomicLong samples = new AtomicLong();
+        private final AtomicLong waiters = new AtomicLong();
+        private final AtomicLong maxWaiters = new AtomicLong();
+
+        public LockWaitSampler(DataSource dataSource) {
+
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+            executor.scheduleAtFixedRate(() -> {
+                try {
+                    Long count = jdbcTemplate.queryForObject(
+                        "SELECT count(*) FROM pg_stat_activity WHERE datname = current_database() AND wait_event_type = 'Lock'",
+                        Long.class
+                    );
+                    long current = count == null ? 0 : count;
+                    samples.incrementAndGet();
+                    waiters.addAndGet(current);
+                    maxWaiters.accumulateAndGet(current, Math::max);
+                } catch (RuntimeException e) {
+                    log.warn("Lock wait sample failed: {}", e.getMessage());
+                }
+            }, 0, SAMPLE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+
+        // approximation of total time spent by all backends waiting on locks
+        public long lockWaitMillis() {
+            return waiters.get() * SAMPLE_INTERVAL_MILLIS;
+        }
+
+        public double averageWaiters() {
+            return samples.get() == 0 ? 0 : (double) waiters.get() / samples.get();
+        }
+
+        @Override
+        public void close() throws InterruptedException {
+            executor.shutdownNow();
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        }
+    }
+}
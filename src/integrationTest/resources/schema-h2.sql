@@ -0,0 +1,32 @@
+-- application tables which are created by Flyway migrations in Postgres
+
+CREATE TABLE IF NOT EXISTS timed_event
+(
+  id           VARCHAR(200)             NOT NULL,
+  case_id      BIGINT                   NOT NULL,
+  jurisdiction VARCHAR(50)              NULL,
+  case_type    VARCHAR(100)             NULL,
+  event        VARCHAR(100)             NOT NULL,
+  scheduled_at TIMESTAMP WITH TIME ZONE NOT NULL,
+  state        VARCHAR(16)              NOT NULL,
+  attempts     INTEGER                  DEFAULT 0 NOT NULL,
+  PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_timed_event_case_id
+  ON timed_event (case_id);
+CREATE INDEX IF NOT EXISTS idx_timed_event_scheduled_at
+  ON timed_event (scheduled_at);
+
+CREATE TABLE IF NOT EXISTS timed_event_history
+(
+  id               VARCHAR(200) NOT NULL,
+  event            VARCHAR(100) NULL,
+  jurisdiction     VARCHAR(50)  NULL,
+  case_type        VARCHAR(100) NULL,
+  case_id          BIGINT       NULL,
+  attempts         INTEGER      NULL,
+  last_executed_at TIMESTAMP    NULL,
+  archived_at      TIMESTAMP    NOT NULL,
+  PRIMARY KEY (id)
+);
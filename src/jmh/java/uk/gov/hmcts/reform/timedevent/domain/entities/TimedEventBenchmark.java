@@ -0,0 +1,42 @@
+package uk.gov.hmcts.reform.timedevent.domain.entities;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimedEventBenchmark {
+
+    private static final String JSON = "{\"id\":\"\",\"event\":\"saveNotificationsToData\","
+                                       + "\"scheduledDateTime\":\"2030-07-12T10:00:00Z\",\"jurisdiction\":\"IA\","
+                                       + "\"caseType\":\"Asylum\",\"caseId\":1588772172174023}";
+
+    private ObjectReader reader;
+
+    @Setup
+    public void setUp() {
+        reader = new ObjectMapper().registerModule(new JavaTimeModule()).readerFor(TimedEvent.class);
+    }
+
+    @Benchmark
+    public TimedEvent deserialize() throws IOException {
+        return reader.readValue(JSON);
+    }
+}
@@ -0,0 +1,49 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.security;
+
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AesEncryptingRedisSerializerBenchmark {
+
+    private AesEncryptingRedisSerializer<String> serializer;
+    private String token;
+    private byte[] encrypted;
+
+    @Setup
+    public void setUp() {
+        serializer = new AesEncryptingRedisSerializer<>(
+            new Jackson2JsonRedisSerializer<>(String.class),
+            Base64.getEncoder().encodeToString(new byte[32])
+        );
+        // system user token as cached in systemUserTokenCache
+        token = "Bearer " + "eyJ0eXAiOiJKV1QiLCJhbGciOiJSUzI1NiJ9.".repeat(24);
+        encrypted = serializer.serialize(token);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(token);
+    }
+
+    @Benchmark
+    public String deserialize() {
+        return serializer.deserialize(encrypted);
+    }
+}
@@ -0,0 +1,74 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.security;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.access.AccessDeniedException;
+import uk.gov.hmcts.reform.timedevent.domain.entities.ccd.Event;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CcdEventAuthorizorBenchmark {
+
+    @Param({"SAVE_NOTIFICATIONS_TO_DATA", "END_APPEAL_AUTOMATICALLY", "RE_TRIGGER_WA_TASKS"})
+    private Event event;
+
+    private CcdEventAuthorizor ccdEventAuthorizor;
+
+    @Setup
+    public void setUp() {
+
+        // shape of security.roleEventAccess in application.yaml
+        Map<String, List<Event>> roleEventAccess = new LinkedHashMap<>();
+        roleEventAccess.put("caseworker-caa", List.of(Event.SAVE_NOTIFICATIONS_TO_DATA, Event.SAVE_NOTIFICATIONS_TO_DATA_BAIL));
+        roleEventAccess.put("caseworker-ia-homeofficebail", List.of(Event.SAVE_NOTIFICATIONS_TO_DATA_BAIL));
+        roleEventAccess.put("caseworker-approver", List.of(Event.SAVE_NOTIFICATIONS_TO_DATA, Event.SAVE_NOTIFICATIONS_TO_DATA_BAIL));
+        roleEventAccess.put("tribunal-caseworker", List.of(
+            Event.REQUEST_HEARING_REQUIREMENTS_FEATURE,
+            Event.EXAMPLE,
+            Event.UNKNOWN,
+            Event.SAVE_NOTIFICATIONS_TO_DATA,
+            Event.SAVE_NOTIFICATIONS_TO_DATA_BAIL
+        ));
+        roleEventAccess.put("caseworker-ia-legalrep-solicitor", List.of(
+            Event.MOVE_TO_PAYMENT_PENDING,
+            Event.ROLLBACK_PAYMENT,
+            Event.ROLLBACK_PAYMENT_TIMEOUT,
+            Event.ROLLBACK_PAYMENT_TIMEOUT_TO_PAYMENT_PENDING,
+            Event.END_APPEAL_AUTOMATICALLY,
+            Event.SAVE_NOTIFICATIONS_TO_DATA,
+            Event.SAVE_NOTIFICATIONS_TO_DATA_BAIL
+        ));
+
+        Set<String> roles = Set.of("caseworker-ia", "caseworker-ia-legalrep-solicitor", "payments");
+
+        ccdEventAuthorizor = new CcdEventAuthorizor(roleEventAccess, () -> roles);
+    }
+
+    @Benchmark
+    public void throwIfNotAuthorized(Blackhole blackhole) {
+        try {
+            ccdEventAuthorizor.throwIfNotAuthorized(event);
+        } catch (AccessDeniedException e) {
+            blackhole.consume(e);
+        }
+    }
+}
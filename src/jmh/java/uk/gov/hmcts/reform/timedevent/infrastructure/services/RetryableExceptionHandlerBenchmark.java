@@ -0,0 +1,72 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.services;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import feign.FeignException;
+import feign.Request;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// logging is switched off for benchmarks (see logback.xml), so only classification and exception creation is measured
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RetryableExceptionHandlerBenchmark {
+
+    private final RetryableExceptionHandler exceptionHandler = new RetryableExceptionHandler();
+
+    private Exception retryable;
+    private Exception nonRetryable;
+
+    @Setup
+    public void setUp() {
+        Request request = Request.create(
+            Request.HttpMethod.POST,
+            "http://ccd-data-store-api/caseworkers/uid/jurisdictions/IA/case-types/Asylum/cases/1588772172174023/events",
+            Map.of(),
+            null,
+            UTF_8,
+            null
+        );
+
+        retryable = new FeignException.Conflict("Conflict", request, "Case data has been altered".getBytes(UTF_8), Map.of());
+        nonRetryable = new FeignException.UnprocessableEntity(
+            "Unprocessable Entity",
+            request,
+            "{\"message\":\"The case status did not qualify for the event\"}".getBytes(UTF_8),
+            Map.of()
+        );
+    }
+
+    @Benchmark
+    public Exception wrapRetryable() {
+        return wrap(retryable);
+    }
+
+    @Benchmark
+    public Exception wrapNonRetryable() {
+        return wrap(nonRetryable);
+    }
+
+    private Exception wrap(Exception exception) {
+        try {
+            exceptionHandler.wrapException(exception);
+            return null;
+        } catch (Exception e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.services.quartz;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.quartz.JobDataMap;
+
+// round trips of timed event job data, as the job store writes and reads it on every schedule and fire
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JobDataCodecBenchmark {
+
+    private final JobDataCodec codec = new BinaryJobDataCodec();
+
+    private JobDataMap data;
+
+    @Setup
+    public void setUp() {
+        data = new JobDataMap();
+        data.put("jurisdiction", "IA");
+        data.put("caseType", "Asylum");
+        data.put("caseId", "1588772172174023");
+        data.put("event", "saveNotificationsToData");
+        data.put("attempts", 2L);
+        data.put("lastExecutedAt", 1783850400000L);
+    }
+
+    @Benchmark
+    public Object binaryRoundTrip() throws IOException, ClassNotFoundException {
+        return JobDataBlobs.read(codec.encode(data), codec);
+    }
+
+    @Benchmark
+    public Object javaSerializationRoundTrip() throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(data);
+        }
+        return JobDataBlobs.read(bytes.toByteArray(), codec);
+    }
+}
@@ -0,0 +1,51 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.services.quartz;
+
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.tuple.Pair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.quartz.JobDetail;
+import org.quartz.Trigger;
+import uk.gov.hmcts.reform.timedevent.domain.entities.DeduplicationPolicy;
+import uk.gov.hmcts.reform.timedevent.domain.entities.TimedEvent;
+import uk.gov.hmcts.reform.timedevent.domain.entities.ccd.Event;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuartzSchedulerServiceBenchmark {
+
+    private QuartzSchedulerService schedulerService;
+    private TimedEvent timedEvent;
+
+    @Setup
+    public void setUp() {
+        // job and trigger creation does not touch the scheduler or the repository
+        schedulerService = new QuartzSchedulerService(null, null, null, DeduplicationPolicy.NONE, 3600);
+        timedEvent = new TimedEvent(
+            "8e0bc5c4-3f3e-4b6e-9f1a-4a4f5c2d7e10",
+            Event.SAVE_NOTIFICATIONS_TO_DATA,
+            ZonedDateTime.parse("2030-07-12T10:00:00Z"),
+            "IA",
+            "Asylum",
+            1588772172174023L
+        );
+    }
+
+    @Benchmark
+    public Pair<JobDetail, Trigger> createJobAndTrigger() {
+        return schedulerService.createJobAndTrigger(timedEvent);
+    }
+}
@@ -0,0 +1,110 @@
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import uk.gov.hmcts.reform.timedevent.infrastructure.services.quartz.BinaryJobDataCodec;
+import uk.gov.hmcts.reform.timedevent.infrastructure.services.quartz.JobDataBlobs;
+import uk.gov.hmcts.reform.timedevent.infrastructure.services.quartz.JobDataCodec;
+import uk.gov.hmcts.reform.timedevent.infrastructure.services.quartz.TimedEventJob;
+
+// fills timed_event table (V1.0.6) with timed events which are scheduled already
+@Slf4j
+@SuppressWarnings("TypeName")
+public class V1_0_7__TimedEventBackfill extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final JobDataCodec codec = new BinaryJobDataCodec();
+
+    @Override
+    public void migrate(Context context) throws Exception {
+
+        Connection connection = context.getConnection();
+
+        String select = "SELECT t.TRIGGER_NAME, t.NEXT_FIRE_TIME, t.JOB_DATA, j.JOB_DATA"
+                        + " FROM QRTZ_TRIGGERS t JOIN QRTZ_JOB_DETAILS j"
+                        + " ON j.SCHED_NAME = t.SCHED_NAME AND j.JOB_NAME = t.JOB_NAME AND j.JOB_GROUP = t.JOB_GROUP"
+                        + " WHERE j.JOB_CLASS_NAME = '" + TimedEventJob.class.getName() + "'";
+        String insert = "INSERT INTO timed_event (id, case_id, jurisdiction, case_type, event, scheduled_at, state, attempts)"
+                        + " VALUES (?, ?, ?, ?, ?, ?, 'SCHEDULED', ?) ON CONFLICT (id) DO NOTHING";
+
+        int inserted = 0;
+        int pending = 0;
+
+        try (Statement query = connection.createStatement();
+             PreparedStatement statement = connection.prepareStatement(insert)) {
+
+            query.setFetchSize(BATCH_SIZE);
+
+            try (ResultSet rs = query.executeQuery(select)) {
+
+                while (rs.next()) {
+
+                    Map<?, ?> triggerData = read(rs.getBytes(3));
+                    Map<?, ?> jobData = read(rs.getBytes(4));
+
+                    Object caseId = triggerData.get("caseId");
+                    Object attempts = jobData.get("attempts");
+
+                    if (caseId == null || triggerData.get("event") == null || rs.getObject(2) == null) {
+                        log.warn("Trigger: {} has no timed event data, it is skipped", rs.getString(1));
+                        continue;
+                    }
+
+                    Long id = caseId(rs.getString(1), caseId);
+                    if (id == null) {
+                        continue;
+                    }
+
+                    statement.setString(1, rs.getString(1));
+                    statement.setLong(2, id);
+                    // missing values stay NULL rather than becoming "null" strings
+                    statement.setObject(3, triggerData.get("jurisdiction"), Types.VARCHAR);
+                    statement.setObject(4, triggerData.get("caseType"), Types.VARCHAR);
+                    statement.setString(5, triggerData.get("event").toString());
+                    statement.setObject(6, OffsetDateTime.ofInstant(Instant.ofEpochMilli(rs.getLong(2)), ZoneOffset.UTC));
+                    statement.setInt(7, attempts instanceof Number number ? number.intValue() : 0);
+                    statement.addBatch();
+
+                    if (++pending == BATCH_SIZE) {
+                        statement.executeBatch();
+                        inserted += pending;
+                        pending = 0;
+                    }
+                }
+            }
+
+            if (pending > 0) {
+                statement.executeBatch();
+                inserted += pending;
+            }
+        }
+
+        log.info("Timed events backfilled from scheduled triggers: {}", inserted);
+    }
+
+    // one malformed trigger does not fail the migration and block startup
+    static Long caseId(String triggerName, Object caseId) {
+
+        try {
+            return Long.valueOf(caseId.toString().trim());
+        } catch (NumberFormatException e) {
+            log.warn("Trigger: {} has malformed case id: {}, it is skipped", triggerName, caseId);
+            return null;
+        }
+    }
+
+    private Map<?, ?> read(byte[] bytes) throws Exception {
+        return JobDataBlobs.read(bytes, codec) instanceof Map<?, ?> map ? map : Map.of();
+    }
+}
@@ -0,0 +1,10 @@
+package uk.gov.hmcts.reform.timedevent.domain.entities;
+
+// what happens to a new timed event when the same event is already pending for the case in the same time bucket
+public enum DeduplicationPolicy {
+
+    NONE,
+    KEEP_EARLIEST,
+    KEEP_LATEST,
+    REJECT
+}
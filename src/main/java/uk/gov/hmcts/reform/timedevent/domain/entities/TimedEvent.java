@@ -1,22 +1,33 @@
 package uk.gov.hmcts.reform.timedevent.domain.entities;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import java.time.ZonedDateTime;
-import lombok.AccessLevel;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
-import lombok.NoArgsConstructor;
 import uk.gov.hmcts.reform.timedevent.domain.entities.ccd.Event;
 
-@AllArgsConstructor
 @Getter
-@NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class TimedEvent {
 
-    private String id;
-    private Event event;
-    private ZonedDateTime scheduledDateTime;
-    private String jurisdiction;
-    private String caseType;
-    private long caseId;
+    private final String id;
+    private final Event event;
+    private final ZonedDateTime scheduledDateTime;
+    private final String jurisdiction;
+    private final String caseType;
+    private final long caseId;
 
+    @JsonCreator
+    public TimedEvent(@JsonProperty("id") String id,
+                      @JsonProperty("event") Event event,
+                      @JsonProperty("scheduledDateTime") ZonedDateTime scheduledDateTime,
+                      @JsonProperty("jurisdiction") String jurisdiction,
+                      @JsonProperty("caseType") String caseType,
+                      @JsonProperty("caseId") long caseId) {
+        this.id = id;
+        this.event = event;
+        this.scheduledDateTime = scheduledDateTime;
+        this.jurisdiction = jurisdiction;
+        this.caseType = caseType;
+        this.caseId = caseId;
+    }
 }
@@ -0,0 +1,18 @@
+package uk.gov.hmcts.reform.timedevent.domain.entities;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@Getter
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class TimedEventBatchResult {
+
+    private int index;
+    private int status;
+    private TimedEvent timedEvent;
+    private String error;
+
+}
@@ -0,0 +1,8 @@
+package uk.gov.hmcts.reform.timedevent.domain.entities;
+
+public enum TimedEventState {
+
+    SCHEDULED,
+    COMPLETED,
+    FAILED
+}
@@ -4,6 +4,9 @@ package uk.gov.hmcts.reform.timedevent.domain.entities.ccd;
 import com.fasterxml.jackson.annotation.JsonEnumDefaultValue;
 import com.fasterxml.jackson.annotation.JsonValue;
 import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 public enum Event {
 
@@ -24,6 +27,9 @@ public enum Event {
     @JsonEnumDefaultValue
     UNKNOWN("unknown");
 
+    private static final Map<String, Event> BY_ID = Arrays.stream(values())
+        .collect(Collectors.toUnmodifiableMap(e -> e.id, Function.identity()));
+
     @JsonValue
     private final String id;
 
@@ -37,9 +43,10 @@ public enum Event {
     }
 
     public static Event fromString(String event) {
-        return Arrays.stream(Event.values())
-            .filter(e -> e.id.equals(event))
-            .findAny()
-            .orElseThrow(() -> new EventNotFoundException("cannot find event: " + event));
+        Event found = event == null ? null : BY_ID.get(event);
+        if (found == null) {
+            throw new EventNotFoundException("cannot find event: " + event);
+        }
+        return found;
     }
 }
@@ -1,15 +1,24 @@
 package uk.gov.hmcts.reform.timedevent.domain.services;
 
+import java.util.List;
 import java.util.Optional;
 import uk.gov.hmcts.reform.timedevent.domain.entities.TimedEvent;
+import uk.gov.hmcts.reform.timedevent.domain.entities.TimedEventBatchResult;
 
 public interface SchedulerService {
 
     String schedule(TimedEvent timedEvent);
 
+    // schedules new events and reschedules existing ones (when id is given) in one job store transaction
+    // results are returned in the same order as the given events, indexed by position in the given list
+    List<TimedEventBatchResult> scheduleAll(List<TimedEvent> timedEvents);
+
     String reschedule(TimedEvent timedEvent);
 
     boolean deleteSchedule(String jobKey);
 
     Optional<TimedEvent> get(String identity);
+
+    // events of the case which have not been executed yet, ordered by scheduled date time
+    List<TimedEvent> getPending(long caseId);
 }
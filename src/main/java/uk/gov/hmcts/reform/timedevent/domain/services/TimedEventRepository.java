@@ -0,0 +1,23 @@
+package uk.gov.hmcts.reform.timedevent.domain.services;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import uk.gov.hmcts.reform.timedevent.domain.entities.TimedEvent;
+import uk.gov.hmcts.reform.timedevent.domain.entities.TimedEventState;
+import uk.gov.hmcts.reform.timedevent.domain.entities.ccd.Event;
+
+public interface TimedEventRepository {
+
+    // inserts or updates events in SCHEDULED state, number of attempts is kept for existing events
+    void saveAll(List<TimedEvent> timedEvents);
+
+    void updateState(String id, TimedEventState state, long attempts);
+
+    void delete(String id);
+
+    List<TimedEvent> findByCaseIdAndState(long caseId, TimedEventState state);
+
+    // pending events of the case scheduled in [from, to), ordered by scheduled date time
+    // the caller's transaction is serialized with all other schedule changes until it ends
+    List<TimedEvent> lockPending(long caseId, Event event, ZonedDateTime from, ZonedDateTime to);
+}
@@ -0,0 +1,167 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.Callable;
+import org.springframework.cache.Cache;
+
+public class TwoTierCache implements Cache {
+
+    private final String name;
+    private final Cache local;
+    private final Cache remote;
+    private final TwoTierCacheManager cacheManager;
+
+    private final Counter localHits;
+    private final Counter localMisses;
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+
+    TwoTierCache(String name, Cache local, Cache remote, TwoTierCacheManager cacheManager, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.cacheManager = cacheManager;
+
+        this.localHits = counter(meterRegistry, "local", "hit");
+        this.localMisses = counter(meterRegistry, "local", "miss");
+        this.remoteHits = counter(meterRegistry, "remote", "hit");
+        this.remoteMisses = counter(meterRegistry, "remote", "miss");
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+
+        ValueWrapper value = local.get(key);
+        if (value != null) {
+            localHits.increment();
+            return value;
+        }
+        localMisses.increment();
+
+        value = remoteGet(key);
+        if (value != null && value.get() != null) {
+            local.put(key, value.get());
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+
+        ValueWrapper value = get(key);
+        if (value == null || value.get() == null) {
+            return null;
+        }
+        if (type != null && !type.isInstance(value.get())) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value.get());
+        }
+        return (T) value.get();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+
+        ValueWrapper value = get(key);
+        if (value != null) {
+            return (T) value.get();
+        }
+
+        T loaded;
+        try {
+            loaded = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, loaded);
+        return loaded;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+
+        // both tiers are configured without null values
+        if (value == null) {
+            return;
+        }
+
+        local.put(key, value);
+        if (remoteReady()) {
+            try {
+                remote.put(key, value);
+            } catch (RuntimeException e) {
+                cacheManager.remoteFailed(name, e);
+            }
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+
+        local.evict(key);
+        if (remoteReady()) {
+            try {
+                remote.evict(key);
+            } catch (RuntimeException e) {
+                cacheManager.remoteFailed(name, e);
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+
+        local.clear();
+        if (remoteReady()) {
+            try {
+                remote.clear();
+            } catch (RuntimeException e) {
+                cacheManager.remoteFailed(name, e);
+            }
+        }
+    }
+
+    private ValueWrapper remoteGet(Object key) {
+
+        if (!remoteReady()) {
+            return null;
+        }
+
+        try {
+            ValueWrapper value = remote.get(key);
+            if (value != null) {
+                remoteHits.increment();
+            } else {
+                remoteMisses.increment();
+            }
+            return value;
+        } catch (RuntimeException e) {
+            cacheManager.remoteFailed(name, e);
+            return null;
+        }
+    }
+
+    private boolean remoteReady() {
+        return remote != null && cacheManager.isRemoteAvailable();
+    }
+
+    private Counter counter(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder("cache.tier.gets")
+            .tag("cache", name)
+            .tag("tier", tier)
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,128 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+// local Caffeine caches in front of a remote (Redis) cache manager
+// remote tier is skipped while it is unavailable and re-attached when the background health check passes again
+@Slf4j
+public class TwoTierCacheManager implements CacheManager, InitializingBean, DisposableBean {
+
+    private final CacheManager remoteCacheManager;
+    private final Runnable remoteHealthCheck;
+    private final MeterRegistry meterRegistry;
+    private final Duration localTtl;
+    private final long localMaxSize;
+    private final Duration healthCheckInterval;
+
+    private final Map<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+    private final AtomicBoolean remoteAvailable = new AtomicBoolean(false);
+
+    private ScheduledExecutorService healthCheckExecutor;
+
+    public TwoTierCacheManager(CacheManager remoteCacheManager,
+                               Runnable remoteHealthCheck,
+                               MeterRegistry meterRegistry,
+                               Duration localTtl,
+                               long localMaxSize,
+                               Duration healthCheckInterval) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.remoteHealthCheck = remoteHealthCheck;
+        this.meterRegistry = meterRegistry;
+        this.localTtl = localTtl;
+        this.localMaxSize = localMaxSize;
+        this.healthCheckInterval = healthCheckInterval;
+
+        meterRegistry.gauge("cache.remote.available", remoteAvailable, available -> available.get() ? 1 : 0);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+
+        checkRemote();
+
+        healthCheckExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-remote-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        healthCheckExecutor.scheduleWithFixedDelay(
+            this::checkRemote,
+            healthCheckInterval.toMillis(),
+            healthCheckInterval.toMillis(),
+            TimeUnit.MILLISECONDS
+        );
+    }
+
+    @Override
+    public void destroy() {
+        if (healthCheckExecutor != null) {
+            healthCheckExecutor.shutdownNow();
+        }
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        Set<String> names = new LinkedHashSet<>(remoteCacheManager.getCacheNames());
+        names.addAll(caches.keySet());
+        return names;
+    }
+
+    boolean isRemoteAvailable() {
+        return remoteAvailable.get();
+    }
+
+    void remoteFailed(String cacheName, RuntimeException e) {
+        if (remoteAvailable.compareAndSet(true, false)) {
+            log.warn("Remote cache unavailable (cache: {}), serving from local cache only: {}", cacheName, e.getMessage());
+        }
+    }
+
+    void checkRemote() {
+        try {
+            remoteHealthCheck.run();
+            if (remoteAvailable.compareAndSet(false, true)) {
+                log.info("Remote cache available, attached as second level cache");
+            }
+        } catch (RuntimeException e) {
+            if (remoteAvailable.compareAndSet(true, false)) {
+                log.warn("Remote cache unavailable, serving from local cache only: {}", e.getMessage());
+            }
+        }
+    }
+
+    private TwoTierCache createCache(String name) {
+
+        CaffeineCache local = new CaffeineCache(
+            name,
+            Caffeine.newBuilder()
+                .expireAfterWrite(localTtl)
+                .maximumSize(localMaxSize)
+                .build(),
+            false
+        );
+
+        return new TwoTierCache(name, local, remoteCacheManager.getCache(name), this, meterRegistry);
+    }
+}
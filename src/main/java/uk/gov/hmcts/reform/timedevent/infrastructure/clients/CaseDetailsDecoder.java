@@ -0,0 +1,66 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.clients;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import feign.Response;
+import feign.codec.DecodeException;
+import feign.codec.Decoder;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import uk.gov.hmcts.reform.timedevent.infrastructure.clients.model.ccd.CaseDetails;
+
+// CCD responds with the whole case, only id, state and version are read from it with the streaming parser,
+// everything else (case_data mostly) is skipped token by token without being materialized
+public class CaseDetailsDecoder implements Decoder {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final Decoder delegate;
+    private final boolean streaming;
+
+    public CaseDetailsDecoder(Decoder delegate, boolean streaming) {
+        this.delegate = delegate;
+        this.streaming = streaming;
+    }
+
+    @Override
+    public Object decode(Response response, Type type) throws IOException {
+
+        if (!streaming || type != CaseDetails.class || response.body() == null) {
+            return delegate.decode(response, type);
+        }
+
+        try (InputStream body = response.body().asInputStream(); JsonParser parser = JSON_FACTORY.createParser(body)) {
+
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new DecodeException(response.status(), "Case details response is not a JSON object", response.request());
+            }
+
+            return read(parser);
+        }
+    }
+
+    private static CaseDetails read(JsonParser parser) throws IOException {
+
+        Long id = null;
+        String state = null;
+        Integer version = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+
+            switch (field) {
+                case "id" -> id = value == JsonToken.VALUE_NULL ? null : parser.getValueAsLong();
+                case "state" -> state = parser.getValueAsString();
+                case "version" -> version = value == JsonToken.VALUE_NULL ? null : parser.getValueAsInt();
+                default -> parser.skipChildren();
+            }
+        }
+
+        return new CaseDetails(id, state, version, null);
+    }
+}
@@ -17,5 +17,6 @@ public class CaseDetails {
 
     private Long id;
     private String state;
+    private Integer version;
     private Map<String, Object> caseData;
 }
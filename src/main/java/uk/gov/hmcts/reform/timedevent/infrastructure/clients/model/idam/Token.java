@@ -16,5 +16,6 @@ public class Token {
 
     private String accessToken;
     private String scope;
+    private long expiresIn;
 
 }
@@ -1,18 +1,19 @@
 package uk.gov.hmcts.reform.timedevent.infrastructure.config;
 
 import io.lettuce.core.RedisURI;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.support.NoOpCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisPassword;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
@@ -21,6 +22,7 @@ import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactor
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import uk.gov.hmcts.reform.timedevent.infrastructure.cache.TwoTierCacheManager;
 import uk.gov.hmcts.reform.timedevent.infrastructure.clients.model.idam.UserInfo;
 import uk.gov.hmcts.reform.timedevent.infrastructure.security.AesEncryptingRedisSerializer;
 
@@ -40,63 +42,79 @@ public class CacheConfiguration {
     @Value("${spring.data.redis.encryption.key}") // Base64-encoded 32-byte key
     private String redisEncryptionKey;
 
+    @Value("${app.cache.local.ttlInSeconds}")
+    private long localTtlInSeconds;
+
+    @Value("${app.cache.local.maxSize}")
+    private long localMaxSize;
+
+    @Value("${app.cache.redisHealthCheckIntervalInSeconds}")
+    private long redisHealthCheckIntervalInSeconds;
+
     @Bean
     @Primary
-    public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory) {
-        try {
-            redisConnectionFactory.getConnection().ping();
-            log.info("Redis connection successful - using Redis for systemUserTokenCache");
-
-            // Idam user info config
-            AesEncryptingRedisSerializer<UserInfo> userInfoSerializer =
-                new AesEncryptingRedisSerializer<>(
-                    new Jackson2JsonRedisSerializer<>(UserInfo.class),
-                    redisEncryptionKey
-                );
-
-            RedisCacheConfiguration userInfoCacheConfig = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofSeconds(1800))
-                .disableCachingNullValues()
-                .serializeKeysWith(
-                    RedisSerializationContext.SerializationPair
-                        .fromSerializer(new StringRedisSerializer()))
-                .serializeValuesWith(
-                    RedisSerializationContext.SerializationPair
-                        .fromSerializer(userInfoSerializer));
-
-            // system user token config
-            AesEncryptingRedisSerializer<String> tokenSerializer =
-                new AesEncryptingRedisSerializer<>(
-                    new Jackson2JsonRedisSerializer<>(String.class),
-                    redisEncryptionKey
-                );
-            RedisCacheConfiguration tokenCacheConfig = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofSeconds(1800))  // 30mins (token might expire before cache)
-                .disableCachingNullValues()
-                .serializeKeysWith(
-                    RedisSerializationContext.SerializationPair
-                        .fromSerializer(new StringRedisSerializer()))
-                .serializeValuesWith(
-                    RedisSerializationContext.SerializationPair
-                        .fromSerializer(tokenSerializer));
-
-            return RedisCacheManager.builder(redisConnectionFactory)
-                .cacheDefaults(tokenCacheConfig)
-                .withCacheConfiguration("systemUserTokenCache", tokenCacheConfig)
-                .withCacheConfiguration("userInfoCache", userInfoCacheConfig)
-                // functional token caches
-                .withCacheConfiguration("accessTokenCache", tokenCacheConfig)
-                .withCacheConfiguration("legalRepATokenCache", tokenCacheConfig)
-                .withCacheConfiguration("caseOfficerTokenCache", tokenCacheConfig)
-                .withCacheConfiguration("homeOfficeLartTokenCache", tokenCacheConfig)
+    public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory, MeterRegistry meterRegistry) {
 
-                .build();
+        // Idam user info config
+        AesEncryptingRedisSerializer<UserInfo> userInfoSerializer =
+            new AesEncryptingRedisSerializer<>(
+                new Jackson2JsonRedisSerializer<>(UserInfo.class),
+                redisEncryptionKey
+            );
 
-        } catch (Exception e) {
-            // if redis is down, dont cache make idam calls, until pod restarts
-            log.warn("Redis unavailable: {}", e.getMessage());
-            return new NoOpCacheManager();
-        }
+        RedisCacheConfiguration userInfoCacheConfig = RedisCacheConfiguration.defaultCacheConfig()
+            .entryTtl(Duration.ofSeconds(1800))
+            .disableCachingNullValues()
+            .serializeKeysWith(
+                RedisSerializationContext.SerializationPair
+                    .fromSerializer(new StringRedisSerializer()))
+            .serializeValuesWith(
+                RedisSerializationContext.SerializationPair
+                    .fromSerializer(userInfoSerializer));
+
+        // system user token config
+        AesEncryptingRedisSerializer<String> tokenSerializer =
+            new AesEncryptingRedisSerializer<>(
+                new Jackson2JsonRedisSerializer<>(String.class),
+                redisEncryptionKey
+            );
+        RedisCacheConfiguration tokenCacheConfig = RedisCacheConfiguration.defaultCacheConfig()
+            .entryTtl(Duration.ofSeconds(1800))  // 30mins (token might expire before cache)
+            .disableCachingNullValues()
+            .serializeKeysWith(
+                RedisSerializationContext.SerializationPair
+                    .fromSerializer(new StringRedisSerializer()))
+            .serializeValuesWith(
+                RedisSerializationContext.SerializationPair
+                    .fromSerializer(tokenSerializer));
+
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(redisConnectionFactory)
+            .cacheDefaults(tokenCacheConfig)
+            .withCacheConfiguration("systemUserTokenCache", tokenCacheConfig)
+            .withCacheConfiguration("userInfoCache", userInfoCacheConfig)
+            // functional token caches
+            .withCacheConfiguration("accessTokenCache", tokenCacheConfig)
+            .withCacheConfiguration("legalRepATokenCache", tokenCacheConfig)
+            .withCacheConfiguration("caseOfficerTokenCache", tokenCacheConfig)
+            .withCacheConfiguration("homeOfficeLartTokenCache", tokenCacheConfig)
+
+            .build();
+        // not a bean itself, so configured caches are initialized here
+        redisCacheManager.initializeCaches();
+
+        // if redis is down, caches are served from local tier and redis is re-attached when it is back
+        return new TwoTierCacheManager(
+            redisCacheManager,
+            () -> {
+                try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+                    connection.ping();
+                }
+            },
+            meterRegistry,
+            Duration.ofSeconds(localTtlInSeconds),
+            localMaxSize,
+            Duration.ofSeconds(redisHealthCheckIntervalInSeconds)
+        );
     }
 
     @Bean
@@ -106,7 +124,7 @@ public class CacheConfiguration {
 
         if (redisUrl == null || redisUrl.isBlank()) {
             log.warn("No Redis URL configured");
-            // return a dummy factory - cacheManager will catch the ping failure and fall back
+            // return a dummy factory - redis health check fails and caches are served from the local tier
             return new LettuceConnectionFactory();
         }
 
@@ -1,10 +1,11 @@
 package uk.gov.hmcts.reform.timedevent.infrastructure.config;
 
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.databind.ObjectReader;
 import feign.codec.Decoder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
 import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
 import org.springframework.cloud.openfeign.support.SpringDecoder;
@@ -12,23 +13,34 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import uk.gov.hmcts.reform.timedevent.infrastructure.clients.CaseDetailsDecoder;
 
+// requests are encoded by Spring message converters, so both directions use the shared ObjectMapper (see JacksonConfiguration)
 @Configuration
 public class FeignConfiguration {
 
     @Bean
-    public Decoder decoder() {
-        HttpMessageConverter jacksonConverter = new MappingJackson2HttpMessageConverter(objectMapper());
+    public Decoder decoder(ObjectMapper objectMapper,
+                           @Value("${ccd.case-data-api.streaming-decode}") boolean streamingDecode) {
+        HttpMessageConverter jacksonConverter = new DownstreamJacksonConverter(objectMapper);
 
-        return new ResponseEntityDecoder(new SpringDecoder(() -> new HttpMessageConverters(jacksonConverter)));
+        return new CaseDetailsDecoder(
+            new ResponseEntityDecoder(new SpringDecoder(() -> new HttpMessageConverters(jacksonConverter))),
+            streamingDecode
+        );
     }
 
-    public ObjectMapper objectMapper() {
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.configure(DeserializationFeature.READ_UNKNOWN_ENUM_VALUES_USING_DEFAULT_VALUE, true);
-        objectMapper.registerModule(new Jdk8Module());
-        objectMapper.registerModule(new JavaTimeModule());
-        return objectMapper;
+    // downstream services add enum values before they are known here, readers share the mapper caches
+    static class DownstreamJacksonConverter extends MappingJackson2HttpMessageConverter {
+
+        DownstreamJacksonConverter(ObjectMapper objectMapper) {
+            super(objectMapper);
+        }
+
+        @Override
+        protected ObjectReader customizeReader(ObjectReader reader, JavaType javaType) {
+            return reader.with(DeserializationFeature.READ_UNKNOWN_ENUM_VALUES_USING_DEFAULT_VALUE);
+        }
     }
 
 }
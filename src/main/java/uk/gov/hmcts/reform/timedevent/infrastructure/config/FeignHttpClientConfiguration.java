@@ -0,0 +1,96 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.pool.PoolReusePolicy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.openfeign.support.FeignHttpClientProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// connection pool shared by all Feign clients (CCD, IDAM, Role Assignment)
+// picked up by Spring Cloud OpenFeign instead of its default Apache HttpClient 5 connection manager
+@Configuration
+@ConditionalOnProperty(value = "spring.cloud.openfeign.httpclient.hc5.enabled", havingValue = "true")
+public class FeignHttpClientConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager feignConnectionManager(
+        FeignHttpClientProperties httpClientProperties,
+        MeterRegistry meterRegistry,
+        @Value("${ccd.case-data-api.url}") String ccdUrl,
+        @Value("${feignHttpClient.ccd.maxConnections}") int ccdMaxConnections,
+        @Value("${idam.baseUrl}") String idamUrl,
+        @Value("${feignHttpClient.idam.maxConnections}") int idamMaxConnections,
+        @Value("${role-assignment-service.url}") String roleAssignmentUrl,
+        @Value("${feignHttpClient.roleAssignment.maxConnections}") int roleAssignmentMaxConnections
+    ) {
+        Map<String, Integer> maxConnectionsPerHost = new LinkedHashMap<>();
+        maxConnectionsPerHost.put(ccdUrl, ccdMaxConnections);
+        maxConnectionsPerHost.put(idamUrl, idamMaxConnections);
+        maxConnectionsPerHost.put(roleAssignmentUrl, roleAssignmentMaxConnections);
+
+        return connectionManager(httpClientProperties, meterRegistry, maxConnectionsPerHost);
+    }
+
+    static PoolingHttpClientConnectionManager connectionManager(FeignHttpClientProperties httpClientProperties,
+                                                                MeterRegistry meterRegistry,
+                                                                Map<String, Integer> maxConnectionsPerHost) {
+
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+            .setMaxConnTotal(httpClientProperties.getMaxConnections())
+            .setMaxConnPerRoute(httpClientProperties.getMaxConnectionsPerRoute())
+            // most recently used connection first, so start / submit event pairs land on warm TLS connections
+            .setConnPoolPolicy(PoolReusePolicy.LIFO)
+            .setDefaultConnectionConfig(
+                ConnectionConfig.custom()
+                    .setConnectTimeout(httpClientProperties.getConnectionTimeout(), TimeUnit.MILLISECONDS)
+                    .setSocketTimeout(
+                        httpClientProperties.getHc5().getSocketTimeout(),
+                        httpClientProperties.getHc5().getSocketTimeoutUnit()
+                    )
+                    .setTimeToLive(httpClientProperties.getTimeToLive(), httpClientProperties.getTimeToLiveUnit())
+                    .build()
+            )
+            .build();
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "feign")
+            .bindTo(meterRegistry);
+
+        maxConnectionsPerHost.forEach((url, maxConnections) -> {
+            HttpRoute route = route(url);
+            connectionManager.setMaxPerRoute(route, maxConnections);
+
+            String host = route.getTargetHost().toHostString();
+            Gauge.builder("feign.http.pool.route.leased", connectionManager, pool -> pool.getStats(route).getLeased())
+                .tag("host", host)
+                .register(meterRegistry);
+            Gauge.builder("feign.http.pool.route.pending", connectionManager, pool -> pool.getStats(route).getPending())
+                .tag("host", host)
+                .register(meterRegistry);
+        });
+
+        return connectionManager;
+    }
+
+    // same shape as the route HttpClient plans for a request, which always carries an explicit port
+    static HttpRoute route(String url) {
+
+        URI uri = URI.create(url);
+        boolean secure = "https".equalsIgnoreCase(uri.getScheme());
+        int port = uri.getPort() != -1 ? uri.getPort() : (secure ? 443 : 80);
+
+        return new HttpRoute(new HttpHost(uri.getScheme(), uri.getHost(), port), null, secure);
+    }
+}
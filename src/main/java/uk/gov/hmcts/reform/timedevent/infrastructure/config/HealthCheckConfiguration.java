@@ -13,6 +13,10 @@ public class HealthCheckConfiguration {
 
     private Map<String, Map<String, String>> services = new HashMap<>();
 
+    private long timeoutInMillis;
+
+    private long cacheTtlInSeconds;
+
     public Map<String, Map<String, String>> getServices() {
         return services;
     }
@@ -20,4 +24,20 @@ public class HealthCheckConfiguration {
     public void setServices(Map<String, Map<String, String>> services) {
         this.services = services;
     }
+
+    public long getTimeoutInMillis() {
+        return timeoutInMillis;
+    }
+
+    public void setTimeoutInMillis(long timeoutInMillis) {
+        this.timeoutInMillis = timeoutInMillis;
+    }
+
+    public long getCacheTtlInSeconds() {
+        return cacheTtlInSeconds;
+    }
+
+    public void setCacheTtlInSeconds(long cacheTtlInSeconds) {
+        this.cacheTtlInSeconds = cacheTtlInSeconds;
+    }
 }
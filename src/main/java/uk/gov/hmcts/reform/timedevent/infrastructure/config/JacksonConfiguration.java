@@ -0,0 +1,55 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.config;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import uk.gov.hmcts.reform.timedevent.domain.entities.TimedEvent;
+import uk.gov.hmcts.reform.timedevent.domain.entities.roleassignment.RoleAssignmentResource;
+import uk.gov.hmcts.reform.timedevent.infrastructure.clients.model.ccd.CaseDataContent;
+import uk.gov.hmcts.reform.timedevent.infrastructure.clients.model.ccd.StartEventTrigger;
+import uk.gov.hmcts.reform.timedevent.infrastructure.clients.model.idam.UserInfo;
+
+// Spring Boot ObjectMapper is the only one, MVC, RestTemplate and Feign converters share its serializer caches
+@Slf4j
+@Configuration
+public class JacksonConfiguration {
+
+    static final List<Class<?>> WARM_UP_TYPES = List.of(
+        TimedEvent.class,
+        CaseDataContent.class,
+        StartEventTrigger.class,
+        UserInfo.class,
+        RoleAssignmentResource.class
+    );
+
+    // registered by Spring Boot, property access goes through generated lambdas instead of reflection
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    // first job or request does not pay for serializer and deserializer construction
+    @Bean
+    public SmartInitializingSingleton objectMapperWarmUp(ObjectMapper objectMapper) {
+        return () -> warmUp(objectMapper, WARM_UP_TYPES);
+    }
+
+    static void warmUp(ObjectMapper objectMapper, List<Class<?>> types) {
+
+        for (Class<?> type : types) {
+            JavaType javaType = objectMapper.constructType(type);
+
+            if (!objectMapper.canSerialize(type) || !objectMapper.canDeserialize(javaType)) {
+                log.warn("Jackson (de)serializer could not be created for: {}", type.getSimpleName());
+            }
+        }
+
+        log.info("Jackson (de)serializers created for: {} types", types.size());
+    }
+}
@@ -1,36 +1,178 @@
 package uk.gov.hmcts.reform.timedevent.infrastructure.config;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
 import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.quartz.JobBuilder;
+import org.quartz.JobDetail;
 import org.quartz.Scheduler;
 import org.quartz.SchedulerException;
+import org.quartz.SimpleScheduleBuilder;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+import org.quartz.impl.matchers.GroupMatcher;
+import org.quartz.utils.Key;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.quartz.QuartzProperties;
+import org.springframework.boot.autoconfigure.quartz.SchedulerFactoryBeanCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import uk.gov.hmcts.reform.timedevent.domain.services.SchedulerService;
+import uk.gov.hmcts.reform.timedevent.domain.services.TimedEventRepository;
 import uk.gov.hmcts.reform.timedevent.infrastructure.services.DateTimeProvider;
+import uk.gov.hmcts.reform.timedevent.infrastructure.services.quartz.CompletedJobJanitor;
+import uk.gov.hmcts.reform.timedevent.infrastructure.services.quartz.R__CompactJobData;
 import uk.gov.hmcts.reform.timedevent.infrastructure.services.quartz.RetryJobListener;
 
 @Slf4j
 @Configuration
 public class QuartzConfiguration {
 
+    static final String THREAD_COUNT = "org.quartz.threadPool.threadCount";
+    static final String MISFIRE_THRESHOLD = "org.quartz.jobStore.misfireThreshold";
+    static final String ACQUIRE_TRIGGERS_WITHIN_LOCK = "org.quartz.jobStore.acquireTriggersWithinLock";
+    static final String BATCH_MAX_COUNT = "org.quartz.scheduler.batchTriggerAcquisitionMaxCount";
+    static final String BATCH_FIRE_AHEAD_WINDOW = "org.quartz.scheduler.batchTriggerAcquisitionFireAheadTimeWindow";
+
+    // Quartz defaults when the properties are not set
+    private static final int DEFAULT_THREAD_COUNT = 10;
+    private static final long DEFAULT_MISFIRE_THRESHOLD = 60000;
+
     @Value("${retry.durationInSeconds}")
     private long retryDurationInSeconds;
 
     @Value("${retry.maxRetryNumber}")
     private long maxRetryNumber;
 
+    @Value("${resilience.deferralInSeconds}")
+    private long deferralInSeconds;
+
+    @Value("${scheduler.batchAcquisition.maxCount}")
+    private int batchAcquisitionMaxCount;
+
+    @Value("${scheduler.batchAcquisition.fireAheadTimeWindowInMillis}")
+    private long batchAcquisitionFireAheadTimeWindow;
+
+    @Value("${janitor.intervalInSeconds}")
+    private int janitorIntervalInSeconds;
+
     @Bean
     public RetryJobListener retryJobListener(Scheduler quartzScheduler,
                                              SchedulerService schedulerService,
-                                             DateTimeProvider dateTimeProvider) throws SchedulerException {
+                                             DateTimeProvider dateTimeProvider,
+                                             TimedEventRepository timedEventRepository) throws SchedulerException {
 
-        RetryJobListener retryJobListener = new RetryJobListener(retryDurationInSeconds, maxRetryNumber, schedulerService, dateTimeProvider);
+        RetryJobListener retryJobListener = new RetryJobListener(
+            retryDurationInSeconds,
+            maxRetryNumber,
+            deferralInSeconds,
+            schedulerService,
+            dateTimeProvider,
+            timedEventRepository
+        );
 
-        quartzScheduler.getListenerManager().addJobListener(retryJobListener);
+        // timed events only, maintenance jobs have no event data to retry with
+        quartzScheduler.getListenerManager().addJobListener(retryJobListener, GroupMatcher.jobGroupEquals(Key.DEFAULT_GROUP));
 
         log.info("Job Listener has been registered in Quartz Scheduler: " + retryJobListener.getName());
 
         return retryJobListener;
     }
+
+    // picked up by Flyway auto-configuration next to db/migration
+    @Bean
+    public JavaMigration compactJobDataMigration(@Value("${jobData.compactWrites}") boolean compactWrites) {
+        return new R__CompactJobData(compactWrites);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "janitor.enabled", havingValue = "true")
+    public JobDetail completedJobJanitorDetail() {
+
+        return JobBuilder.newJob(CompletedJobJanitor.class)
+            .withIdentity(CompletedJobJanitor.JOB_NAME, CompletedJobJanitor.JOB_GROUP)
+            .withDescription("Archives completed timed events")
+            .storeDurably()
+            .build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "janitor.enabled", havingValue = "true")
+    public Trigger completedJobJanitorTrigger(JobDetail completedJobJanitorDetail) {
+
+        return TriggerBuilder.newTrigger()
+            .forJob(completedJobJanitorDetail)
+            .withIdentity(CompletedJobJanitor.JOB_NAME, CompletedJobJanitor.JOB_GROUP)
+            .withDescription("Completed job janitor trigger")
+            .withSchedule(
+                SimpleScheduleBuilder.repeatSecondlyForever(janitorIntervalInSeconds)
+                    .withMisfireHandlingInstructionNextWithRemainingCount()
+            )
+            .build();
+    }
+
+    @Bean
+    public SchedulerFactoryBeanCustomizer batchAcquisitionCustomizer(QuartzProperties quartzProperties) {
+
+        Map<String, String> properties = batchAcquisitionProperties(
+            quartzProperties.getProperties(),
+            batchAcquisitionMaxCount,
+            batchAcquisitionFireAheadTimeWindow
+        );
+
+        log.info(
+            "Quartz batch trigger acquisition, max count: {}, fire ahead time window: {}ms",
+            properties.get(BATCH_MAX_COUNT),
+            properties.get(BATCH_FIRE_AHEAD_WINDOW)
+        );
+
+        return schedulerFactoryBean -> {
+            Properties merged = new Properties();
+            merged.putAll(properties);
+            schedulerFactoryBean.setQuartzProperties(merged);
+        };
+    }
+
+    static Map<String, String> batchAcquisitionProperties(Map<String, String> quartzProperties,
+                                                          int maxCount,
+                                                          long fireAheadTimeWindow) {
+
+        int threadCount = Integer.parseInt(
+            quartzProperties.getOrDefault(THREAD_COUNT, String.valueOf(DEFAULT_THREAD_COUNT)).trim()
+        );
+        long misfireThreshold = Long.parseLong(
+            quartzProperties.getOrDefault(MISFIRE_THRESHOLD, String.valueOf(DEFAULT_MISFIRE_THRESHOLD)).trim()
+        );
+
+        // 0 means one acquisition round trip fills the whole worker pool
+        int effectiveMaxCount = maxCount == 0 ? threadCount : maxCount;
+
+        if (effectiveMaxCount < 1 || effectiveMaxCount > threadCount) {
+            throw new IllegalStateException(
+                "scheduler.batchAcquisition.maxCount must be between 1 and thread count (" + threadCount + "), was: " + maxCount
+            );
+        }
+
+        // triggers acquired ahead of time are not seen by misfire handling, so keep the window below the threshold
+        if (fireAheadTimeWindow < 0 || fireAheadTimeWindow >= misfireThreshold) {
+            throw new IllegalStateException(
+                "scheduler.batchAcquisition.fireAheadTimeWindowInMillis must be between 0 and misfire threshold ("
+                + misfireThreshold + "), was: " + fireAheadTimeWindow
+            );
+        }
+
+        Map<String, String> properties = new HashMap<>(quartzProperties);
+        properties.put(BATCH_MAX_COUNT, String.valueOf(effectiveMaxCount));
+        properties.put(BATCH_FIRE_AHEAD_WINDOW, String.valueOf(fireAheadTimeWindow));
+
+        if (effectiveMaxCount > 1) {
+            // clustered batch acquisition has to hold TRIGGER_ACCESS, otherwise two nodes can fire the same trigger
+            properties.put(ACQUIRE_TRIGGERS_WITHIN_LOCK, "true");
+        }
+
+        return properties;
+    }
 }
@@ -0,0 +1,25 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.config;
+
+import feign.Capability;
+import feign.Client;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import uk.gov.hmcts.reform.timedevent.infrastructure.resilience.DownstreamResilience;
+import uk.gov.hmcts.reform.timedevent.infrastructure.resilience.ResilientFeignClient;
+
+@Configuration
+@ConditionalOnProperty(name = "resilience.enabled", havingValue = "true")
+public class ResilienceConfiguration {
+
+    // applied by Spring Cloud OpenFeign to all clients (CCD, IDAM, Role Assignment)
+    @Bean
+    public Capability downstreamResilienceCapability(DownstreamResilience downstreamResilience) {
+        return new Capability() {
+            @Override
+            public Client enrich(Client client) {
+                return new ResilientFeignClient(client, downstreamResilience);
+            }
+        };
+    }
+}
@@ -8,24 +8,40 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.util.Strings;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.annotation.*;
 import uk.gov.hmcts.reform.timedevent.domain.entities.TimedEvent;
+import uk.gov.hmcts.reform.timedevent.domain.entities.TimedEventBatchResult;
+import uk.gov.hmcts.reform.timedevent.domain.entities.ccd.Event;
 import uk.gov.hmcts.reform.timedevent.domain.services.SchedulerService;
 import uk.gov.hmcts.reform.timedevent.infrastructure.security.CcdEventAuthorizor;
 
+@Slf4j
 @RestController
 public class TimedEventController {
 
     private final CcdEventAuthorizor ccdEventAuthorizor;
     private final SchedulerService schedulerService;
+    private final int maxBatchSize;
 
-    public TimedEventController(CcdEventAuthorizor ccdEventAuthorizor, SchedulerService timedEventService) {
+    public TimedEventController(CcdEventAuthorizor ccdEventAuthorizor,
+                                SchedulerService timedEventService,
+                                @Value("${timedEvent.batch.maxSize}") int maxBatchSize) {
         this.ccdEventAuthorizor = ccdEventAuthorizor;
         this.schedulerService = timedEventService;
+        this.maxBatchSize = maxBatchSize;
     }
 
     @Operation(
@@ -87,6 +103,99 @@ public class TimedEventController {
         );
     }
 
+    @Operation(
+        summary = "Scheduling / rescheduling batch of timed events in one transaction",
+        security =
+            {
+                @SecurityRequirement(name = "Authorization"),
+                @SecurityRequirement(name = "ServiceAuthorization")
+            }
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode  = "200",
+            description = "Result for every TimedEvent in the batch, in request order",
+            content =  @Content(schema = @Schema(implementation = TimedEventBatchResult.class))
+            ),
+        @ApiResponse(
+            responseCode = "415",
+            description = "Unsupported Media Type"
+            ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Bad Request"
+            ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal Server Error"
+            )
+    })
+    @PostMapping("/timed-event/batch")
+    public ResponseEntity<List<TimedEventBatchResult>> postBatch(@RequestBody List<TimedEvent> timedEvents) {
+
+        if (timedEvents == null || timedEvents.isEmpty() || timedEvents.size() > maxBatchSize) {
+            return badRequest().build();
+        }
+
+        TimedEventBatchResult[] results = new TimedEventBatchResult[timedEvents.size()];
+        List<TimedEvent> accepted = new ArrayList<>(timedEvents.size());
+        List<Integer> acceptedIndexes = new ArrayList<>(timedEvents.size());
+
+        // authorization depends only on event, so it is checked once per distinct event
+        Map<Event, String> authorizationErrors = new EnumMap<>(Event.class);
+
+        // one id is one job, items repeating it would store job data of one and trigger of another
+        Set<String> repeatedIds = repeatedIds(timedEvents);
+
+        for (int i = 0; i < timedEvents.size(); i++) {
+            TimedEvent timedEvent = timedEvents.get(i);
+
+            if (!isValid(timedEvent)) {
+                results[i] = new TimedEventBatchResult(i, HttpStatus.BAD_REQUEST.value(), timedEvent, "Bad Request");
+                continue;
+            }
+
+            if (repeatedIds.contains(timedEvent.getId())) {
+                results[i] = new TimedEventBatchResult(
+                    i,
+                    HttpStatus.BAD_REQUEST.value(),
+                    timedEvent,
+                    "Timed event id repeated in batch: " + timedEvent.getId()
+                );
+                continue;
+            }
+
+            String authorizationError = authorizationErrors.computeIfAbsent(timedEvent.getEvent(), this::authorize);
+            if (!authorizationError.isEmpty()) {
+                results[i] = new TimedEventBatchResult(i, HttpStatus.FORBIDDEN.value(), timedEvent, authorizationError);
+                continue;
+            }
+
+            accepted.add(timedEvent);
+            acceptedIndexes.add(i);
+        }
+
+        for (TimedEventBatchResult result : schedulerService.scheduleAll(accepted)) {
+            int index = acceptedIndexes.get(result.getIndex());
+
+            results[index] = new TimedEventBatchResult(
+                index,
+                result.getStatus(),
+                result.getTimedEvent(),
+                result.getError()
+            );
+        }
+
+        log.info(
+            "Timed Events batch processed, size: {}, accepted: {}, rejected: {}",
+            timedEvents.size(),
+            accepted.size(),
+            timedEvents.size() - accepted.size()
+        );
+
+        return ok(List.of(results));
+    }
+
     @DeleteMapping("/timed-event/{id}")
     public ResponseEntity<TimedEvent> delete(@PathVariable("id") String jobKey) {
         boolean result = schedulerService.deleteSchedule(jobKey);
@@ -133,6 +242,58 @@ public class TimedEventController {
             .orElse(notFound().build());
     }
 
+    @Operation(
+        summary = "Getting pending scheduled events of the case",
+        security =
+            {
+                @SecurityRequirement(name = "Authorization"),
+                @SecurityRequirement(name = "ServiceAuthorization")
+            }
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "TimeEvent objects ordered by scheduled date time",
+            content =  @Content(schema = @Schema(implementation = TimedEvent.class))
+            ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Forbidden"
+            ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal Server Error"
+            )
+    })
+    @GetMapping("/timed-event")
+    public ResponseEntity<List<TimedEvent>> getPending(@RequestParam("caseId") long caseId) {
+
+        return ok(schedulerService.getPending(caseId));
+    }
+
+    private static Set<String> repeatedIds(List<TimedEvent> timedEvents) {
+
+        Set<String> ids = new HashSet<>();
+        Set<String> repeated = new HashSet<>();
+
+        for (TimedEvent timedEvent : timedEvents) {
+            if (timedEvent != null && StringUtils.isNotBlank(timedEvent.getId()) && !ids.add(timedEvent.getId())) {
+                repeated.add(timedEvent.getId());
+            }
+        }
+
+        return repeated;
+    }
+
+    private String authorize(Event event) {
+        try {
+            ccdEventAuthorizor.throwIfNotAuthorized(event);
+            return "";
+        } catch (AccessDeniedException e) {
+            return e.getMessage();
+        }
+    }
+
     private boolean isValid(TimedEvent timedEvent) {
         return timedEvent != null
                && timedEvent.getEvent() != null
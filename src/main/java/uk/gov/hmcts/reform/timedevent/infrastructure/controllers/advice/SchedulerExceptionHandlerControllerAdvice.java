@@ -11,6 +11,7 @@ import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 import uk.gov.hmcts.reform.timedevent.domain.entities.TimedEvent;
+import uk.gov.hmcts.reform.timedevent.infrastructure.services.exceptions.DuplicateTimedEventException;
 import uk.gov.hmcts.reform.timedevent.infrastructure.services.exceptions.SchedulerProcessingException;
 
 @Slf4j
@@ -30,4 +31,15 @@ public class SchedulerExceptionHandlerControllerAdvice extends ResponseEntityExc
         return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    @ExceptionHandler(DuplicateTimedEventException.class)
+    protected ResponseEntity<TimedEvent> handleDuplicate(HttpServletRequest request, DuplicateTimedEventException ex) {
+        log.info(
+            "Duplicate timed event rejected for the CCDCaseId: {}, existing timed event id: {}",
+            RequestContextHolder.currentRequestAttributes().getAttribute("CCDCaseId", RequestAttributes.SCOPE_REQUEST),
+            ex.getExistingId()
+        );
+
+        return new ResponseEntity<>(HttpStatus.CONFLICT);
+    }
+
 }
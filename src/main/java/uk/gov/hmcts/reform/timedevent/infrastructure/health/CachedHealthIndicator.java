@@ -0,0 +1,130 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.health;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+// latest result of the check is served for ttl, then the check is repeated in the background while the stale
+// result is still served; only the very first check is waited for, at most timeout
+@Slf4j
+public class CachedHealthIndicator implements HealthIndicator {
+
+    private final String name;
+    private final HealthIndicator delegate;
+    private final long ttlInNanos;
+    private final long timeoutInMillis;
+    private final Executor executor;
+
+    private final AtomicReference<CompletableFuture<Health>> inFlight = new AtomicReference<>();
+    private final Object lock = new Object();
+
+    // guarded by lock for writes
+    private volatile Result latest;
+
+    public CachedHealthIndicator(String name,
+                                 HealthIndicator delegate,
+                                 long ttlInSeconds,
+                                 long timeoutInMillis,
+                                 Executor executor) {
+        this.name = name;
+        this.delegate = delegate;
+        this.ttlInNanos = TimeUnit.SECONDS.toNanos(ttlInSeconds);
+        this.timeoutInMillis = timeoutInMillis;
+        this.executor = executor;
+    }
+
+    @Override
+    public Health health() {
+
+        CompletableFuture<Health> refresh = refreshIfStale();
+
+        Result result = latest;
+        if (result != null) {
+            return result.health();
+        }
+
+        try {
+            return refresh.get(timeoutInMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return timedOut();
+        } catch (ExecutionException e) {
+            return Health.down(e.getCause()).build();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Health.unknown().build();
+        }
+    }
+
+    HealthIndicator getDelegate() {
+        return delegate;
+    }
+
+    CompletableFuture<Health> refreshIfStale() {
+
+        Result result = latest;
+        if (result != null && System.nanoTime() - result.checkedAt() < ttlInNanos) {
+            return CompletableFuture.completedFuture(result.health());
+        }
+
+        CompletableFuture<Health> started = new CompletableFuture<>();
+        CompletableFuture<Health> running = inFlight.compareAndExchange(null, started);
+        if (running != null) {
+            // one call per downstream at a time, also when the previous one has outlived its timeout
+            return running;
+        }
+
+        long startedAt = System.nanoTime();
+
+        try {
+            executor.execute(() -> check(started));
+        } catch (RuntimeException e) {
+            complete(started, Health.down(e).build());
+            return started;
+        }
+
+        CompletableFuture.delayedExecutor(timeoutInMillis, TimeUnit.MILLISECONDS).execute(() -> {
+            synchronized (lock) {
+                if (!started.isDone()) {
+                    log.warn("Downstream health check: {} has not completed in {}ms", name, timeoutInMillis);
+                    latest = new Result(timedOut(), startedAt);
+                }
+            }
+        });
+
+        return started;
+    }
+
+    private void check(CompletableFuture<Health> started) {
+
+        Health health;
+        try {
+            health = delegate.health();
+        } catch (RuntimeException e) {
+            health = Health.down(e).build();
+        }
+
+        complete(started, health);
+    }
+
+    private void complete(CompletableFuture<Health> started, Health health) {
+
+        synchronized (lock) {
+            latest = new Result(health, System.nanoTime());
+            inFlight.set(null);
+            started.complete(health);
+        }
+    }
+
+    private Health timedOut() {
+        return Health.down().withDetail("error", "Health check timed out after " + timeoutInMillis + "ms").build();
+    }
+
+    private record Result(Health health, long checkedAt) {
+    }
+}
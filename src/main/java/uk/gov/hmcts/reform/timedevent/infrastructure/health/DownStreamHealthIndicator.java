@@ -1,12 +1,16 @@
 package uk.gov.hmcts.reform.timedevent.infrastructure.health;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.actuate.health.CompositeHealthContributor;
 import org.springframework.boot.actuate.health.HealthContributor;
 import org.springframework.boot.actuate.health.NamedContributor;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 import uk.gov.hmcts.reform.timedevent.infrastructure.config.HealthCheckConfiguration;
@@ -15,28 +19,38 @@ import uk.gov.hmcts.reform.timedevent.infrastructure.config.HealthCheckConfigura
 @Component
 public class DownStreamHealthIndicator implements CompositeHealthContributor {
 
-    private final RestTemplate restTemplate;
+    private final RestTemplateBuilder restTemplateBuilder;
 
     private final HealthCheckConfiguration healthCheckConfiguration;
 
-    private Map<String, HealthContributor> contributors = new HashMap<>();
+    private Map<String, CachedHealthIndicator> contributors = new HashMap<>();
+
+    // checks of all downstreams run concurrently, each on its own virtual thread
+    private final ExecutorService executor =
+        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("downstream-health-", 1).factory());
 
     public DownStreamHealthIndicator(
-        RestTemplate restTemplate,
+        RestTemplateBuilder restTemplateBuilder,
         HealthCheckConfiguration healthCheckConfiguration
     ) {
-        this.restTemplate = restTemplate;
+        this.restTemplateBuilder = restTemplateBuilder;
         this.healthCheckConfiguration = healthCheckConfiguration;
 
         try {
 
             healthCheckConfiguration.getServices().entrySet().stream()
                 .forEach(s -> {
+                    long timeoutInMillis = timeoutInMillis(s.getValue());
                     contributors
-                        .put(s.getKey(), new ServiceHealthIndicator(
-                            s.getValue().get("uri"),
-                            s.getValue().get("response"),
-                            restTemplate));
+                        .put(s.getKey(), new CachedHealthIndicator(
+                            s.getKey(),
+                            new ServiceHealthIndicator(
+                                s.getValue().get("uri"),
+                                s.getValue().get("response"),
+                                restTemplate(timeoutInMillis)),
+                            healthCheckConfiguration.getCacheTtlInSeconds(),
+                            timeoutInMillis,
+                            executor));
                 });
         } catch (NullPointerException ex) {
 
@@ -53,7 +67,26 @@ public class DownStreamHealthIndicator implements CompositeHealthContributor {
     @Override
     public Iterator<NamedContributor<HealthContributor>> iterator() {
 
+        // stale checks are started together, so the composite is not as slow as all of them in a row
+        contributors.values().forEach(CachedHealthIndicator::refreshIfStale);
+
         return contributors.entrySet().stream()
             .map((entry) -> NamedContributor.of(entry.getKey(), entry.getValue())).iterator();
     }
+
+    // the call itself ends on timeout, otherwise a hung check would never be repeated
+    private RestTemplate restTemplate(long timeoutInMillis) {
+
+        return restTemplateBuilder
+            .connectTimeout(Duration.ofMillis(timeoutInMillis))
+            .readTimeout(Duration.ofMillis(timeoutInMillis))
+            .build();
+    }
+
+    private long timeoutInMillis(Map<String, String> service) {
+
+        String timeout = service.get("timeoutInMillis");
+
+        return timeout == null ? healthCheckConfiguration.getTimeoutInMillis() : Long.parseLong(timeout.trim());
+    }
 }
@@ -0,0 +1,245 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.health;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.JobExecutionContext;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.Trigger;
+import org.quartz.impl.matchers.GroupMatcher;
+import org.quartz.listeners.TriggerListenerSupport;
+import org.quartz.utils.Key;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.autoconfigure.quartz.QuartzProperties;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.timedevent.infrastructure.services.DateTimeProvider;
+
+// node is out of service for readiness only while its own database pool stays exhausted, which API requests need too;
+// acquisition lag, pool saturation and misfire backlog come from the job store shared by the whole cluster, so they
+// are only reported, they would take all nodes out at once and readiness does not stop a node acquiring triggers
+@Slf4j
+@Component
+public class SchedulerHealthIndicator implements HealthIndicator {
+
+    static final String LISTENER_NAME = "schedulerHealth";
+
+    // lag of the last fired triggers is forgotten when nothing fires for this long
+    static final long LAG_WINDOW_IN_MILLIS = 60000;
+    private static final double LAG_SMOOTHING = 0.3;
+
+    private static final String TABLE_PREFIX = "org.quartz.jobStore.tablePrefix";
+    private static final String DEFAULT_TABLE_PREFIX = "QRTZ_";
+    private static final int QUERY_TIMEOUT_IN_SECONDS = 2;
+
+    private final Scheduler quartzScheduler;
+    private final DataSource dataSource;
+    private final DateTimeProvider dateTimeProvider;
+    private final Timer acquisitionLagTimer;
+    private final double maxJdbcPoolUsage;
+    private final long sustainInMillis;
+    private final int misfireBacklogCountCap;
+    private final String misfireBacklogQuery;
+
+    // guarded by this
+    private double acquisitionLag;
+    private long lastFiredAt;
+
+    private volatile long breachedSince;
+    private volatile boolean outOfService;
+
+    public SchedulerHealthIndicator(
+        Scheduler quartzScheduler,
+        DataSource dataSource,
+        QuartzProperties quartzProperties,
+        DateTimeProvider dateTimeProvider,
+        MeterRegistry meterRegistry,
+        @Value("${scheduler.readiness.maxJdbcPoolUsage}") double maxJdbcPoolUsage,
+        @Value("${scheduler.readiness.sustainInSeconds}") long sustainInSeconds,
+        @Value("${scheduler.readiness.misfireBacklogCountCap}") int misfireBacklogCountCap
+    ) throws SchedulerException {
+
+        this.quartzScheduler = quartzScheduler;
+        this.dataSource = dataSource;
+        this.dateTimeProvider = dateTimeProvider;
+        this.maxJdbcPoolUsage = maxJdbcPoolUsage;
+        this.sustainInMillis = TimeUnit.SECONDS.toMillis(sustainInSeconds);
+        this.misfireBacklogCountCap = misfireBacklogCountCap;
+
+        // due triggers no node has acquired yet, misfired ones included; triggers are acquired ahead of their fire
+        // time, so these are overdue; counting stops at the cap, so a huge backlog does not make the probe slow
+        this.misfireBacklogQuery = "SELECT COUNT(*) FROM (SELECT 1 FROM "
+            + quartzProperties.getProperties().getOrDefault(TABLE_PREFIX, DEFAULT_TABLE_PREFIX).trim()
+            + "TRIGGERS WHERE SCHED_NAME = ? AND TRIGGER_STATE = 'WAITING' AND NEXT_FIRE_TIME < ? LIMIT ?) backlog";
+
+        this.acquisitionLagTimer = Timer.builder("quartz.trigger.acquisition.lag")
+            .description("Delay between scheduled and actual fire time of timed events")
+            .register(meterRegistry);
+
+        // timed events only, maintenance jobs do not fire on schedule for anyone
+        quartzScheduler.getListenerManager().addTriggerListener(
+            new AcquisitionLagListener(),
+            GroupMatcher.triggerGroupEquals(Key.DEFAULT_GROUP)
+        );
+    }
+
+    @Override
+    public Health health() {
+
+        long now = dateTimeProvider.now().toInstant().toEpochMilli();
+
+        Health.Builder builder = new Health.Builder();
+        List<String> breaches = new ArrayList<>();
+
+        builder.withDetail("acquisitionLagInMillis", acquisitionLagInMillis(now));
+
+        try {
+            int executing = executingTimedEvents();
+            int poolSize = quartzScheduler.getMetaData().getThreadPoolSize();
+
+            builder.withDetail("standby", quartzScheduler.isInStandbyMode())
+                .withDetail("executingJobs", executing)
+                .withDetail("poolSize", poolSize)
+                .withDetail("poolSaturation", poolSize > 0 ? (double) executing / poolSize : 0);
+        } catch (SchedulerException e) {
+            builder.withDetail("poolError", e.getMessage());
+        }
+
+        HikariDataSource hikariDataSource = hikariDataSource();
+        HikariPoolMXBean jdbcPool = hikariDataSource == null ? null : hikariDataSource.getHikariPoolMXBean();
+        if (jdbcPool != null) {
+            int active = jdbcPool.getActiveConnections();
+            int max = hikariDataSource.getMaximumPoolSize();
+            double usage = max > 0 ? (double) active / max : 0;
+
+            builder.withDetail("jdbcActiveConnections", active)
+                .withDetail("jdbcMaxConnections", max)
+                .withDetail("jdbcPendingThreads", jdbcPool.getThreadsAwaitingConnection())
+                .withDetail("jdbcPoolUsage", usage);
+            if (usage >= maxJdbcPoolUsage) {
+                breaches.add("jdbc pool usage");
+            }
+        }
+
+        // probe does not queue for a connection behind jobs
+        if (!breaches.contains("jdbc pool usage")) {
+            try {
+                builder.withDetail("misfireBacklog", misfireBacklog(now));
+            } catch (SQLException | SchedulerException e) {
+                builder.withDetail("misfireBacklogError", e.getMessage());
+            }
+        }
+
+        return builder.status(status(breaches, now)).withDetail("breaches", breaches).build();
+    }
+
+    void recordAcquisitionLag(long lagInMillis, long firedAt) {
+
+        acquisitionLagTimer.record(lagInMillis, TimeUnit.MILLISECONDS);
+
+        synchronized (this) {
+            acquisitionLag = firedAt - lastFiredAt > LAG_WINDOW_IN_MILLIS
+                ? lagInMillis
+                : acquisitionLag + LAG_SMOOTHING * (lagInMillis - acquisitionLag);
+            lastFiredAt = firedAt;
+        }
+    }
+
+    private synchronized long acquisitionLagInMillis(long now) {
+        return now - lastFiredAt > LAG_WINDOW_IN_MILLIS ? 0 : Math.round(acquisitionLag);
+    }
+
+    // single slow probe does not flip readiness, breaches have to last for the sustain period
+    private Status status(List<String> breaches, long now) {
+
+        if (breaches.isEmpty()) {
+            if (outOfService) {
+                log.info("Database connections are available again, node is ready");
+            }
+            breachedSince = 0;
+            outOfService = false;
+            return Status.UP;
+        }
+
+        if (breachedSince == 0) {
+            breachedSince = now;
+        }
+
+        if (now - breachedSince < sustainInMillis) {
+            return Status.UP;
+        }
+
+        if (!outOfService) {
+            log.warn("Database connections are exhausted ({}), node is not ready", String.join(", ", breaches));
+        }
+        outOfService = true;
+
+        return Status.OUT_OF_SERVICE;
+    }
+
+    // janitor runs on a worker too, but it is not timed event load
+    private int executingTimedEvents() throws SchedulerException {
+
+        return (int) quartzScheduler.getCurrentlyExecutingJobs().stream()
+            .filter(context -> Key.DEFAULT_GROUP.equals(context.getJobDetail().getKey().getGroup()))
+            .count();
+    }
+
+    private long misfireBacklog(long now) throws SQLException, SchedulerException {
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(misfireBacklogQuery)) {
+
+            statement.setString(1, quartzScheduler.getSchedulerName());
+            statement.setLong(2, now);
+            statement.setInt(3, misfireBacklogCountCap);
+            statement.setQueryTimeout(QUERY_TIMEOUT_IN_SECONDS);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getLong(1) : 0;
+            }
+        }
+    }
+
+    private HikariDataSource hikariDataSource() {
+
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class);
+            }
+        } catch (SQLException e) {
+            log.debug("JDBC pool could not be unwrapped", e);
+        }
+
+        return null;
+    }
+
+    private class AcquisitionLagListener extends TriggerListenerSupport {
+
+        @Override
+        public String getName() {
+            return LISTENER_NAME;
+        }
+
+        @Override
+        public void triggerFired(Trigger trigger, JobExecutionContext context) {
+
+            long firedAt = context.getFireTime().getTime();
+
+            recordAcquisitionLag(Math.max(0, firedAt - context.getScheduledFireTime().getTime()), firedAt);
+        }
+    }
+}
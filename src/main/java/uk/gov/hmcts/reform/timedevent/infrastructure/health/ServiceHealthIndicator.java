@@ -1,7 +1,7 @@
 package uk.gov.hmcts.reform.timedevent.infrastructure.health;
 
-import java.util.Optional;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.boot.actuate.health.Status;
@@ -19,7 +19,7 @@ public class ServiceHealthIndicator implements HealthIndicator {
 
     public ServiceHealthIndicator(String uri, String matcher, RestTemplate restTemplate) {
         this.uri = uri;
-        this.matcher = matcher;
+        this.matcher = StringUtils.deleteWhitespace(matcher);
         this.restTemplate = restTemplate;
     }
 
@@ -30,14 +30,11 @@ public class ServiceHealthIndicator implements HealthIndicator {
             ResponseEntity<String> response = restTemplate
                 .getForEntity(uri, String.class);
 
-            String responseBody = Optional
-                .ofNullable(response.getBody())
-                .map(body -> body.replaceAll("\\s", ""))
-                .orElse("");
+            String responseBody = response.getBody() == null ? "" : response.getBody();
 
             if (response.getStatusCode() == HttpStatus.OK
-                && responseBody.contains(matcher)
-                && !responseBody.contains("DOWN")) {
+                && containsIgnoringWhitespace(responseBody, matcher)
+                && !containsIgnoringWhitespace(responseBody, "DOWN")) {
 
                 return new Health
                     .Builder(Status.UP)
@@ -57,4 +54,37 @@ public class ServiceHealthIndicator implements HealthIndicator {
                 .build();
         }
     }
+
+    // scans the body in place instead of building a whitespace free copy of it
+    static boolean containsIgnoringWhitespace(String body, String expected) {
+
+        if (expected.isEmpty()) {
+            return true;
+        }
+
+        for (int start = 0; start < body.length(); start++) {
+
+            if (Character.isWhitespace(body.charAt(start))) {
+                continue;
+            }
+
+            int matched = 0;
+            for (int i = start; i < body.length() && matched < expected.length(); i++) {
+                char c = body.charAt(i);
+                if (Character.isWhitespace(c)) {
+                    continue;
+                }
+                if (c != expected.charAt(matched)) {
+                    break;
+                }
+                matched++;
+            }
+
+            if (matched == expected.length()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
 }
@@ -0,0 +1,213 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.resilience;
+
+import feign.FeignException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.timedevent.infrastructure.services.exceptions.ConcurrencyLimitExceededException;
+
+// AIMD limit of in-flight CCD executions: grows by one per limit-worth of successful calls while latency stays
+// within latencyTolerance of its moving baseline, and is cut by backoffRatio on latency spikes, 429, 5xx and I/O errors
+@Slf4j
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    enum Outcome { SUCCESS, DROPPED, IGNORED }
+
+    // weight of the latest sample in the latency baseline
+    private static final double BASELINE_SMOOTHING = 0.05;
+
+    private final boolean enabled;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double latencyTolerance;
+    private final long maxWaitInNanos;
+    private final Counter rejected;
+
+    private final Lock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+
+    // guarded by lock, volatile for the gauges
+    private volatile double limit;
+    private volatile int inFlight;
+    private double baselineLatencyInNanos;
+    private long lastDecreaseAt;
+
+    public AdaptiveConcurrencyLimiter(
+        MeterRegistry meterRegistry,
+        @Value("${concurrencyLimit.enabled}") boolean enabled,
+        @Value("${concurrencyLimit.initialLimit}") int initialLimit,
+        @Value("${concurrencyLimit.minLimit}") int minLimit,
+        @Value("${concurrencyLimit.maxLimit}") int maxLimit,
+        @Value("${concurrencyLimit.backoffRatio}") double backoffRatio,
+        @Value("${concurrencyLimit.latencyTolerance}") double latencyTolerance,
+        @Value("${concurrencyLimit.maxWaitInMillis}") long maxWaitInMillis,
+        @Value("${spring.quartz.properties.org.quartz.threadPool.threadCount}") int threadCount
+    ) {
+        this.enabled = enabled;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit(maxLimit, threadCount);
+        this.backoffRatio = backoffRatio;
+        this.latencyTolerance = latencyTolerance;
+        this.maxWaitInNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitInMillis);
+        this.limit = Math.min(Math.max(initialLimit, minLimit), this.maxLimit);
+
+        Gauge.builder("timed.event.concurrency.limit", this, limiter -> Math.floor(limiter.limit))
+            .description("Current adaptive limit of in-flight CCD executions")
+            .register(meterRegistry);
+        Gauge.builder("timed.event.concurrency.inflight", this, limiter -> limiter.inFlight)
+            .description("In-flight CCD executions")
+            .register(meterRegistry);
+        this.rejected = Counter.builder("timed.event.concurrency.rejected")
+            .description("CCD executions rejected by the adaptive concurrency limit")
+            .register(meterRegistry);
+    }
+
+    // executions run on scheduler workers, so in-flight executions never exceed the worker pool size;
+    // a higher limit could never be used, and would not be adapted to
+    static int maxLimit(int maxLimit, int threadCount) {
+
+        if (maxLimit == 0) {
+            return threadCount;
+        }
+
+        if (maxLimit > threadCount) {
+            log.warn("concurrencyLimit.maxLimit: {} is above scheduler thread count, limited to: {}", maxLimit, threadCount);
+            return threadCount;
+        }
+
+        return maxLimit;
+    }
+
+    public void execute(Runnable call) {
+
+        if (!enabled) {
+            call.run();
+            return;
+        }
+
+        Permit permit = acquire(System::nanoTime);
+        Outcome outcome = Outcome.IGNORED;
+        try {
+            call.run();
+            outcome = Outcome.SUCCESS;
+        } catch (RuntimeException e) {
+            outcome = outcome(e);
+            throw e;
+        } finally {
+            release(permit, outcome, System.nanoTime());
+        }
+    }
+
+    // latency is measured from the moment the permit is granted, time spent queueing here is not CCD latency
+    Permit acquire(LongSupplier clock) {
+
+        lock.lock();
+        try {
+            long remaining = maxWaitInNanos;
+            while (inFlight >= (int) limit) {
+                if (remaining <= 0) {
+                    rejected.increment();
+                    throw new ConcurrencyLimitExceededException(
+                        "CCD concurrency limit reached: " + (int) limit + " in-flight executions"
+                    );
+                }
+                remaining = released.awaitNanos(remaining);
+            }
+
+            inFlight++;
+            return new Permit(clock.getAsLong(), inFlight);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConcurrencyLimitExceededException("Interrupted while waiting for CCD concurrency limit");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void release(Permit permit, Outcome outcome, long now) {
+
+        lock.lock();
+        try {
+            inFlight--;
+
+            if (outcome == Outcome.DROPPED) {
+                decrease(now);
+            } else if (outcome == Outcome.SUCCESS) {
+                onSuccess(permit, now);
+            }
+
+            released.signalAll();
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    double getLimit() {
+        return limit;
+    }
+
+    private void onSuccess(Permit permit, long now) {
+
+        long latency = now - permit.startedAt();
+
+        if (baselineLatencyInNanos == 0) {
+            baselineLatencyInNanos = latency;
+        }
+
+        if (latency > baselineLatencyInNanos * latencyTolerance) {
+            decrease(now);
+        } else if (permit.inFlightAtStart() * 2 >= limit) {
+            // only grow while the current limit is actually used, otherwise it would drift up while idle
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+
+        // persistent latency shift moves the baseline, so the limit does not stay collapsed
+        baselineLatencyInNanos += BASELINE_SMOOTHING * (latency - baselineLatencyInNanos);
+    }
+
+    private void decrease(long now) {
+
+        // one decrease per baseline round trip, concurrent failures of the same spike count once
+        if (lastDecreaseAt != 0 && now - lastDecreaseAt < baselineLatencyInNanos) {
+            return;
+        }
+
+        double decreased = Math.max(minLimit, limit * backoffRatio);
+        if (decreased < limit) {
+            log.info("CCD concurrency limit decreased from: {} to: {}", (int) limit, (int) decreased);
+        }
+
+        limit = decreased;
+        lastDecreaseAt = now;
+    }
+
+    static Outcome outcome(RuntimeException e) {
+
+        if (DownstreamResilience.isRejection(e)) {
+            return Outcome.IGNORED;
+        }
+
+        if (e instanceof FeignException feignException) {
+            int status = feignException.status();
+            // status is -1 for timeouts and I/O errors
+            return status == 429 || status >= 500 || status < 0 ? Outcome.DROPPED : Outcome.SUCCESS;
+        }
+
+        return Outcome.IGNORED;
+    }
+
+    record Permit(long startedAt, int inFlightAtStart) {
+    }
+}
@@ -0,0 +1,139 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.resilience;
+
+import feign.Response;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.timedevent.infrastructure.services.exceptions.CaseLaneBusyException;
+import uk.gov.hmcts.reform.timedevent.infrastructure.services.exceptions.ConcurrencyLimitExceededException;
+
+// circuit breaker and bulkhead per downstream, keyed by Feign client name
+@Slf4j
+@Component
+public class DownstreamResilience {
+
+    public static final String CCD = "ccd-data-store-api";
+    public static final String IDAM = "idam-api";
+    public static final String ROLE_ASSIGNMENT = "role-assignment-service-api";
+
+    // timed events can not be executed without these, role assignment failures are tolerated by IdamService
+    private static final List<String> EXECUTION_DOWNSTREAMS = List.of(CCD, IDAM);
+
+    private final boolean enabled;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+
+    public DownstreamResilience(
+        MeterRegistry meterRegistry,
+        @Value("${resilience.enabled}") boolean enabled,
+        @Value("${resilience.circuitBreaker.failureRateThreshold}") float failureRateThreshold,
+        @Value("${resilience.circuitBreaker.slowCallRateThreshold}") float slowCallRateThreshold,
+        @Value("${resilience.circuitBreaker.slowCallDurationThresholdInSeconds}") long slowCallDurationThresholdInSeconds,
+        @Value("${resilience.circuitBreaker.slidingWindowSize}") int slidingWindowSize,
+        @Value("${resilience.circuitBreaker.minimumNumberOfCalls}") int minimumNumberOfCalls,
+        @Value("${resilience.circuitBreaker.waitDurationInOpenStateInSeconds}") long waitDurationInOpenStateInSeconds,
+        @Value("${resilience.bulkhead.maxConcurrentCalls}") int maxConcurrentCalls,
+        @Value("${resilience.bulkhead.maxWaitInMillis}") long maxWaitInMillis
+    ) {
+        this.enabled = enabled;
+
+        this.circuitBreakerRegistry = CircuitBreakerRegistry.of(
+            CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumNumberOfCalls)
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .slowCallDurationThreshold(Duration.ofSeconds(slowCallDurationThresholdInSeconds))
+                .waitDurationInOpenState(Duration.ofSeconds(waitDurationInOpenStateInSeconds))
+                // scheduler may be on standby while the circuit is open, so nothing else would move it to half open
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                // 4xx are caller errors (e.g. case state did not qualify), only overload and outages count
+                .recordResult(result -> result instanceof Response response && isFailure(response))
+                .build()
+        );
+        this.bulkheadRegistry = BulkheadRegistry.of(
+            BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ofMillis(maxWaitInMillis))
+                .build()
+        );
+
+        List.of(CCD, IDAM, ROLE_ASSIGNMENT).forEach(downstream -> {
+            circuitBreakerRegistry.circuitBreaker(downstream).getEventPublisher().onStateTransition(event ->
+                log.warn("Circuit breaker for downstream: {} changed state: {}", downstream, event.getStateTransition())
+            );
+            bulkheadRegistry.bulkhead(downstream);
+        });
+
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry).bindTo(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public CircuitBreaker circuitBreaker(String downstream) {
+        return circuitBreakerRegistry.circuitBreaker(downstream);
+    }
+
+    public Bulkhead bulkhead(String downstream) {
+        return bulkheadRegistry.bulkhead(downstream);
+    }
+
+    // false while a downstream every execution depends on has an open circuit
+    public boolean isExecutionPermitted() {
+
+        if (!enabled) {
+            return true;
+        }
+
+        return EXECUTION_DOWNSTREAMS.stream()
+            .map(circuitBreakerRegistry::circuitBreaker)
+            .noneMatch(circuitBreaker -> isOpen(circuitBreaker.getState()));
+    }
+
+    // listener is called on every state transition of circuits executions depend on
+    public void onExecutionCircuitTransition(Runnable listener) {
+        EXECUTION_DOWNSTREAMS.forEach(downstream ->
+            circuitBreakerRegistry.circuitBreaker(downstream).getEventPublisher().onStateTransition(event -> listener.run())
+        );
+    }
+
+    // call has not reached the downstream at all, because of an open circuit, a full bulkhead or concurrency limit
+    public static boolean isRejection(Throwable throwable) {
+
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof CallNotPermittedException
+                || cause instanceof BulkheadFullException
+                || cause instanceof ConcurrencyLimitExceededException
+                || cause instanceof CaseLaneBusyException) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    static boolean isFailure(Response response) {
+        return response.status() >= 500 || response.status() == 429;
+    }
+
+    private static boolean isOpen(CircuitBreaker.State state) {
+        return state == CircuitBreaker.State.OPEN || state == CircuitBreaker.State.FORCED_OPEN;
+    }
+}
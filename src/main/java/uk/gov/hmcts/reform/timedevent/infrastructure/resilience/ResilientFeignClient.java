@@ -0,0 +1,51 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.resilience;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// guards every Feign call with the bulkhead and circuit breaker of its downstream (Feign client name)
+// rejected calls fail fast with CallNotPermittedException or BulkheadFullException, without touching the network
+public class ResilientFeignClient implements Client {
+
+    private final Client delegate;
+    private final DownstreamResilience downstreamResilience;
+
+    public ResilientFeignClient(Client delegate, DownstreamResilience downstreamResilience) {
+        this.delegate = delegate;
+        this.downstreamResilience = downstreamResilience;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+
+        String downstream = request.requestTemplate().feignTarget().name();
+
+        Bulkhead bulkhead = downstreamResilience.bulkhead(downstream);
+        CircuitBreaker circuitBreaker = downstreamResilience.circuitBreaker(downstream);
+
+        bulkhead.acquirePermission();
+        try {
+            circuitBreaker.acquirePermission();
+
+            long started = System.nanoTime();
+            try {
+                Response response = delegate.execute(request, options);
+                circuitBreaker.onResult(System.nanoTime() - started, TimeUnit.NANOSECONDS, response);
+
+                return response;
+
+            } catch (IOException | RuntimeException e) {
+                circuitBreaker.onError(System.nanoTime() - started, TimeUnit.NANOSECONDS, e);
+                throw e;
+            }
+
+        } finally {
+            bulkhead.onComplete();
+        }
+    }
+}
@@ -1,26 +1,28 @@
 package uk.gov.hmcts.reform.timedevent.infrastructure.security;
 
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 import org.springframework.security.access.AccessDeniedException;
 import uk.gov.hmcts.reform.timedevent.domain.entities.ccd.Event;
 
 public class CcdEventAuthorizor {
 
-    private final Map<String, List<Event>> roleEventAccess;
+    // required roles per event, inverted from role -> events configuration once
+    private final Map<Event, Set<String>> eventRoleAccess;
     private final AuthorizedRolesProvider authorizedRolesProvider;
 
     public CcdEventAuthorizor(Map<String, List<Event>> roleEventAccess, AuthorizedRolesProvider authorizedRolesProvider) {
-        this.roleEventAccess = roleEventAccess;
+        this.eventRoleAccess = invert(roleEventAccess);
         this.authorizedRolesProvider = authorizedRolesProvider;
     }
 
     public void throwIfNotAuthorized(Event event) {
 
-        List<String> requiredRoles = getRequiredRolesForEvent(event);
+        Set<String> requiredRoles = eventRoleAccess.getOrDefault(event, Collections.emptySet());
         Set<String> userRoles = authorizedRolesProvider.getRoles();
 
         if (requiredRoles.isEmpty()
@@ -31,13 +33,18 @@ public class CcdEventAuthorizor {
         }
     }
 
-    private List<String> getRequiredRolesForEvent(Event event) {
+    private static Map<Event, Set<String>> invert(Map<String, List<Event>> roleEventAccess) {
 
-        return roleEventAccess
-            .entrySet()
-            .stream()
-            .filter(entry -> entry.getValue().contains(event))
-            .map(Map.Entry::getKey)
-            .collect(Collectors.toList());
+        Map<Event, Set<String>> eventRoles = new EnumMap<>(Event.class);
+
+        roleEventAccess.forEach((role, events) -> {
+            if (events != null) {
+                events.forEach(event -> eventRoles.computeIfAbsent(event, e -> new HashSet<>()).add(role));
+            }
+        });
+
+        eventRoles.replaceAll((event, roles) -> Set.copyOf(roles));
+
+        return Collections.unmodifiableMap(eventRoles);
     }
 }
@@ -0,0 +1,7 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.security;
+
+import java.time.Instant;
+
+// user token and s2s token are already with Bearer prefix
+public record ExecutionCredentials(String userToken, String s2sToken, String uid, Instant createdAt) {
+}
@@ -0,0 +1,104 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.security;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.authorisation.generators.AuthTokenGenerator;
+import uk.gov.hmcts.reform.timedevent.infrastructure.security.oauth2.IdentityManagerResponseException;
+import uk.gov.hmcts.reform.timedevent.infrastructure.services.DateTimeProvider;
+
+// one snapshot of system user token, s2s token and system user id shared by all running jobs,
+// replaced as a whole once it is older than maxAge
+@Slf4j
+@Component
+public class ExecutionCredentialsProvider {
+
+    private final SystemTokenGenerator systemTokenGenerator;
+    private final SystemUserProvider systemUserProvider;
+    private final AuthTokenGenerator s2sAuthTokenGenerator;
+    private final DateTimeProvider dateTimeProvider;
+    private final Duration maxAge;
+
+    private final Lock refreshLock = new ReentrantLock();
+    private volatile ExecutionCredentials current;
+
+    public ExecutionCredentialsProvider(SystemTokenGenerator systemTokenGenerator,
+                                        SystemUserProvider systemUserProvider,
+                                        AuthTokenGenerator s2sAuthTokenGenerator,
+                                        DateTimeProvider dateTimeProvider,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${executionCredentials.maxAgeInSeconds}") long maxAgeInSeconds) {
+        this.systemTokenGenerator = systemTokenGenerator;
+        this.systemUserProvider = systemUserProvider;
+        this.s2sAuthTokenGenerator = s2sAuthTokenGenerator;
+        this.dateTimeProvider = dateTimeProvider;
+        this.maxAge = Duration.ofSeconds(maxAgeInSeconds);
+
+        Gauge.builder("timed.event.credentials.age", this, ExecutionCredentialsProvider::ageInSeconds)
+            .description("Age of the execution credentials snapshot in seconds")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+    }
+
+    public ExecutionCredentials get() {
+
+        ExecutionCredentials credentials = current;
+        if (isFresh(credentials)) {
+            return credentials;
+        }
+
+        refreshLock.lock();
+        try {
+            // another job may have refreshed it while this one was waiting for the lock
+            credentials = current;
+            if (isFresh(credentials)) {
+                return credentials;
+            }
+
+            credentials = resolve();
+            current = credentials;
+
+            return credentials;
+
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private ExecutionCredentials resolve() {
+
+        try {
+            String userToken = systemTokenGenerator.generate();
+            String s2sToken = s2sAuthTokenGenerator.generate();
+            String uid = systemUserProvider.getSystemUserId(userToken);
+
+            log.info("Execution credentials have been refreshed for system user id: {}", uid);
+
+            return new ExecutionCredentials(userToken, s2sToken, uid, now());
+
+        } catch (Exception e) {
+            throw new IdentityManagerResponseException(e.getMessage(), e);
+        }
+    }
+
+    private boolean isFresh(ExecutionCredentials credentials) {
+        return credentials != null && now().isBefore(credentials.createdAt().plus(maxAge));
+    }
+
+    private double ageInSeconds() {
+        ExecutionCredentials credentials = current;
+        return credentials == null
+            ? Double.NaN
+            : Duration.between(credentials.createdAt(), now()).toMillis() / 1000.0;
+    }
+
+    private Instant now() {
+        return dateTimeProvider.now().toInstant();
+    }
+}
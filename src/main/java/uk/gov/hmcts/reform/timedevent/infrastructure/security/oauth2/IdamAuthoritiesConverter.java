@@ -2,9 +2,20 @@ package uk.gov.hmcts.reform.timedevent.infrastructure.security.oauth2;
 
 import static org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames.ACCESS_TOKEN;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import feign.FeignException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
 import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -21,9 +32,24 @@ public class IdamAuthoritiesConverter implements Converter<Jwt, Collection<Grant
     static final String TOKEN_NAME = "tokenName";
 
     private final IdamService idamService;
+    private final Duration maxTtl;
 
-    public IdamAuthoritiesConverter(IdamService idamService) {
+    // near cache in front of userInfoCache, keyed by token hash so raw tokens are not kept in memory
+    private final Cache<String, List<GrantedAuthority>> authoritiesCache;
+
+    public IdamAuthoritiesConverter(IdamService idamService,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${security.authoritiesCache.maxSize}") long maxSize,
+                                    @Value("${security.authoritiesCache.maxTtlInSeconds}") long maxTtlInSeconds) {
         this.idamService = idamService;
+        this.maxTtl = Duration.ofSeconds(maxTtlInSeconds);
+        this.authoritiesCache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfter(Expiry.<String, List<GrantedAuthority>>creating((key, value) -> maxTtl))
+            .recordStats()
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, authoritiesCache, "authoritiesCache");
     }
 
     @Override
@@ -31,11 +57,38 @@ public class IdamAuthoritiesConverter implements Converter<Jwt, Collection<Grant
 
         List<GrantedAuthority> authorities = new ArrayList<>();
         if (jwt.hasClaim(TOKEN_NAME) && jwt.getClaim(TOKEN_NAME).equals(ACCESS_TOKEN)) {
-            authorities.addAll(getUserRoles(jwt.getTokenValue()));
+            authorities.addAll(getCachedUserRoles(jwt));
         }
         return authorities;
     }
 
+    private List<GrantedAuthority> getCachedUserRoles(Jwt jwt) {
+
+        String key = sha256(jwt.getTokenValue());
+
+        List<GrantedAuthority> cached = authoritiesCache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        List<GrantedAuthority> userRoles = getUserRoles(jwt.getTokenValue());
+
+        // never outlive the token itself
+        Duration ttl = maxTtl;
+        if (jwt.getExpiresAt() != null) {
+            Duration untilExpiry = Duration.between(Instant.now(), jwt.getExpiresAt());
+            if (untilExpiry.compareTo(ttl) < 0) {
+                ttl = untilExpiry;
+            }
+        }
+
+        if (ttl.isPositive()) {
+            authoritiesCache.policy().expireVariably().orElseThrow().put(key, userRoles, ttl);
+        }
+
+        return userRoles;
+    }
+
     private List<GrantedAuthority> getUserRoles(String authorization) {
 
         try {
@@ -46,7 +99,7 @@ public class IdamAuthoritiesConverter implements Converter<Jwt, Collection<Grant
                 .getRoles()
                 .stream()
                 .map(SimpleGrantedAuthority::new)
-                .collect(Collectors.toList());
+                .collect(Collectors.toUnmodifiableList());
 
         } catch (FeignException e) {
             throw new IdentityManagerResponseException("Could not get user details from IDAM", e);
@@ -54,4 +107,14 @@ public class IdamAuthoritiesConverter implements Converter<Jwt, Collection<Grant
 
     }
 
+    private static String sha256(String token) {
+        try {
+            return HexFormat.of().formatHex(
+                MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8))
+            );
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
 }
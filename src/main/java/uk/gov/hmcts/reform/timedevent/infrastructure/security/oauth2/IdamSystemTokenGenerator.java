@@ -1,18 +1,36 @@
 package uk.gov.hmcts.reform.timedevent.infrastructure.security.oauth2;
 
 import feign.FeignException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Component;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import uk.gov.hmcts.reform.timedevent.infrastructure.clients.IdamApi;
 import uk.gov.hmcts.reform.timedevent.infrastructure.clients.model.idam.Token;
 import uk.gov.hmcts.reform.timedevent.infrastructure.security.SystemTokenGenerator;
+import uk.gov.hmcts.reform.timedevent.infrastructure.services.DateTimeProvider;
 
+// token is held in process and refreshed in background at tokenRefreshRatio of its lifetime,
+// callers only block when there is no unexpired token at all
+@Slf4j
 @Component
 public class IdamSystemTokenGenerator implements SystemTokenGenerator {
 
+    // used when IDAM does not return expires_in, same as the former cache TTL
+    private static final long DEFAULT_EXPIRES_IN_SECONDS = 1800;
+    // token is not handed out when it is about to expire in the middle of CCD start / submit
+    private static final Duration EXPIRY_MARGIN = Duration.ofSeconds(30);
+    private static final Duration RETRY_AFTER_FAILURE = Duration.ofSeconds(10);
+
     private final String systemUserName;
     private final String systemUserPass;
     private final String idamRedirectUrl;
@@ -20,6 +38,15 @@ public class IdamSystemTokenGenerator implements SystemTokenGenerator {
     private final String idamClientId;
     private final String idamClientSecret;
     private final IdamApi idamApi;
+    private final DateTimeProvider dateTimeProvider;
+    private final double tokenRefreshRatio;
+
+    private final Timer refreshTimer;
+    private final Counter refreshFailures;
+
+    private final Lock refreshLock = new ReentrantLock();
+    private final AtomicBoolean backgroundRefreshInFlight = new AtomicBoolean(false);
+    private volatile SystemToken current;
 
     public IdamSystemTokenGenerator(
         @Value("${idam.system.username}") String systemUserName,
@@ -28,7 +55,10 @@ public class IdamSystemTokenGenerator implements SystemTokenGenerator {
         @Value("${idam.system.scope}") String systemUserScope,
         @Value("${spring.security.oauth2.client.registration.oidc.client-id}") String idamClientId,
         @Value("${spring.security.oauth2.client.registration.oidc.client-secret}") String idamClientSecret,
-        IdamApi idamApi
+        IdamApi idamApi,
+        DateTimeProvider dateTimeProvider,
+        MeterRegistry meterRegistry,
+        @Value("${idam.system.tokenRefreshRatio}") double tokenRefreshRatio
     ) {
         this.systemUserName = systemUserName;
         this.systemUserPass = systemUserPass;
@@ -37,11 +67,71 @@ public class IdamSystemTokenGenerator implements SystemTokenGenerator {
         this.idamClientId = idamClientId;
         this.idamClientSecret = idamClientSecret;
         this.idamApi = idamApi;
+        this.dateTimeProvider = dateTimeProvider;
+        this.tokenRefreshRatio = tokenRefreshRatio;
+
+        this.refreshTimer = Timer.builder("idam.system.token.refresh")
+            .description("Time taken to obtain system user token from IDAM")
+            .register(meterRegistry);
+        this.refreshFailures = Counter.builder("idam.system.token.refresh.failures")
+            .description("Failed attempts to obtain system user token from IDAM")
+            .register(meterRegistry);
     }
 
     @Override
-    @Cacheable(value = "systemUserTokenCache", key = "'systemUserTokenCache'")
     public String generate() {
+
+        SystemToken token = current;
+        Instant now = now();
+
+        if (token == null || !now.isBefore(token.expiresAt())) {
+            return refreshNow().value();
+        }
+
+        if (!now.isBefore(token.refreshAt()) && backgroundRefreshInFlight.compareAndSet(false, true)) {
+            Thread.ofVirtual().name("system-token-refresh").start(this::refreshInBackground);
+        }
+
+        return token.value();
+    }
+
+    private SystemToken refreshNow() {
+
+        refreshLock.lock();
+        try {
+            // another caller may have refreshed it while this one was waiting for the lock
+            SystemToken token = current;
+            if (token != null && now().isBefore(token.expiresAt())) {
+                return token;
+            }
+
+            return fetch();
+
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void refreshInBackground() {
+
+        refreshLock.lock();
+        try {
+            fetch();
+        } catch (RuntimeException e) {
+            log.warn("Background refresh of system user token failed, current token is kept", e);
+
+            SystemToken token = current;
+            if (token != null) {
+                current = token.withRefreshAt(now().plus(RETRY_AFTER_FAILURE));
+            }
+        } finally {
+            refreshLock.unlock();
+            backgroundRefreshInFlight.set(false);
+        }
+    }
+
+    private SystemToken fetch() {
+
         MultiValueMap<String, String> map = new LinkedMultiValueMap<>();
         map.add("grant_type", "password");
         map.add("redirect_uri", idamRedirectUrl);
@@ -51,11 +141,44 @@ public class IdamSystemTokenGenerator implements SystemTokenGenerator {
         map.add("password", systemUserPass);
         map.add("scope", systemUserScope);
 
+        Timer.Sample sample = Timer.start();
         try {
             Token tokenResponse = idamApi.token(map);
-            return "Bearer " + tokenResponse.getAccessToken();
+            Instant issuedAt = now();
+
+            Duration lifetime = Duration.ofSeconds(
+                tokenResponse.getExpiresIn() > 0 ? tokenResponse.getExpiresIn() : DEFAULT_EXPIRES_IN_SECONDS
+            );
+            Duration refreshAfter = Duration.ofMillis((long) (lifetime.toMillis() * tokenRefreshRatio));
+            Duration usableFor = lifetime.compareTo(EXPIRY_MARGIN.multipliedBy(2)) > 0
+                ? lifetime.minus(EXPIRY_MARGIN)
+                : lifetime;
+
+            SystemToken token = new SystemToken(
+                "Bearer " + tokenResponse.getAccessToken(),
+                issuedAt.plus(refreshAfter),
+                issuedAt.plus(usableFor)
+            );
+            current = token;
+
+            return token;
+
         } catch (FeignException ex) {
+            refreshFailures.increment();
             throw new IdentityManagerResponseException("Could not get system user token from IDAM", ex);
+        } finally {
+            sample.stop(refreshTimer);
+        }
+    }
+
+    private Instant now() {
+        return dateTimeProvider.now().toInstant();
+    }
+
+    private record SystemToken(String value, Instant refreshAt, Instant expiresAt) {
+
+        SystemToken withRefreshAt(Instant refreshAt) {
+            return new SystemToken(value, refreshAt, expiresAt);
         }
     }
 }
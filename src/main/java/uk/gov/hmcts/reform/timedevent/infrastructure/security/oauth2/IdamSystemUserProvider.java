@@ -3,6 +3,7 @@ package uk.gov.hmcts.reform.timedevent.infrastructure.security.oauth2;
 import feign.FeignException;
 import org.springframework.stereotype.Component;
 import uk.gov.hmcts.reform.timedevent.domain.services.IdamService;
+import uk.gov.hmcts.reform.timedevent.infrastructure.clients.model.idam.UserInfo;
 import uk.gov.hmcts.reform.timedevent.infrastructure.security.SystemUserProvider;
 
 @Component
@@ -10,6 +11,10 @@ public class IdamSystemUserProvider implements SystemUserProvider {
 
     private final IdamService idamService;
 
+    // system user identity (uid and roles) is pinned to the token it was resolved with
+    // and resolved again only when the system token rotates
+    private volatile SystemUser systemUser;
+
     public IdamSystemUserProvider(IdamService idamService) {
         this.idamService = idamService;
     }
@@ -17,9 +22,17 @@ public class IdamSystemUserProvider implements SystemUserProvider {
     @Override
     public String getSystemUserId(String userToken) {
 
+        SystemUser pinned = systemUser;
+        if (pinned != null && pinned.token().equals(userToken)) {
+            return pinned.userInfo().getUid();
+        }
+
         try {
 
-            return idamService.getUserInfo(userToken).getUid();
+            UserInfo userInfo = idamService.getUserInfo(userToken);
+            systemUser = new SystemUser(userToken, userInfo);
+
+            return userInfo.getUid();
 
         } catch (FeignException ex) {
 
@@ -27,4 +40,7 @@ public class IdamSystemUserProvider implements SystemUserProvider {
         }
 
     }
+
+    private record SystemUser(String token, UserInfo userInfo) {
+    }
 }
@@ -0,0 +1,170 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.services;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import uk.gov.hmcts.reform.timedevent.domain.entities.EventExecution;
+import uk.gov.hmcts.reform.timedevent.domain.services.EventExecutor;
+import uk.gov.hmcts.reform.timedevent.infrastructure.services.exceptions.CaseLaneBusyException;
+
+// events of one case are executed one after another across all pods, so CCD start/submit pairs
+// of the same case do not interleave and fail with optimistic lock conflicts; different cases run in parallel;
+// an event of a busy case is not waited for, it is deferred like a rejected downstream call
+@Slf4j
+@Primary
+@Service
+@ConditionalOnProperty(name = "executionLanes.enabled", havingValue = "true")
+public class CaseLaneEventExecutor implements EventExecutor, DisposableBean {
+
+    private static final int QUERY_TIMEOUT_IN_SECONDS = 5;
+
+    private final EventExecutor delegate;
+    private final DataSource dataSource;
+    private final Counter busyCounter;
+
+    // cases executed on this pod, a busy case does not take a connection to find out
+    private final Set<Long> localLanes = ConcurrentHashMap.newKeySet();
+
+    public CaseLaneEventExecutor(
+        CcdEventExecutor delegate,
+        DataSourceProperties dataSourceProperties,
+        MeterRegistry meterRegistry,
+        @Value("${spring.quartz.properties.org.quartz.threadPool.threadCount}") int threadCount,
+        @Value("${executionLanes.connectionTimeoutInMillis}") long connectionTimeoutInMillis
+    ) {
+        this(delegate, lanePool(dataSourceProperties, threadCount, connectionTimeoutInMillis), meterRegistry);
+    }
+
+    CaseLaneEventExecutor(EventExecutor delegate, DataSource dataSource, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.dataSource = dataSource;
+        this.busyCounter = meterRegistry.counter("timed.event.lane.busy");
+    }
+
+    // one connection per scheduler thread, lanes never compete with the job store and API for the main pool
+    static HikariDataSource lanePool(DataSourceProperties dataSourceProperties,
+                                     int threadCount,
+                                     long connectionTimeoutInMillis) {
+
+        HikariDataSource lanePool = dataSourceProperties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .build();
+
+        lanePool.setPoolName("execution-lanes");
+        lanePool.setMaximumPoolSize(threadCount);
+        lanePool.setMinimumIdle(0);
+        lanePool.setConnectionTimeout(connectionTimeoutInMillis);
+        lanePool.setAutoCommit(false);
+
+        return lanePool;
+    }
+
+    @Override
+    public void execute(EventExecution execution) {
+
+        long caseId = execution.getCaseId();
+
+        if (!localLanes.add(caseId)) {
+            throw busy(caseId);
+        }
+
+        try {
+
+            Connection connection = connection(caseId);
+            if (connection == null) {
+                delegate.execute(execution);
+                return;
+            }
+
+            try (connection) {
+                try {
+                    if (!tryLock(connection, caseId)) {
+                        throw busy(caseId);
+                    }
+
+                    delegate.execute(execution);
+                } finally {
+                    // transaction level lock is released with the transaction
+                    release(connection, caseId);
+                }
+            } catch (SQLException e) {
+                log.warn("Execution lane connection could not be closed for case id: {}", caseId, e);
+            }
+
+        } finally {
+            localLanes.remove(caseId);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (dataSource instanceof HikariDataSource lanePool) {
+            lanePool.close();
+        }
+    }
+
+    private CaseLaneBusyException busy(long caseId) {
+        busyCounter.increment();
+        return new CaseLaneBusyException("Execution lane is busy for case id: " + caseId);
+    }
+
+    private Connection connection(long caseId) {
+
+        try {
+            return dataSource.getConnection();
+        } catch (SQLException e) {
+            log.warn("Execution lane connection unavailable for case id: {}, executing without lane", caseId, e);
+            return null;
+        }
+    }
+
+    private boolean tryLock(Connection connection, long caseId) {
+
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_try_advisory_xact_lock(?)")) {
+            statement.setLong(1, caseId);
+            statement.setQueryTimeout(QUERY_TIMEOUT_IN_SECONDS);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        } catch (SQLException e) {
+            // executing unserialized only risks the version conflict this lane prevents, which is then retried
+            log.warn("Execution lane could not be taken for case id: {}, executing without lane", caseId, e);
+            return true;
+        }
+    }
+
+    private void release(Connection connection, long caseId) {
+
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            // do not hand a connection that may still hold the lock back to the pool
+            log.error("Execution lane could not be released for case id: {}", caseId, e);
+            abort(connection);
+        }
+    }
+
+    private void abort(Connection connection) {
+
+        try {
+            connection.abort(Runnable::run);
+        } catch (SQLException e) {
+            log.error("Execution lane connection could not be aborted", e);
+        }
+    }
+}
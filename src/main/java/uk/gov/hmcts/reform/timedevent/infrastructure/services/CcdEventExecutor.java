@@ -1,9 +1,10 @@
 package uk.gov.hmcts.reform.timedevent.infrastructure.services;
 
+import feign.FeignException;
 import java.util.Collections;
+import java.util.Optional;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import uk.gov.hmcts.reform.authorisation.generators.AuthTokenGenerator;
 import uk.gov.hmcts.reform.timedevent.infrastructure.clients.CcdApi;
 import uk.gov.hmcts.reform.timedevent.infrastructure.clients.model.ccd.CaseDataContent;
 import uk.gov.hmcts.reform.timedevent.infrastructure.clients.model.ccd.CaseDetails;
@@ -11,60 +12,70 @@ import uk.gov.hmcts.reform.timedevent.infrastructure.clients.model.ccd.Event;
 import uk.gov.hmcts.reform.timedevent.infrastructure.clients.model.ccd.StartEventTrigger;
 import uk.gov.hmcts.reform.timedevent.domain.entities.EventExecution;
 import uk.gov.hmcts.reform.timedevent.domain.services.EventExecutor;
-import uk.gov.hmcts.reform.timedevent.infrastructure.security.SystemTokenGenerator;
-import uk.gov.hmcts.reform.timedevent.infrastructure.security.SystemUserProvider;
-import uk.gov.hmcts.reform.timedevent.infrastructure.security.oauth2.IdentityManagerResponseException;
+import uk.gov.hmcts.reform.timedevent.infrastructure.resilience.AdaptiveConcurrencyLimiter;
+import uk.gov.hmcts.reform.timedevent.infrastructure.security.ExecutionCredentials;
+import uk.gov.hmcts.reform.timedevent.infrastructure.security.ExecutionCredentialsProvider;
 
 @Slf4j
 @Service
 public class CcdEventExecutor implements EventExecutor {
 
-    private final SystemTokenGenerator systemTokenGenerator;
+    private final ExecutionCredentialsProvider executionCredentialsProvider;
 
-    private final SystemUserProvider systemUserProvider;
+    private final CcdApi ccdApi;
 
-    private final AuthTokenGenerator s2sAuthTokenGenerator;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
 
-    private final CcdApi ccdApi;
+    private final StartEventPrefetcher startEventPrefetcher;
 
     public CcdEventExecutor(
-        SystemTokenGenerator systemTokenGenerator,
-        SystemUserProvider systemUserProvider,
-        AuthTokenGenerator s2sAuthTokenGenerator,
-        CcdApi ccdApi
+        ExecutionCredentialsProvider executionCredentialsProvider,
+        CcdApi ccdApi,
+        AdaptiveConcurrencyLimiter concurrencyLimiter,
+        StartEventPrefetcher startEventPrefetcher
     ) {
-        this.systemTokenGenerator = systemTokenGenerator;
-        this.systemUserProvider = systemUserProvider;
-        this.s2sAuthTokenGenerator = s2sAuthTokenGenerator;
+        this.executionCredentialsProvider = executionCredentialsProvider;
         this.ccdApi = ccdApi;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.startEventPrefetcher = startEventPrefetcher;
     }
 
     @Override
     public void execute(EventExecution execution) {
 
-        String event = execution.getEvent().toString();
-        String caseId = String.valueOf(execution.getCaseId());
-        String jurisdiction = execution.getJurisdiction();
-        String caseType = execution.getCaseType();
+        log.info(
+            "Execution event: {}, for case id: {} has been started.",
+            execution.getEvent().toString(),
+            execution.getCaseId()
+        );
 
-        log.info("Execution event: {}, for case id: {} has been started.", event, caseId);
+        ExecutionCredentials credentials = executionCredentialsProvider.get();
+        String userToken = credentials.userToken();
+        String s2sToken = credentials.s2sToken();
+        String uid = credentials.uid();
 
-        String userToken;
-        String s2sToken;
-        String uid;
-        try {
-            userToken = systemTokenGenerator.generate();
-            log.info("System user token has been generated for event: {}, caseId: {}.", event, caseId);
+        // in-flight CCD start / submit pairs are limited by observed CCD latency and errors
+        concurrencyLimiter.execute(() -> submit(execution, userToken, s2sToken, uid));
+    }
 
-            // returned token is already with Bearer prefix
-            s2sToken = s2sAuthTokenGenerator.generate();
-            log.info("S2S token has been generated for event: {}, caseId: {}.", event, caseId);
+    private void submit(EventExecution execution, String userToken, String s2sToken, String uid) {
 
-            uid = systemUserProvider.getSystemUserId(userToken);
-            log.info("System user id has been fetched for event: {}, caseId: {}.", event, caseId);
+        String event = execution.getEvent().toString();
+        String caseId = String.valueOf(execution.getCaseId());
+        String jurisdiction = execution.getJurisdiction();
+        String caseType = execution.getCaseType();
 
-        } catch (Exception e) {
-            throw new IdentityManagerResponseException(e.getMessage(), e);
+        Optional<String> prefetchedToken = startEventPrefetcher.take(execution);
+        if (prefetchedToken.isPresent()) {
+            try {
+                submit(execution, userToken, s2sToken, uid, prefetchedToken.get());
+                return;
+            } catch (FeignException e) {
+                if (!StartEventPrefetcher.isStale(e)) {
+                    throw e;
+                }
+                startEventPrefetcher.onStaleToken(execution);
+            }
         }
 
         StartEventTrigger startEventResponse = ccdApi.startEvent(
@@ -84,16 +95,24 @@ public class CcdEventExecutor implements EventExecutor {
             startEventResponse.getToken()
         );
 
+        submit(execution, userToken, s2sToken, uid, startEventResponse.getToken());
+    }
+
+    private void submit(EventExecution execution, String userToken, String s2sToken, String uid, String eventToken) {
+
+        String event = execution.getEvent().toString();
+        String caseId = String.valueOf(execution.getCaseId());
+
         CaseDetails caseDetails = ccdApi.submitEvent(
             userToken,
             s2sToken,
             uid,
-            jurisdiction,
-            caseType,
+            execution.getJurisdiction(),
+            execution.getCaseType(),
             caseId,
             new CaseDataContent(
                 new Event(event, event, event),
-                startEventResponse.getToken(),
+                eventToken,
                 true,
                 Collections.emptyMap()
             )
@@ -0,0 +1,163 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.services;
+
+import static java.time.ZoneOffset.UTC;
+
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.quartz.utils.Key;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.timedevent.domain.entities.TimedEvent;
+import uk.gov.hmcts.reform.timedevent.domain.entities.TimedEventState;
+import uk.gov.hmcts.reform.timedevent.domain.entities.ccd.Event;
+import uk.gov.hmcts.reform.timedevent.domain.services.TimedEventRepository;
+
+// timed_event table is a case indexed copy of scheduled triggers, Quartz tables remain the source of truth
+@Component
+public class JdbcTimedEventRepository implements TimedEventRepository {
+
+    private static final RowMapper<TimedEvent> TIMED_EVENT_MAPPER = (rs, rowNum) -> new TimedEvent(
+        rs.getString("id"),
+        Event.fromString(rs.getString("event")),
+        rs.getObject("scheduled_at", OffsetDateTime.class).atZoneSameInstant(UTC),
+        rs.getString("jurisdiction"),
+        rs.getString("case_type"),
+        rs.getLong("case_id")
+    );
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final String schedName;
+
+    private final String update;
+    private final String insert;
+    private final String updateState;
+    private final String delete;
+    private final String selectByCaseIdAndState;
+    private final String lockTriggerAccess;
+    private final String selectPendingInWindow;
+
+    public JdbcTimedEventRepository(NamedParameterJdbcTemplate jdbcTemplate,
+                                    @Value("${database.tablePrefix}") String tablePrefix,
+                                    @Value("${spring.quartz.properties.org.quartz.scheduler.instanceName}") String schedName) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.schedName = schedName;
+
+        String table = tablePrefix + "timed_event";
+
+        this.update = "UPDATE " + table + " SET case_id = :caseId, jurisdiction = :jurisdiction, case_type = :caseType,"
+                      + " event = :event, scheduled_at = :scheduledAt, state = :state WHERE id = :id";
+        this.insert = "INSERT INTO " + table + " (id, case_id, jurisdiction, case_type, event, scheduled_at, state, attempts)"
+                      + " VALUES (:id, :caseId, :jurisdiction, :caseType, :event, :scheduledAt, :state, 0)";
+        this.updateState = "UPDATE " + table + " SET state = :state, attempts = :attempts WHERE id = :id";
+        this.delete = "DELETE FROM " + table + " WHERE id = :id";
+        this.selectByCaseIdAndState = "SELECT id, case_id, jurisdiction, case_type, event, scheduled_at FROM " + table
+                                      + " WHERE case_id = :caseId AND state = :state ORDER BY scheduled_at";
+        // the same row lock Quartz takes in scheduleJob, so taking it first adds no contention and keeps lock order
+        this.lockTriggerAccess = "SELECT LOCK_NAME FROM " + tablePrefix + "QRTZ_LOCKS"
+                                 + " WHERE SCHED_NAME = :schedName AND LOCK_NAME = 'TRIGGER_ACCESS' FOR UPDATE";
+        // state stays SCHEDULED until the job has been executed, so only triggers no node has acquired yet are pending
+        this.selectPendingInWindow = "SELECT e.id, e.case_id, e.jurisdiction, e.case_type, e.event, e.scheduled_at"
+                                     + " FROM " + table + " e JOIN " + tablePrefix + "QRTZ_TRIGGERS t"
+                                     + " ON t.SCHED_NAME = :schedName AND t.TRIGGER_NAME = e.id"
+                                     + " AND t.TRIGGER_GROUP = :group"
+                                     + " WHERE e.case_id = :caseId AND e.state = :state AND e.event = :event"
+                                     + " AND e.scheduled_at >= :from AND e.scheduled_at < :to"
+                                     + " AND t.TRIGGER_STATE = 'WAITING' ORDER BY e.scheduled_at";
+    }
+
+    @Override
+    public void saveAll(List<TimedEvent> timedEvents) {
+
+        // the last one wins when the same id is given more than once
+        Map<String, MapSqlParameterSource> rows = new LinkedHashMap<>();
+        for (TimedEvent timedEvent : timedEvents) {
+            rows.put(timedEvent.getId(), row(timedEvent));
+        }
+
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        MapSqlParameterSource[] batch = rows.values().toArray(MapSqlParameterSource[]::new);
+        int[] updated = jdbcTemplate.batchUpdate(update, batch);
+
+        List<MapSqlParameterSource> missing = new ArrayList<>();
+        for (int i = 0; i < batch.length; i++) {
+            if (updated[i] == 0) {
+                missing.add(batch[i]);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(insert, missing.toArray(MapSqlParameterSource[]::new));
+        }
+    }
+
+    @Override
+    public void updateState(String id, TimedEventState state, long attempts) {
+
+        jdbcTemplate.update(
+            updateState,
+            new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("state", state.name())
+                .addValue("attempts", attempts)
+        );
+    }
+
+    @Override
+    public void delete(String id) {
+
+        jdbcTemplate.update(delete, new MapSqlParameterSource("id", id));
+    }
+
+    @Override
+    public List<TimedEvent> findByCaseIdAndState(long caseId, TimedEventState state) {
+
+        return jdbcTemplate.query(
+            selectByCaseIdAndState,
+            new MapSqlParameterSource()
+                .addValue("caseId", caseId)
+                .addValue("state", state.name()),
+            TIMED_EVENT_MAPPER
+        );
+    }
+
+    @Override
+    public List<TimedEvent> lockPending(long caseId, Event event, ZonedDateTime from, ZonedDateTime to) {
+
+        jdbcTemplate.queryForList(lockTriggerAccess, new MapSqlParameterSource("schedName", schedName), String.class);
+
+        return jdbcTemplate.query(
+            selectPendingInWindow,
+            new MapSqlParameterSource()
+                .addValue("schedName", schedName)
+                .addValue("group", Key.DEFAULT_GROUP)
+                .addValue("caseId", caseId)
+                .addValue("state", TimedEventState.SCHEDULED.name())
+                .addValue("event", event.toString())
+                .addValue("from", from.toOffsetDateTime())
+                .addValue("to", to.toOffsetDateTime()),
+            TIMED_EVENT_MAPPER
+        );
+    }
+
+    private MapSqlParameterSource row(TimedEvent timedEvent) {
+
+        return new MapSqlParameterSource()
+            .addValue("id", timedEvent.getId())
+            .addValue("caseId", timedEvent.getCaseId())
+            .addValue("jurisdiction", timedEvent.getJurisdiction())
+            .addValue("caseType", timedEvent.getCaseType())
+            .addValue("event", timedEvent.getEvent().toString())
+            .addValue("scheduledAt", timedEvent.getScheduledDateTime().toOffsetDateTime())
+            .addValue("state", TimedEventState.SCHEDULED.name());
+    }
+}
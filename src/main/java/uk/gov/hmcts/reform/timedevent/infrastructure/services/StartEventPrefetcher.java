@@ -0,0 +1,258 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.services;
+
+import feign.FeignException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.JobDataMap;
+import org.quartz.spi.OperableTrigger;
+import org.quartz.utils.Key;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.timedevent.domain.entities.EventExecution;
+import uk.gov.hmcts.reform.timedevent.domain.entities.ccd.Event;
+import uk.gov.hmcts.reform.timedevent.infrastructure.clients.CcdApi;
+import uk.gov.hmcts.reform.timedevent.infrastructure.resilience.AdaptiveConcurrencyLimiter;
+import uk.gov.hmcts.reform.timedevent.infrastructure.security.ExecutionCredentials;
+import uk.gov.hmcts.reform.timedevent.infrastructure.security.ExecutionCredentialsProvider;
+import uk.gov.hmcts.reform.timedevent.infrastructure.services.quartz.PrefetchingJobStore;
+
+// CCD start event tokens of acquired triggers are fetched concurrently leadTime before the fire time,
+// so the job only submits the event; missing, failed or old tokens fall back to start / submit pair
+// tokens are fetched outside of the case lane and may be fetched again (re-acquired triggers, stale tokens,
+// other nodes), so only events listed as having no about_to_start callback are prefetched
+@Slf4j
+@Component
+public class StartEventPrefetcher implements DisposableBean {
+
+    private final ExecutionCredentialsProvider executionCredentialsProvider;
+    private final CcdApi ccdApi;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final boolean enabled;
+    private final Set<Event> events;
+    private final long leadTimeInMillis;
+    private final long maxAgeInMillis;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter stale;
+
+    private final ExecutorService executor =
+        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("start-event-prefetch-", 1).factory());
+    private final ConcurrentMap<PrefetchKey, Prefetch> prefetched = new ConcurrentHashMap<>();
+
+    public StartEventPrefetcher(
+        ExecutionCredentialsProvider executionCredentialsProvider,
+        CcdApi ccdApi,
+        AdaptiveConcurrencyLimiter concurrencyLimiter,
+        MeterRegistry meterRegistry,
+        @Value("${startEventPrefetch.enabled}") boolean enabled,
+        @Value("${startEventPrefetch.leadTimeInMillis}") long leadTimeInMillis,
+        @Value("${startEventPrefetch.maxAgeInSeconds}") long maxAgeInSeconds,
+        @Value("${startEventPrefetch.events}") List<String> events
+    ) {
+        this.executionCredentialsProvider = executionCredentialsProvider;
+        this.ccdApi = ccdApi;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.enabled = enabled;
+        this.events = events.stream()
+            .filter(event -> !event.isBlank())
+            .map(event -> Event.fromString(event.trim()))
+            .collect(Collectors.toCollection(() -> EnumSet.noneOf(Event.class)));
+        this.leadTimeInMillis = leadTimeInMillis;
+        this.maxAgeInMillis = TimeUnit.SECONDS.toMillis(maxAgeInSeconds);
+        this.hits = prefetchCounter(meterRegistry, "hit");
+        this.misses = prefetchCounter(meterRegistry, "miss");
+        this.stale = prefetchCounter(meterRegistry, "stale");
+
+        if (enabled) {
+            PrefetchingJobStore.setAcquisitionListener(this::prefetch);
+        }
+    }
+
+    void prefetch(List<OperableTrigger> triggers) {
+
+        long now = System.currentTimeMillis();
+        evictExpired(now);
+
+        Set<Long> cases = new HashSet<>();
+
+        for (OperableTrigger trigger : triggers) {
+
+            EventExecution execution = execution(trigger);
+            if (execution == null) {
+                continue;
+            }
+
+            // token of the next event of the same case would be stale once the first one is submitted
+            if (!cases.add(execution.getCaseId()) || !events.contains(execution.getEvent())) {
+                continue;
+            }
+
+            long fireAt = trigger.getNextFireTime().getTime();
+
+            // trigger released and acquired again keeps its token, start event is not called twice
+            Prefetch existing = prefetched.get(key(execution));
+            if (existing != null && existing.fireAt() == fireAt && !existing.token().isCompletedExceptionally()) {
+                continue;
+            }
+            long delay = Math.max(0, fireAt - leadTimeInMillis - now);
+
+            CompletableFuture<PrefetchedToken> token = CompletableFuture.supplyAsync(
+                () -> startEvent(execution),
+                CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS, executor)
+            );
+
+            Prefetch previous = prefetched.put(key(execution), new Prefetch(token, fireAt, fireAt + maxAgeInMillis));
+            if (previous != null) {
+                previous.token().cancel(false);
+            }
+        }
+    }
+
+    public Optional<String> take(EventExecution execution) {
+
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        Prefetch prefetch = prefetched.remove(key(execution));
+
+        // a token still in flight is not waited for, sequential path is not slower than that
+        if (prefetch == null || !prefetch.token().isDone() || prefetch.token().isCompletedExceptionally()) {
+            if (prefetch != null) {
+                prefetch.token().cancel(false);
+            }
+            misses.increment();
+            return Optional.empty();
+        }
+
+        PrefetchedToken token = prefetch.token().join();
+
+        if (System.currentTimeMillis() - token.fetchedAt() > maxAgeInMillis) {
+            misses.increment();
+            return Optional.empty();
+        }
+
+        hits.increment();
+        return Optional.of(token.value());
+    }
+
+    boolean isReady(EventExecution execution) {
+        Prefetch prefetch = prefetched.get(key(execution));
+        return prefetch != null && prefetch.token().isDone();
+    }
+
+    public void onStaleToken(EventExecution execution) {
+
+        log.info(
+            "Prefetched token for event: {}, for case id: {} has been rejected, starting event again",
+            execution.getEvent().toString(),
+            execution.getCaseId()
+        );
+
+        stale.increment();
+    }
+
+    // CCD rejects tokens issued for an older case version (409) and tokens it can not validate anymore (422)
+    public static boolean isStale(FeignException e) {
+        return e.status() == 409 || e.status() == 422;
+    }
+
+    @Override
+    public void destroy() {
+
+        if (enabled) {
+            PrefetchingJobStore.setAcquisitionListener(null);
+        }
+
+        executor.shutdownNow();
+    }
+
+    private PrefetchedToken startEvent(EventExecution execution) {
+
+        ExecutionCredentials credentials = executionCredentialsProvider.get();
+        AtomicReference<String> token = new AtomicReference<>();
+
+        concurrencyLimiter.execute(() -> token.set(
+            ccdApi.startEvent(
+                credentials.userToken(),
+                credentials.s2sToken(),
+                credentials.uid(),
+                execution.getJurisdiction(),
+                execution.getCaseType(),
+                String.valueOf(execution.getCaseId()),
+                execution.getEvent().toString()
+            ).getToken()
+        ));
+
+        return new PrefetchedToken(token.get(), System.currentTimeMillis());
+    }
+
+    // triggers released back by Quartz (e.g. on standby) are never taken
+    private void evictExpired(long now) {
+
+        prefetched.entrySet().removeIf(entry -> {
+            if (entry.getValue().expiresAt() < now) {
+                entry.getValue().token().cancel(false);
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private static EventExecution execution(OperableTrigger trigger) {
+
+        // maintenance jobs are not timed events
+        if (!Key.DEFAULT_GROUP.equals(trigger.getKey().getGroup()) || trigger.getNextFireTime() == null) {
+            return null;
+        }
+
+        JobDataMap data = trigger.getJobDataMap();
+
+        try {
+            return new EventExecution(
+                Event.fromString(data.getString("event")),
+                data.getString("jurisdiction"),
+                data.getString("caseType"),
+                Long.parseLong(data.getString("caseId"))
+            );
+        } catch (RuntimeException e) {
+            log.warn("Start event can not be prefetched for trigger: {}", trigger.getKey(), e);
+            return null;
+        }
+    }
+
+    private static PrefetchKey key(EventExecution execution) {
+        return new PrefetchKey(execution.getCaseId(), execution.getEvent());
+    }
+
+    private static Counter prefetchCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("timed.event.prefetch")
+            .description("Executions by prefetched start event token result")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    private record PrefetchKey(long caseId, Event event) {
+    }
+
+    private record PrefetchedToken(String value, long fetchedAt) {
+    }
+
+    private record Prefetch(CompletableFuture<PrefetchedToken> token, long fireAt, long expiresAt) {
+    }
+}
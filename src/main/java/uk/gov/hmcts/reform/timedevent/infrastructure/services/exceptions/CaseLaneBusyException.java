@@ -0,0 +1,8 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.services.exceptions;
+
+public class CaseLaneBusyException extends RuntimeException {
+
+    public CaseLaneBusyException(String message) {
+        super(message);
+    }
+}
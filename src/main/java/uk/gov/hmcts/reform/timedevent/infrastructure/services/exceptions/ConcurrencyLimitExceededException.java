@@ -0,0 +1,8 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.services.exceptions;
+
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+    public ConcurrencyLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.services.exceptions;
+
+import org.quartz.JobExecutionException;
+
+// execution has not been attempted, because a downstream is known to be unavailable
+public class DeferredExecutionException extends JobExecutionException {
+}
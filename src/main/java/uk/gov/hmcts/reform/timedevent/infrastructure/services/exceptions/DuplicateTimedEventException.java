@@ -0,0 +1,14 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.services.exceptions;
+
+import lombok.Getter;
+
+@Getter
+public class DuplicateTimedEventException extends RuntimeException {
+
+    private final String existingId;
+
+    public DuplicateTimedEventException(String existingId) {
+        super("Timed event already scheduled with id: " + existingId);
+        this.existingId = existingId;
+    }
+}
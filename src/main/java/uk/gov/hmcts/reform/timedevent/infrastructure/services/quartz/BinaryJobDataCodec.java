@@ -0,0 +1,133 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.services.quartz;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.util.HashMap;
+import java.util.Map;
+
+// versioned, fixed layout encoding of JobDataMap:
+// [magic 'T' 'E'][version][entries count: short]([key: UTF][type: byte][value])*
+// Java serialization stream always starts with 0xACED, so both formats can live in the same column
+public class BinaryJobDataCodec implements JobDataCodec {
+
+    static final byte[] MAGIC = {'T', 'E'};
+    static final byte VERSION = 1;
+
+    private static final byte TYPE_NULL = 'N';
+    private static final byte TYPE_STRING = 'S';
+    private static final byte TYPE_LONG = 'L';
+    private static final byte TYPE_INTEGER = 'I';
+    private static final byte TYPE_BOOLEAN = 'B';
+
+    private static final int MAX_ENTRIES = 0xFFFF;
+
+    @Override
+    public byte[] encode(Map<?, ?> data) {
+
+        if (data.size() > MAX_ENTRIES) {
+            return null;
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 + data.size() * 24);
+
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+
+            out.write(MAGIC);
+            out.writeByte(VERSION);
+            out.writeShort(data.size());
+
+            for (Map.Entry<?, ?> entry : data.entrySet()) {
+
+                if (!(entry.getKey() instanceof String key)) {
+                    return null;
+                }
+
+                out.writeUTF(key);
+
+                if (!writeValue(out, entry.getValue())) {
+                    return null;
+                }
+            }
+
+        } catch (UTFDataFormatException e) {
+            // string longer than 64KB - let Java serialization handle it
+            return null;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not encode job data", e);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public boolean canDecode(byte[] bytes) {
+        return bytes != null
+               && bytes.length >= MAGIC.length + 1
+               && bytes[0] == MAGIC[0]
+               && bytes[1] == MAGIC[1];
+    }
+
+    @Override
+    public Map<String, Object> decode(byte[] bytes) throws IOException {
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+
+            in.skipBytes(MAGIC.length);
+
+            byte version = in.readByte();
+            if (version != VERSION) {
+                throw new IOException("Unsupported job data version: " + version);
+            }
+
+            int size = in.readUnsignedShort();
+            Map<String, Object> data = new HashMap<>(Math.max(16, size * 2));
+
+            for (int i = 0; i < size; i++) {
+                data.put(in.readUTF(), readValue(in));
+            }
+
+            return data;
+        }
+    }
+
+    private boolean writeValue(DataOutputStream out, Object value) throws IOException {
+
+        if (value == null) {
+            out.writeByte(TYPE_NULL);
+        } else if (value instanceof String string) {
+            out.writeByte(TYPE_STRING);
+            out.writeUTF(string);
+        } else if (value instanceof Long number) {
+            out.writeByte(TYPE_LONG);
+            out.writeLong(number);
+        } else if (value instanceof Integer number) {
+            out.writeByte(TYPE_INTEGER);
+            out.writeInt(number);
+        } else if (value instanceof Boolean bool) {
+            out.writeByte(TYPE_BOOLEAN);
+            out.writeBoolean(bool);
+        } else {
+            return false;
+        }
+
+        return true;
+    }
+
+    private Object readValue(DataInputStream in) throws IOException {
+
+        byte type = in.readByte();
+
+        return switch (type) {
+            case TYPE_NULL -> null;
+            case TYPE_STRING -> in.readUTF();
+            case TYPE_LONG -> in.readLong();
+            case TYPE_INTEGER -> in.readInt();
+            case TYPE_BOOLEAN -> in.readBoolean();
+            default -> throw new IOException("Unsupported job data value type: " + type);
+        };
+    }
+}
@@ -0,0 +1,49 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.services.quartz;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.timedevent.infrastructure.resilience.DownstreamResilience;
+
+// this node stops acquiring triggers while CCD or IDAM circuit is open and resumes when it is half open again,
+// due triggers stay in the job store for other nodes or are picked up as misfires later
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "resilience.schedulerStandby.enabled", havingValue = "true")
+public class CircuitBreakerSchedulerStandby {
+
+    private final Scheduler quartzScheduler;
+    private final DownstreamResilience downstreamResilience;
+
+    // scheduler is only started again when it has been put on standby here
+    private final AtomicBoolean onStandby = new AtomicBoolean(false);
+
+    public CircuitBreakerSchedulerStandby(Scheduler quartzScheduler, DownstreamResilience downstreamResilience) {
+        this.quartzScheduler = quartzScheduler;
+        this.downstreamResilience = downstreamResilience;
+
+        downstreamResilience.onExecutionCircuitTransition(this::update);
+    }
+
+    synchronized void update() {
+
+        try {
+
+            if (!downstreamResilience.isExecutionPermitted()) {
+                if (onStandby.compareAndSet(false, true)) {
+                    quartzScheduler.standby();
+                    log.warn("Scheduler has been put on standby, downstream circuit is open");
+                }
+            } else if (onStandby.compareAndSet(true, false)) {
+                quartzScheduler.start();
+                log.info("Scheduler has been started again, downstream circuit is no longer open");
+            }
+
+        } catch (SchedulerException e) {
+            log.error("Scheduler state could not be changed after downstream circuit transition", e);
+        }
+    }
+}
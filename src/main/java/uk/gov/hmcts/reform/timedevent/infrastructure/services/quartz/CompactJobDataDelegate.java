@@ -0,0 +1,175 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.services.quartz;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import org.quartz.JobDataMap;
+import org.quartz.TriggerKey;
+import org.quartz.impl.jdbcjobstore.NoSuchDelegateException;
+import org.quartz.impl.jdbcjobstore.PostgreSQLDelegate;
+import org.quartz.spi.ClassLoadHelper;
+import org.slf4j.Logger;
+
+// configured as org.quartz.jobStore.driverDelegateClass
+// it reads JOB_DATA written with compact codec or Java serialization; it writes compact codec only with
+// compactWrites=true in org.quartz.jobStore.driverDelegateInitString, as pods without this delegate
+// cannot read such rows and set their triggers to ERROR - enable once no such pod is clustered with this one
+// trigger acquisition and misfire queries are rewritten to match IDX_QRTZ_T_NFT_WAITING partial index (V1.0.4):
+// - state is inlined, so the index predicate can be proven also for generic (cached) plans
+// - fire times are bound as bigint, stock delegate binds numeric which prevents index range scans on NEXT_FIRE_TIME
+public class CompactJobDataDelegate extends PostgreSQLDelegate {
+
+    static final String SELECT_WAITING_TRIGGERS_TO_ACQUIRE =
+        "SELECT TRIGGER_NAME, TRIGGER_GROUP, NEXT_FIRE_TIME, PRIORITY FROM {0}TRIGGERS"
+        + " WHERE SCHED_NAME = {1} AND TRIGGER_STATE = '" + STATE_WAITING + "' AND NEXT_FIRE_TIME <= ?"
+        + " AND (MISFIRE_INSTR = -1 OR (MISFIRE_INSTR != -1 AND NEXT_FIRE_TIME >= ?))"
+        + " ORDER BY NEXT_FIRE_TIME ASC, PRIORITY DESC LIMIT ?";
+
+    static final String SELECT_MISFIRED_WAITING_TRIGGERS =
+        "SELECT TRIGGER_NAME, TRIGGER_GROUP FROM {0}TRIGGERS"
+        + " WHERE SCHED_NAME = {1} AND TRIGGER_STATE = '" + STATE_WAITING + "' AND NOT (MISFIRE_INSTR = -1) AND NEXT_FIRE_TIME < ?"
+        + " ORDER BY NEXT_FIRE_TIME ASC, PRIORITY DESC LIMIT ?";
+
+    static final String COUNT_MISFIRED_WAITING_TRIGGERS =
+        "SELECT COUNT(TRIGGER_NAME) FROM {0}TRIGGERS"
+        + " WHERE SCHED_NAME = {1} AND TRIGGER_STATE = '" + STATE_WAITING + "' AND NOT (MISFIRE_INSTR = -1) AND NEXT_FIRE_TIME < ?";
+
+    static final String COMPACT_WRITES = "compactWrites";
+
+    private final JobDataCodec codec = new BinaryJobDataCodec();
+
+    private boolean compactWrites;
+
+    @Override
+    public void initialize(Logger logger,
+                           String tablePrefix,
+                           String schedName,
+                           String instanceId,
+                           ClassLoadHelper classLoadHelper,
+                           boolean useProperties,
+                           String initString) throws NoSuchDelegateException {
+
+        // stock delegate rejects settings it does not know
+        List<String> settings = new ArrayList<>();
+        if (initString != null) {
+            for (String setting : initString.split("\\|")) {
+                if (setting.trim().startsWith(COMPACT_WRITES + "=")) {
+                    compactWrites = Boolean.parseBoolean(setting.substring(setting.indexOf('=') + 1).trim());
+                } else {
+                    settings.add(setting);
+                }
+            }
+        }
+
+        super.initialize(
+            logger,
+            tablePrefix,
+            schedName,
+            instanceId,
+            classLoadHelper,
+            useProperties,
+            settings.isEmpty() ? null : String.join("|", settings)
+        );
+    }
+
+    @Override
+    public List<TriggerKey> selectTriggerToAcquire(Connection conn, long noLaterThan, long noEarlierThan, int maxCount)
+        throws SQLException {
+
+        int limit = Math.max(maxCount, 1);
+
+        try (PreparedStatement ps = conn.prepareStatement(rtp(SELECT_WAITING_TRIGGERS_TO_ACQUIRE))) {
+
+            ps.setFetchSize(limit);
+            ps.setLong(1, noLaterThan);
+            ps.setLong(2, noEarlierThan);
+            ps.setInt(3, limit);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                List<TriggerKey> nextTriggers = new ArrayList<>(limit);
+                while (rs.next()) {
+                    nextTriggers.add(new TriggerKey(rs.getString(COL_TRIGGER_NAME), rs.getString(COL_TRIGGER_GROUP)));
+                }
+                return nextTriggers;
+            }
+        }
+    }
+
+    @Override
+    public boolean hasMisfiredTriggersInState(Connection conn, String state1, long ts, int count, List<TriggerKey> resultList)
+        throws SQLException {
+
+        if (!STATE_WAITING.equals(state1)) {
+            return super.hasMisfiredTriggersInState(conn, state1, ts, count, resultList);
+        }
+
+        try (PreparedStatement ps = conn.prepareStatement(rtp(SELECT_MISFIRED_WAITING_TRIGGERS))) {
+
+            ps.setLong(1, ts);
+            if (count < 0) {
+                // no limit when recovering on startup
+                ps.setNull(2, Types.INTEGER);
+            } else {
+                // one extra row tells the caller there are more misfires than it asked for
+                ps.setInt(2, count + 1);
+            }
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    if (resultList.size() == count) {
+                        return true;
+                    }
+                    resultList.add(new TriggerKey(rs.getString(COL_TRIGGER_NAME), rs.getString(COL_TRIGGER_GROUP)));
+                }
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public int countMisfiredTriggersInState(Connection conn, String state1, long ts) throws SQLException {
+
+        if (!STATE_WAITING.equals(state1)) {
+            return super.countMisfiredTriggersInState(conn, state1, ts);
+        }
+
+        try (PreparedStatement ps = conn.prepareStatement(rtp(COUNT_MISFIRED_WAITING_TRIGGERS))) {
+
+            ps.setLong(1, ts);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+
+    @Override
+    protected ByteArrayOutputStream serializeJobData(JobDataMap data) throws IOException {
+
+        if (!compactWrites || canUseProperties() || data == null) {
+            return super.serializeJobData(data);
+        }
+
+        byte[] encoded = codec.encode(data);
+        if (encoded == null) {
+            return super.serializeJobData(data);
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(encoded.length);
+        bytes.write(encoded);
+        return bytes;
+    }
+
+    @Override
+    protected Object getObjectFromBlob(ResultSet rs, String colName)
+        throws ClassNotFoundException, IOException, SQLException {
+
+        return JobDataBlobs.read(rs.getBytes(colName), codec);
+    }
+}
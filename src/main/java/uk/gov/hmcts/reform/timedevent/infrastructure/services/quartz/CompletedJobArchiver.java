@@ -0,0 +1,233 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.services.quartz;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.utils.Key;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.hmcts.reform.timedevent.infrastructure.services.DateTimeProvider;
+
+// moves durable TimedEventJob rows which have no trigger left from QRTZ_JOB_DETAILS to timed_event_history
+@Slf4j
+@Component
+public class CompletedJobArchiver {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DateTimeProvider dateTimeProvider;
+    private final JobDataCodec codec = new BinaryJobDataCodec();
+
+    private final String schedName;
+    private final long retentionInMillis;
+    private final int batchSize;
+
+    private final String selectPage;
+    private final String lockTriggerAccess;
+    private final String deleteOrphans;
+    private final String insertHistory;
+    private final String deleteTimedEvents;
+
+    private final Counter archivedCounter;
+    private final Counter retainedCounter;
+    private final Timer batchTimer;
+
+    public CompletedJobArchiver(
+        NamedParameterJdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        DateTimeProvider dateTimeProvider,
+        MeterRegistry meterRegistry,
+        @Value("${database.tablePrefix}") String tablePrefix,
+        @Value("${spring.quartz.properties.org.quartz.scheduler.instanceName}") String schedName,
+        @Value("${janitor.retentionInDays}") long retentionInDays,
+        @Value("${janitor.batchSize}") int batchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.dateTimeProvider = dateTimeProvider;
+        this.schedName = schedName;
+        this.retentionInMillis = TimeUnit.DAYS.toMillis(retentionInDays);
+        this.batchSize = batchSize;
+
+        String orphan = "NOT EXISTS (SELECT 1 FROM " + tablePrefix + "QRTZ_TRIGGERS t"
+                        + " WHERE t.SCHED_NAME = j.SCHED_NAME AND t.JOB_NAME = j.JOB_NAME AND t.JOB_GROUP = j.JOB_GROUP)"
+                        + " AND NOT EXISTS (SELECT 1 FROM " + tablePrefix + "QRTZ_FIRED_TRIGGERS f"
+                        + " WHERE f.SCHED_NAME = j.SCHED_NAME AND f.JOB_NAME = j.JOB_NAME AND f.JOB_GROUP = j.JOB_GROUP)";
+
+        // keyset page over the primary key, so every batch reads a bounded number of rows
+        this.selectPage = "SELECT j.JOB_NAME, j.JOB_DATA, " + orphan + " AS ORPHAN"
+                          + " FROM " + tablePrefix + "QRTZ_JOB_DETAILS j"
+                          + " WHERE j.SCHED_NAME = :schedName AND j.JOB_NAME > :after"
+                          + " AND j.JOB_GROUP = :jobGroup AND j.JOB_CLASS_NAME = :jobClass"
+                          + " ORDER BY j.JOB_NAME LIMIT :batchSize";
+        // the same row lock Quartz takes before it changes jobs and triggers in clustered mode
+        this.lockTriggerAccess = "SELECT LOCK_NAME FROM " + tablePrefix + "QRTZ_LOCKS"
+                                 + " WHERE SCHED_NAME = :schedName AND LOCK_NAME = 'TRIGGER_ACCESS' FOR UPDATE";
+        this.deleteOrphans = "DELETE FROM " + tablePrefix + "QRTZ_JOB_DETAILS j"
+                             + " WHERE j.SCHED_NAME = :schedName AND j.JOB_GROUP = :jobGroup AND j.JOB_NAME IN (:names)"
+                             + " AND " + orphan
+                             + " RETURNING j.JOB_NAME";
+        this.insertHistory = "INSERT INTO " + tablePrefix + "timed_event_history"
+                             + " (id, event, jurisdiction, case_type, case_id, attempts, last_executed_at, archived_at)"
+                             + " VALUES (:id, :event, :jurisdiction, :caseType, :caseId, :attempts, :lastExecutedAt, :archivedAt)"
+                             + " ON CONFLICT (id) DO NOTHING";
+        this.deleteTimedEvents = "DELETE FROM " + tablePrefix + "timed_event WHERE id IN (:names)";
+
+        this.archivedCounter = meterRegistry.counter("quartz.janitor.archived");
+        this.retainedCounter = meterRegistry.counter("quartz.janitor.retained");
+        this.batchTimer = meterRegistry.timer("quartz.janitor.batch");
+    }
+
+    public BatchResult archiveBatch(String afterJobName) {
+        return batchTimer.record(() -> archive(afterJobName));
+    }
+
+    private BatchResult archive(String afterJobName) {
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("schedName", schedName)
+            .addValue("jobGroup", Key.DEFAULT_GROUP)
+            .addValue("jobClass", TimedEventJob.class.getName())
+            .addValue("after", afterJobName)
+            .addValue("batchSize", batchSize);
+
+        List<JobRow> page = jdbcTemplate.query(
+            selectPage,
+            params,
+            (rs, rowNum) -> new JobRow(rs.getString("JOB_NAME"), rs.getBytes("JOB_DATA"), rs.getBoolean("ORPHAN"))
+        );
+
+        if (page.isEmpty()) {
+            return new BatchResult(0, 0, afterJobName, true);
+        }
+
+        long retainedAfter = dateTimeProvider.now().toInstant().toEpochMilli() - retentionInMillis;
+        Map<String, Map<?, ?>> archivable = new LinkedHashMap<>();
+
+        for (JobRow row : page) {
+
+            if (!row.orphan) {
+                continue;
+            }
+
+            Map<?, ?> data = read(row);
+            if (data == null) {
+                continue;
+            }
+
+            // jobs completed before lastExecutedAt was recorded are archived straight away
+            if (data.get("lastExecutedAt") instanceof Long lastExecutedAt && lastExecutedAt > retainedAfter) {
+                retainedCounter.increment();
+                continue;
+            }
+
+            archivable.put(row.name, data);
+        }
+
+        int archived = archivable.isEmpty() ? 0 : transactionTemplate.execute(status -> moveToHistory(archivable));
+
+        archivedCounter.increment(archived);
+
+        return new BatchResult(page.size(), archived, page.get(page.size() - 1).name, page.size() < batchSize);
+    }
+
+    private int moveToHistory(Map<String, Map<?, ?>> archivable) {
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("schedName", schedName)
+            .addValue("jobGroup", Key.DEFAULT_GROUP)
+            .addValue("names", archivable.keySet());
+
+        jdbcTemplate.queryForList(lockTriggerAccess, params, String.class);
+
+        // only rows which are still orphaned under the lock are removed
+        List<String> deleted = jdbcTemplate.queryForList(deleteOrphans, params, String.class);
+
+        if (deleted.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp archivedAt = Timestamp.from(dateTimeProvider.now().toInstant());
+
+        MapSqlParameterSource[] rows = deleted.stream()
+            .map(name -> historyRow(name, archivable.get(name), archivedAt))
+            .toArray(MapSqlParameterSource[]::new);
+
+        jdbcTemplate.batchUpdate(insertHistory, rows);
+        jdbcTemplate.update(deleteTimedEvents, new MapSqlParameterSource("names", deleted));
+
+        return deleted.size();
+    }
+
+    private MapSqlParameterSource historyRow(String name, Map<?, ?> data, Timestamp archivedAt) {
+
+        Object caseId = data.get("caseId");
+        Object attempts = data.get("attempts");
+        Object lastExecutedAt = data.get("lastExecutedAt");
+
+        return new MapSqlParameterSource()
+            .addValue("id", name)
+            .addValue("event", data.get("event"))
+            .addValue("jurisdiction", data.get("jurisdiction"))
+            .addValue("caseType", data.get("caseType"))
+            .addValue("caseId", caseId(name, caseId))
+            .addValue("attempts", attempts instanceof Number number ? number.intValue() : null)
+            .addValue("lastExecutedAt", lastExecutedAt instanceof Long millis ? Timestamp.from(Instant.ofEpochMilli(millis)) : null)
+            .addValue("archivedAt", archivedAt);
+    }
+
+    // a malformed value must not roll back the page, the cursor would never move past it
+    private static Long caseId(String name, Object caseId) {
+
+        if (caseId == null) {
+            return null;
+        }
+
+        try {
+            return Long.valueOf(caseId.toString().trim());
+        } catch (NumberFormatException e) {
+            log.warn("Completed job: {} has malformed case id: {}, it is archived without it", name, caseId);
+            return null;
+        }
+    }
+
+    private Map<?, ?> read(JobRow row) {
+
+        try {
+            Object data = JobDataBlobs.read(row.jobData, codec);
+            return data instanceof Map<?, ?> map ? map : Map.of();
+        } catch (Exception e) {
+            log.warn("Job data of completed job: {} could not be read, it is left in place", row.name, e);
+            return null;
+        }
+    }
+
+    @AllArgsConstructor
+    private static class JobRow {
+        private final String name;
+        private final byte[] jobData;
+        private final boolean orphan;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class BatchResult {
+        private final int scanned;
+        private final int archived;
+        private final String lastJobName;
+        private final boolean lastPage;
+    }
+}
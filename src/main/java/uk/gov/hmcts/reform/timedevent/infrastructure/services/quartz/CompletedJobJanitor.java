@@ -0,0 +1,121 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.services.quartz;
+
+import java.util.Date;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.InterruptableJob;
+import org.quartz.JobDataMap;
+import org.quartz.JobExecutionContext;
+import org.quartz.ObjectAlreadyExistsException;
+import org.quartz.PersistJobDataAfterExecution;
+import org.quartz.SchedulerException;
+import org.quartz.SimpleScheduleBuilder;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+import org.quartz.TriggerKey;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// archives completed timed events in bounded batches, the keyset cursor is kept in job data between runs;
+// each execution archives one batch and schedules the next one after a pause, so no worker is held in between
+@Slf4j
+@Component
+@DisallowConcurrentExecution
+@PersistJobDataAfterExecution
+public class CompletedJobJanitor implements InterruptableJob {
+
+    public static final String JOB_NAME = "completed-job-janitor";
+    public static final String JOB_GROUP = "maintenance";
+
+    static final String CURSOR = "cursor";
+    static final String BATCH = "batch";
+    static final TriggerKey CONTINUATION = TriggerKey.triggerKey(JOB_NAME + "-continuation", JOB_GROUP);
+
+    private final CompletedJobArchiver archiver;
+    private final boolean enabled;
+    private final int maxBatchesPerRun;
+    private final long pauseBetweenBatchesInMillis;
+
+    private volatile boolean interrupted;
+
+    public CompletedJobJanitor(
+        CompletedJobArchiver archiver,
+        @Value("${janitor.enabled}") boolean enabled,
+        @Value("${janitor.maxBatchesPerRun}") int maxBatchesPerRun,
+        @Value("${janitor.pauseBetweenBatchesInMillis}") long pauseBetweenBatchesInMillis
+    ) {
+        this.archiver = archiver;
+        this.enabled = enabled;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.pauseBetweenBatchesInMillis = pauseBetweenBatchesInMillis;
+    }
+
+    @Override
+    public void execute(JobExecutionContext context) {
+
+        if (!enabled) {
+            log.info("Completed job janitor is disabled");
+            return;
+        }
+
+        JobDataMap data = context.getJobDetail().getJobDataMap();
+        String cursor = data.containsKey(CURSOR) ? data.getString(CURSOR) : "";
+
+        if (interrupted) {
+            data.put(CURSOR, cursor);
+            return;
+        }
+
+        Trigger trigger = context.getTrigger();
+        boolean continuation = CONTINUATION.equals(trigger.getKey());
+        int batch = continuation && trigger.getJobDataMap().containsKey(BATCH)
+            ? trigger.getJobDataMap().getInt(BATCH) + 1
+            : 1;
+
+        CompletedJobArchiver.BatchResult result = archiver.archiveBatch(cursor);
+
+        // next run starts from the beginning of the table again after the last page
+        data.put(CURSOR, result.isLastPage() ? "" : result.getLastJobName());
+
+        log.info(
+            "Completed job janitor batch: {} finished, scanned: {}, archived: {}",
+            batch,
+            result.getScanned(),
+            result.getArchived()
+        );
+
+        if (!result.isLastPage() && batch < maxBatchesPerRun && !interrupted) {
+            continueLater(context, batch, continuation);
+        }
+    }
+
+    @Override
+    public void interrupt() {
+        interrupted = true;
+    }
+
+    private void continueLater(JobExecutionContext context, int batch, boolean continuation) {
+
+        Trigger next = TriggerBuilder.newTrigger()
+            .forJob(context.getJobDetail())
+            .withIdentity(CONTINUATION)
+            .withDescription("Completed job janitor continuation")
+            .usingJobData(BATCH, batch)
+            .startAt(new Date(System.currentTimeMillis() + pauseBetweenBatchesInMillis))
+            .withSchedule(SimpleScheduleBuilder.simpleSchedule().withMisfireHandlingInstructionFireNow())
+            .build();
+
+        try {
+            if (continuation) {
+                // Quartz keeps a trigger rescheduled while it fires
+                context.getScheduler().rescheduleJob(CONTINUATION, next);
+            } else {
+                context.getScheduler().scheduleJob(next);
+            }
+        } catch (ObjectAlreadyExistsException e) {
+            log.info("Completed job janitor continuation is scheduled already");
+        } catch (SchedulerException e) {
+            log.warn("Completed job janitor continuation could not be scheduled, next run continues from cursor", e);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.services.quartz;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Map;
+import org.quartz.JobDataMap;
+
+public final class JobDataBlobs {
+
+    private JobDataBlobs() {
+        // utility class
+    }
+
+    // reads both compact codec and legacy Java serialized blobs
+    public static Object read(byte[] bytes, JobDataCodec codec) throws IOException, ClassNotFoundException {
+
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+
+        if (codec.canDecode(bytes)) {
+            return codec.decode(bytes);
+        }
+
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readObject();
+        }
+    }
+
+    // same format as stock Quartz delegate writes
+    public static byte[] javaSerialized(Map<?, ?> data) throws IOException {
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(new JobDataMap(data));
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,14 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.services.quartz;
+
+import java.io.IOException;
+import java.util.Map;
+
+public interface JobDataCodec {
+
+    // returns null when data contains values which cannot be represented by the codec
+    byte[] encode(Map<?, ?> data);
+
+    boolean canDecode(byte[] bytes);
+
+    Map<String, Object> decode(byte[] bytes) throws IOException;
+}
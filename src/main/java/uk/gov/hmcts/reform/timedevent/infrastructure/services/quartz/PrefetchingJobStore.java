@@ -0,0 +1,40 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.services.quartz;
+
+import java.util.List;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.JobPersistenceException;
+import org.quartz.spi.OperableTrigger;
+import org.springframework.scheduling.quartz.LocalDataSourceJobStore;
+
+// configured as org.quartz.jobStore.class
+// Quartz acquires triggers up to idleWaitTime ahead of their fire time and waits for it, acquired triggers are
+// handed over to the listener in the meantime; job store is instantiated by Quartz, so the listener is static
+@Slf4j
+public class PrefetchingJobStore extends LocalDataSourceJobStore {
+
+    private static volatile Consumer<List<OperableTrigger>> acquisitionListener;
+
+    public static void setAcquisitionListener(Consumer<List<OperableTrigger>> listener) {
+        acquisitionListener = listener;
+    }
+
+    @Override
+    public List<OperableTrigger> acquireNextTriggers(long noLaterThan, int maxCount, long timeWindow)
+        throws JobPersistenceException {
+
+        List<OperableTrigger> triggers = super.acquireNextTriggers(noLaterThan, maxCount, timeWindow);
+
+        Consumer<List<OperableTrigger>> listener = acquisitionListener;
+        if (listener != null && !triggers.isEmpty()) {
+            try {
+                listener.accept(triggers);
+            } catch (RuntimeException e) {
+                // acquired triggers fire regardless, listener failure only costs the optimization
+                log.warn("Trigger acquisition listener failed", e);
+            }
+        }
+
+        return triggers;
+    }
+}
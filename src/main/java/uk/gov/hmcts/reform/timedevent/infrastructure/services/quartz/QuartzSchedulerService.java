@@ -3,21 +3,37 @@ package uk.gov.hmcts.reform.timedevent.infrastructure.services.quartz;
 import static java.time.ZoneOffset.UTC;
 
 import com.google.common.collect.ImmutableMap;
+import java.time.Instant;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
 import org.quartz.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import uk.gov.hmcts.reform.timedevent.domain.entities.DeduplicationPolicy;
 import uk.gov.hmcts.reform.timedevent.domain.entities.TimedEvent;
+import uk.gov.hmcts.reform.timedevent.domain.entities.TimedEventBatchResult;
+import uk.gov.hmcts.reform.timedevent.domain.entities.TimedEventState;
 import uk.gov.hmcts.reform.timedevent.domain.entities.ccd.Event;
 import uk.gov.hmcts.reform.timedevent.domain.services.SchedulerService;
+import uk.gov.hmcts.reform.timedevent.domain.services.TimedEventRepository;
 import uk.gov.hmcts.reform.timedevent.infrastructure.services.IdentityProvider;
+import uk.gov.hmcts.reform.timedevent.infrastructure.services.exceptions.DuplicateTimedEventException;
 import uk.gov.hmcts.reform.timedevent.infrastructure.services.exceptions.SchedulerProcessingException;
 
 @Slf4j
@@ -26,32 +42,50 @@ public class QuartzSchedulerService implements SchedulerService {
 
     private final Scheduler quartzScheduler;
     private final IdentityProvider identityProvider;
-
-    public QuartzSchedulerService(Scheduler quartzScheduler, IdentityProvider identityProvider) {
+    private final TimedEventRepository timedEventRepository;
+    private final DeduplicationPolicy deduplicationPolicy;
+    private final long deduplicationBucketInSeconds;
+
+    public QuartzSchedulerService(Scheduler quartzScheduler,
+                                  IdentityProvider identityProvider,
+                                  TimedEventRepository timedEventRepository,
+                                  @Value("${timedEvent.deduplication.policy}") DeduplicationPolicy deduplicationPolicy,
+                                  @Value("${timedEvent.deduplication.bucketInSeconds}") long deduplicationBucketInSeconds) {
         this.quartzScheduler = quartzScheduler;
         this.identityProvider = identityProvider;
+        this.timedEventRepository = timedEventRepository;
+        this.deduplicationPolicy = deduplicationPolicy;
+        this.deduplicationBucketInSeconds = deduplicationBucketInSeconds;
     }
 
     @Override
     @Transactional
     public String schedule(TimedEvent timedEvent) {
 
+        if (deduplicationPolicy != DeduplicationPolicy.NONE) {
+            Optional<String> existingId = deduplicate(timedEvent);
+            if (existingId.isPresent()) {
+                return existingId.get();
+            }
+        }
+
         String identity = identityProvider.identity();
 
-        Pair<JobDetail, Trigger> jobAndTrigger = createJobAndTrigger(
-            new TimedEvent(
-                identity,
-                timedEvent.getEvent(),
-                timedEvent.getScheduledDateTime(),
-                timedEvent.getJurisdiction(),
-                timedEvent.getCaseType(),
-                timedEvent.getCaseId()
-            )
+        TimedEvent identifiedTimedEvent = new TimedEvent(
+            identity,
+            timedEvent.getEvent(),
+            timedEvent.getScheduledDateTime(),
+            timedEvent.getJurisdiction(),
+            timedEvent.getCaseType(),
+            timedEvent.getCaseId()
         );
 
+        Pair<JobDetail, Trigger> jobAndTrigger = createJobAndTrigger(identifiedTimedEvent);
+
         try {
 
             quartzScheduler.scheduleJob(jobAndTrigger.getLeft(), jobAndTrigger.getRight());
+            timedEventRepository.saveAll(List.of(identifiedTimedEvent));
 
             String timedEventId = jobAndTrigger.getRight().getKey().getName();
 
@@ -72,6 +106,114 @@ public class QuartzSchedulerService implements SchedulerService {
 
     }
 
+    @Override
+    @Transactional
+    public List<TimedEventBatchResult> scheduleAll(List<TimedEvent> timedEvents) {
+
+        Map<JobDetail, Set<? extends Trigger>> jobsAndTriggers = new LinkedHashMap<>();
+        List<TimedEvent> scheduledTimedEvents = new ArrayList<>(timedEvents.size());
+        List<TimedEventBatchResult> results = new ArrayList<>(timedEvents.size());
+
+        try {
+
+            for (int i = 0; i < timedEvents.size(); i++) {
+
+                TimedEvent timedEvent = timedEvents.get(i);
+
+                // as on single post, an id reschedules an existing trigger and is never created under that id
+                if (StringUtils.isNotBlank(timedEvent.getId())) {
+
+                    Trigger trigger = createJobAndTrigger(timedEvent).getRight();
+
+                    if (quartzScheduler.rescheduleJob(trigger.getKey(), trigger) == null) {
+                        results.add(new TimedEventBatchResult(
+                            i,
+                            HttpStatus.NOT_FOUND.value(),
+                            timedEvent,
+                            "Timed event not found: " + timedEvent.getId()
+                        ));
+                    } else {
+                        scheduledTimedEvents.add(timedEvent);
+                        results.add(new TimedEventBatchResult(i, HttpStatus.CREATED.value(), timedEvent, null));
+                    }
+                    continue;
+                }
+
+                // as on single post, so both endpoints store the same events under the same policy;
+                // deduplicated events are stored one by one, so later events of the batch are checked against them
+                if (deduplicationPolicy != DeduplicationPolicy.NONE) {
+                    results.add(scheduleDeduplicated(i, timedEvent));
+                    continue;
+                }
+
+                TimedEvent identifiedTimedEvent = new TimedEvent(
+                    identityProvider.identity(),
+                    timedEvent.getEvent(),
+                    timedEvent.getScheduledDateTime(),
+                    timedEvent.getJurisdiction(),
+                    timedEvent.getCaseType(),
+                    timedEvent.getCaseId()
+                );
+
+                Pair<JobDetail, Trigger> jobAndTrigger = createJobAndTrigger(identifiedTimedEvent);
+
+                jobsAndTriggers.put(jobAndTrigger.getLeft(), Collections.singleton(jobAndTrigger.getRight()));
+                scheduledTimedEvents.add(identifiedTimedEvent);
+                results.add(new TimedEventBatchResult(i, HttpStatus.CREATED.value(), identifiedTimedEvent, null));
+            }
+
+            if (!jobsAndTriggers.isEmpty()) {
+                // identities are new, so nothing is replaced
+                quartzScheduler.scheduleJobs(jobsAndTriggers, false);
+            }
+
+            if (!scheduledTimedEvents.isEmpty()) {
+                timedEventRepository.saveAll(scheduledTimedEvents);
+            }
+
+            log.info(
+                "Timed Events batch scheduled, size: {}, statuses: {}",
+                timedEvents.size(),
+                results.stream().collect(Collectors.groupingBy(TimedEventBatchResult::getStatus, Collectors.counting()))
+            );
+
+            return results;
+
+        } catch (SchedulerException e) {
+
+            throw new SchedulerProcessingException(e);
+        }
+    }
+
+    private TimedEventBatchResult scheduleDeduplicated(int index, TimedEvent timedEvent) {
+
+        String id;
+        int status = HttpStatus.CREATED.value();
+        String error = null;
+
+        try {
+            id = schedule(timedEvent);
+        } catch (DuplicateTimedEventException e) {
+            id = e.getExistingId();
+            status = HttpStatus.CONFLICT.value();
+            error = e.getMessage();
+        }
+
+        return new TimedEventBatchResult(
+            index,
+            status,
+            new TimedEvent(
+                id,
+                timedEvent.getEvent(),
+                timedEvent.getScheduledDateTime(),
+                timedEvent.getJurisdiction(),
+                timedEvent.getCaseType(),
+                timedEvent.getCaseId()
+            ),
+            error
+        );
+    }
+
     @Override
     @Transactional
     public String reschedule(TimedEvent timedEvent) {
@@ -83,6 +225,7 @@ public class QuartzSchedulerService implements SchedulerService {
             Date newSchedule = quartzScheduler.rescheduleJob(new TriggerKey(timedEvent.getId()), jobAndTrigger.getRight());
 
             if (newSchedule != null) {
+                timedEventRepository.saveAll(List.of(timedEvent));
                 log.info(
                     "Timed Event re-scheduled for event: {}, case id: {} at: {}",
                     timedEvent.getEvent().toString(),
@@ -114,7 +257,9 @@ public class QuartzSchedulerService implements SchedulerService {
     public boolean deleteSchedule(String jobKey) {
         TimedEvent timedEvent = get(jobKey).orElseThrow();
         Pair<JobDetail, Trigger> jobAndTrigger = createJobAndTrigger(timedEvent);
-        return quartzScheduler.deleteJob(jobAndTrigger.getLeft().getKey());
+        boolean deleted = quartzScheduler.deleteJob(jobAndTrigger.getLeft().getKey());
+        timedEventRepository.delete(jobKey);
+        return deleted;
     }
 
     @Override
@@ -143,7 +288,65 @@ public class QuartzSchedulerService implements SchedulerService {
         }
     }
 
-    private Pair<JobDetail, Trigger> createJobAndTrigger(TimedEvent timedEvent) {
+    @Override
+    @Transactional(readOnly = true)
+    public List<TimedEvent> getPending(long caseId) {
+        return timedEventRepository.findByCaseIdAndState(caseId, TimedEventState.SCHEDULED);
+    }
+
+    // returns id of the pending event the new one has been collapsed into
+    private Optional<String> deduplicate(TimedEvent timedEvent) {
+
+        long scheduledAt = timedEvent.getScheduledDateTime().toEpochSecond();
+        long bucketStart = Math.floorDiv(scheduledAt, deduplicationBucketInSeconds) * deduplicationBucketInSeconds;
+        ZonedDateTime from = ZonedDateTime.ofInstant(Instant.ofEpochSecond(bucketStart), UTC);
+
+        List<TimedEvent> pending = timedEventRepository.lockPending(
+            timedEvent.getCaseId(),
+            timedEvent.getEvent(),
+            from,
+            from.plusSeconds(deduplicationBucketInSeconds)
+        );
+
+        if (pending.isEmpty()) {
+            return Optional.empty();
+        }
+
+        // ordered by scheduled date time, so the first one is kept when duplicates already exist
+        TimedEvent existing = pending.get(0);
+
+        if (deduplicationPolicy == DeduplicationPolicy.REJECT) {
+            throw new DuplicateTimedEventException(existing.getId());
+        }
+
+        boolean moveExisting = deduplicationPolicy == DeduplicationPolicy.KEEP_EARLIEST
+            ? timedEvent.getScheduledDateTime().isBefore(existing.getScheduledDateTime())
+            : timedEvent.getScheduledDateTime().isAfter(existing.getScheduledDateTime());
+
+        if (moveExisting) {
+            reschedule(new TimedEvent(
+                existing.getId(),
+                existing.getEvent(),
+                timedEvent.getScheduledDateTime(),
+                timedEvent.getJurisdiction(),
+                timedEvent.getCaseType(),
+                timedEvent.getCaseId()
+            ));
+        }
+
+        log.info(
+            "Timed Event for event: {}, case id: {} at: {} collapsed into timed event id: {}, policy: {}",
+            timedEvent.getEvent().toString(),
+            timedEvent.getCaseId(),
+            timedEvent.getScheduledDateTime().toString(),
+            existing.getId(),
+            deduplicationPolicy
+        );
+
+        return Optional.of(existing.getId());
+    }
+
+    Pair<JobDetail, Trigger> createJobAndTrigger(TimedEvent timedEvent) {
 
         JobDataMap data = new JobDataMap(
             new ImmutableMap.Builder<String, String>()
@@ -0,0 +1,107 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.services.quartz;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+// rewrites JOB_DATA blobs to the format CompactJobDataDelegate writes with the same jobData.compactWrites flag:
+// - enabled: Java serialized blobs are rewritten with compact codec
+// - disabled: compact blobs are rewritten with Java serialization, so pods without compact reader can be rolled back to
+// registered as a bean (QuartzConfiguration) rather than found in db/migration, repeatable with checksum of the flag,
+// so it runs again whenever the flag changes
+// rows which cannot be encoded are left untouched - the delegate still reads them
+@Slf4j
+@SuppressWarnings("TypeName")
+public class R__CompactJobData extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final JobDataCodec codec = new BinaryJobDataCodec();
+    private final boolean compactWrites;
+
+    public R__CompactJobData(boolean compactWrites) {
+        this.compactWrites = compactWrites;
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return compactWrites ? 1 : 0;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+
+        Connection connection = context.getConnection();
+
+        rewrite(connection, "QRTZ_JOB_DETAILS", "JOB_NAME", "JOB_GROUP");
+        rewrite(connection, "QRTZ_TRIGGERS", "TRIGGER_NAME", "TRIGGER_GROUP");
+    }
+
+    private void rewrite(Connection connection, String table, String nameColumn, String groupColumn) throws Exception {
+
+        String select = "SELECT SCHED_NAME, " + nameColumn + ", " + groupColumn + ", JOB_DATA FROM " + table
+                        + " WHERE JOB_DATA IS NOT NULL";
+        String update = "UPDATE " + table + " SET JOB_DATA = ?"
+                        + " WHERE SCHED_NAME = ? AND " + nameColumn + " = ? AND " + groupColumn + " = ?";
+
+        int rewritten = 0;
+        int pending = 0;
+
+        try (Statement query = connection.createStatement();
+             PreparedStatement statement = connection.prepareStatement(update)) {
+
+            // cursor based fetch, so the whole table is never loaded into memory
+            query.setFetchSize(BATCH_SIZE);
+
+            try (ResultSet rs = query.executeQuery(select)) {
+
+                while (rs.next()) {
+
+                    byte[] encoded = encode(rs.getBytes(4));
+                    if (encoded == null) {
+                        continue;
+                    }
+
+                    statement.setBytes(1, encoded);
+                    statement.setString(2, rs.getString(1));
+                    statement.setString(3, rs.getString(2));
+                    statement.setString(4, rs.getString(3));
+                    statement.addBatch();
+
+                    if (++pending == BATCH_SIZE) {
+                        statement.executeBatch();
+                        rewritten += pending;
+                        pending = 0;
+                    }
+                }
+            }
+
+            if (pending > 0) {
+                statement.executeBatch();
+                rewritten += pending;
+            }
+        }
+
+        log.info("Job data rewritten, table: {}, compact: {}, rows: {}", table, compactWrites, rewritten);
+    }
+
+    // null when the blob is in the target format already or cannot be represented by it
+    byte[] encode(byte[] bytes) throws Exception {
+
+        if (codec.canDecode(bytes) == compactWrites) {
+            return null;
+        }
+
+        Object data = JobDataBlobs.read(bytes, codec);
+        if (!(data instanceof Map<?, ?> map)) {
+            return null;
+        }
+
+        return compactWrites ? codec.encode(map) : JobDataBlobs.javaSerialized(map);
+    }
+}
@@ -8,9 +8,12 @@ import org.quartz.JobExecutionContext;
 import org.quartz.JobExecutionException;
 import org.quartz.listeners.JobListenerSupport;
 import uk.gov.hmcts.reform.timedevent.domain.entities.TimedEvent;
+import uk.gov.hmcts.reform.timedevent.domain.entities.TimedEventState;
 import uk.gov.hmcts.reform.timedevent.domain.entities.ccd.Event;
 import uk.gov.hmcts.reform.timedevent.domain.services.SchedulerService;
+import uk.gov.hmcts.reform.timedevent.domain.services.TimedEventRepository;
 import uk.gov.hmcts.reform.timedevent.infrastructure.services.DateTimeProvider;
+import uk.gov.hmcts.reform.timedevent.infrastructure.services.exceptions.DeferredExecutionException;
 import uk.gov.hmcts.reform.timedevent.infrastructure.services.exceptions.RetryableException;
 
 @Slf4j
@@ -18,19 +21,25 @@ public class RetryJobListener extends JobListenerSupport {
 
     private final long durationInSeconds;
     private final long maxRetryNumber;
+    private final long deferralInSeconds;
     private final SchedulerService schedulerService;
     private final DateTimeProvider dateTimeProvider;
+    private final TimedEventRepository timedEventRepository;
 
     public RetryJobListener(
         long durationInSeconds,
         long maxRetryNumber,
+        long deferralInSeconds,
         SchedulerService schedulerService,
-        DateTimeProvider dateTimeProvider
+        DateTimeProvider dateTimeProvider,
+        TimedEventRepository timedEventRepository
     ) {
         this.durationInSeconds = durationInSeconds;
         this.maxRetryNumber = maxRetryNumber;
+        this.deferralInSeconds = deferralInSeconds;
         this.schedulerService = schedulerService;
         this.dateTimeProvider = dateTimeProvider;
+        this.timedEventRepository = timedEventRepository;
     }
 
     @Override
@@ -46,12 +55,26 @@ public class RetryJobListener extends JobListenerSupport {
         String event = data.getString("event");
         long caseId = data.getLong("caseId");
 
-        if (jobException instanceof RetryableException) {
+        if (jobException instanceof DeferredExecutionException) {
+            // downstream is unavailable, so it is not counted as a retry and comes back soon
+            ZonedDateTime newDate = calculateDeferredDate();
+            String deferredIdentity = scheduleRetry(data, newDate, identity);
+            timedEventRepository.updateState(identity, TimedEventState.SCHEDULED, attempts(data));
+
+            log.info(
+                "Execution has been deferred with identity: {}, for event: {}, caseId: {}, date: {}",
+                deferredIdentity,
+                event,
+                caseId,
+                newDate
+            );
+        } else if (jobException instanceof RetryableException) {
             long attempts = (Long)data.getOrDefault("attempts", 0L);
 
             if (attempts <= maxRetryNumber) {
                 ZonedDateTime newDate = calculateNextScheduledDate();
                 String retriedIdentity = scheduleRetry(data, newDate, identity);
+                timedEventRepository.updateState(identity, TimedEventState.SCHEDULED, attempts);
 
                 log.info(
                     "Retry has been scheduled with new identity: {}, for event: {}, caseId: {}, date: {}. "
@@ -65,6 +88,7 @@ public class RetryJobListener extends JobListenerSupport {
                 );
             } else {
 
+                timedEventRepository.updateState(identity, TimedEventState.FAILED, attempts);
                 log.error(
                     "Max number of retries have been processed with the last identity: {}, for event: {}, caseId: {}",
                     identity,
@@ -73,10 +97,19 @@ public class RetryJobListener extends JobListenerSupport {
                 );
             }
         } else {
+            timedEventRepository.updateState(
+                identity,
+                jobException == null ? TimedEventState.COMPLETED : TimedEventState.FAILED,
+                attempts(data)
+            );
             log.info("Job finished execution with identity: {}, for event: {}, caseId: {}", identity, event, caseId);
         }
     }
 
+    private long attempts(JobDataMap data) {
+        return data.getOrDefault("attempts", 0L) instanceof Long attempts ? attempts : 0L;
+    }
+
     private String scheduleRetry(JobDataMap data, ZonedDateTime newDate, String identity) {
 
         TimedEvent timedEvent = new TimedEvent(
@@ -98,6 +131,12 @@ public class RetryJobListener extends JobListenerSupport {
         return schedulerService.reschedule(timedEvent);
     }
 
+    private ZonedDateTime calculateDeferredDate() {
+        int randomSeconds = new SecureRandom().nextInt(0, 30);
+        // deferred jobs of an outage are spread, so they do not hit recovering downstream at once
+        return dateTimeProvider.now().plusSeconds(deferralInSeconds + randomSeconds);
+    }
+
     private ZonedDateTime calculateNextScheduledDate() {
         int randomSeconds = new SecureRandom().nextInt(0, 120);
         // To avoid concurrency issues, add random seconds with max 2 minutes
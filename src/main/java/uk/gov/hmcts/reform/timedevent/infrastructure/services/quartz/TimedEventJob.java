@@ -10,7 +10,10 @@ import org.springframework.stereotype.Component;
 import uk.gov.hmcts.reform.timedevent.domain.entities.EventExecution;
 import uk.gov.hmcts.reform.timedevent.domain.entities.ccd.Event;
 import uk.gov.hmcts.reform.timedevent.domain.services.EventExecutor;
+import uk.gov.hmcts.reform.timedevent.infrastructure.resilience.DownstreamResilience;
+import uk.gov.hmcts.reform.timedevent.infrastructure.services.DateTimeProvider;
 import uk.gov.hmcts.reform.timedevent.infrastructure.services.RetryableExceptionHandler;
+import uk.gov.hmcts.reform.timedevent.infrastructure.services.exceptions.DeferredExecutionException;
 
 @Slf4j
 @Component
@@ -19,16 +22,31 @@ public class TimedEventJob implements Job {
 
     private final EventExecutor eventExecutor;
     private final RetryableExceptionHandler exceptionHandler;
+    private final DateTimeProvider dateTimeProvider;
+    private final DownstreamResilience downstreamResilience;
 
-    public TimedEventJob(EventExecutor eventExecutor, RetryableExceptionHandler exceptionHandler) {
+    public TimedEventJob(EventExecutor eventExecutor,
+                         RetryableExceptionHandler exceptionHandler,
+                         DateTimeProvider dateTimeProvider,
+                         DownstreamResilience downstreamResilience) {
         this.eventExecutor = eventExecutor;
         this.exceptionHandler = exceptionHandler;
+        this.dateTimeProvider = dateTimeProvider;
+        this.downstreamResilience = downstreamResilience;
     }
 
     @Override
     public void execute(JobExecutionContext context) throws JobExecutionException {
         JobDataMap data = context.getJobDetail().getJobDataMap();
+
+        // deferred without an attempt, see RetryJobListener
+        if (!downstreamResilience.isExecutionPermitted()) {
+            throw new DeferredExecutionException();
+        }
+
         increaseAttemptsNumber(data);
+        // retention of completed jobs is counted from the last execution (see CompletedJobJanitor)
+        data.put("lastExecutedAt", dateTimeProvider.now().toInstant().toEpochMilli());
 
         try {
             eventExecutor.execute(
@@ -40,6 +58,14 @@ public class TimedEventJob implements Job {
                 )
             );
         } catch (Exception e) {
+
+            if (DownstreamResilience.isRejection(e)) {
+                log.warn("Execution deferred, downstream call has been rejected: {}", e.getMessage());
+
+                decreaseAttemptsNumber(data);
+                throw new DeferredExecutionException();
+            }
+
             log.error(e.getMessage(), e);
 
             exceptionHandler.wrapException(e);
@@ -58,4 +84,8 @@ public class TimedEventJob implements Job {
 
     }
 
+    private void decreaseAttemptsNumber(JobDataMap data) {
+        data.put("attempts", Math.max(data.getLongValue("attempts") - 1L, 0L));
+    }
+
 }
@@ -0,0 +1,154 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.services.quartz;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.SchedulerConfigException;
+import org.quartz.spi.ThreadPool;
+
+// configured as org.quartz.threadPool.class
+// every job runs on its own virtual thread, concurrency is limited by threadCount permits
+@Slf4j
+public class VirtualThreadPool implements ThreadPool {
+
+    private final MeterRegistry meterRegistry;
+    private final Object availability = new Object();
+
+    private int threadCount = -1;
+    private String instanceName = "QuartzScheduler";
+    private String instanceId = "";
+
+    private Semaphore permits;
+    private ThreadFactory threadFactory;
+    private Timer queueWait;
+    private volatile boolean shutdown;
+
+    public VirtualThreadPool() {
+        this(Metrics.globalRegistry);
+    }
+
+    VirtualThreadPool(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    public void setThreadCount(int threadCount) {
+        this.threadCount = threadCount;
+    }
+
+    @Override
+    public void setInstanceId(String schedInstId) {
+        this.instanceId = schedInstId;
+    }
+
+    @Override
+    public void setInstanceName(String schedName) {
+        this.instanceName = schedName;
+    }
+
+    @Override
+    public void initialize() throws SchedulerConfigException {
+
+        if (threadCount <= 0) {
+            throw new SchedulerConfigException("Thread count must be > 0");
+        }
+
+        permits = new Semaphore(threadCount, true);
+        threadFactory = Thread.ofVirtual().name(instanceName + "_Worker-", 1).factory();
+
+        Gauge.builder("quartz.pool.permits.used", this, pool -> pool.threadCount - pool.permits.availablePermits())
+            .tag("scheduler", instanceName)
+            .register(meterRegistry);
+        Gauge.builder("quartz.pool.permits.size", this, VirtualThreadPool::getPoolSize)
+            .tag("scheduler", instanceName)
+            .register(meterRegistry);
+        queueWait = Timer.builder("quartz.pool.queue.wait")
+            .tag("scheduler", instanceName)
+            .register(meterRegistry);
+
+        log.info("Virtual thread pool initialized for scheduler: {} ({}), max concurrency: {}",
+            instanceName, instanceId, threadCount);
+    }
+
+    @Override
+    public int getPoolSize() {
+        return threadCount;
+    }
+
+    @Override
+    public int blockForAvailableThreads() {
+
+        synchronized (availability) {
+            while (permits.availablePermits() < 1 && !shutdown) {
+                try {
+                    availability.wait(500);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+
+        return permits.availablePermits();
+    }
+
+    @Override
+    public boolean runInThread(Runnable runnable) {
+
+        if (runnable == null) {
+            return false;
+        }
+
+        long waitStart = System.nanoTime();
+        permits.acquireUninterruptibly();
+        queueWait.record(System.nanoTime() - waitStart, TimeUnit.NANOSECONDS);
+
+        try {
+            threadFactory.newThread(() -> {
+                try {
+                    runnable.run();
+                } finally {
+                    release();
+                }
+            }).start();
+        } catch (RuntimeException e) {
+            release();
+            throw e;
+        }
+
+        return true;
+    }
+
+    @Override
+    public void shutdown(boolean waitForJobsToComplete) {
+
+        shutdown = true;
+
+        synchronized (availability) {
+            availability.notifyAll();
+        }
+
+        if (waitForJobsToComplete && permits != null) {
+            log.info("Waiting for running jobs to complete in scheduler: {}", instanceName);
+            permits.acquireUninterruptibly(threadCount);
+            permits.release(threadCount);
+        }
+
+        log.info("Virtual thread pool shut down for scheduler: {}", instanceName);
+    }
+
+    private void release() {
+        permits.release();
+        synchronized (availability) {
+            availability.notifyAll();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+SET search_path TO ia_timed_event_service;
+-- Replaces stock Quartz index set with indexes for queries this service actually runs.
+-- Jobs are looked up by primary key only, groups and calendars are never used.
+-- Runs outside of a transaction (see .conf), so indexes are built and dropped CONCURRENTLY without blocking
+-- trigger writes and acquisition of running instances. New indexes are built before stock ones are dropped.
+
+-- trigger acquisition and misfire scans (CompactJobDataDelegate inlines the WAITING state)
+-- dropped first in case an interrupted build left it INVALID
+DROP INDEX CONCURRENTLY IF EXISTS IDX_QRTZ_T_NFT_WAITING;
+CREATE INDEX CONCURRENTLY IDX_QRTZ_T_NFT_WAITING
+  ON QRTZ_TRIGGERS (SCHED_NAME, NEXT_FIRE_TIME, PRIORITY DESC)
+  WHERE TRIGGER_STATE = 'WAITING';
+-- recovery and state transitions of the few triggers which are not waiting (ACQUIRED, BLOCKED, ERROR...)
+DROP INDEX CONCURRENTLY IF EXISTS IDX_QRTZ_T_STATE_NOT_WAITING;
+CREATE INDEX CONCURRENTLY IDX_QRTZ_T_STATE_NOT_WAITING
+  ON QRTZ_TRIGGERS (SCHED_NAME, TRIGGER_STATE)
+  WHERE TRIGGER_STATE <> 'WAITING';
+-- IDX_QRTZ_T_J (SCHED_NAME, JOB_NAME, JOB_GROUP) is kept for job -> trigger lookups
+
+DROP INDEX CONCURRENTLY IF EXISTS IDX_QRTZ_J_REQ_RECOVERY;
+DROP INDEX CONCURRENTLY IF EXISTS IDX_QRTZ_J_GRP;
+
+DROP INDEX CONCURRENTLY IF EXISTS IDX_QRTZ_T_JG;
+DROP INDEX CONCURRENTLY IF EXISTS IDX_QRTZ_T_C;
+DROP INDEX CONCURRENTLY IF EXISTS IDX_QRTZ_T_G;
+DROP INDEX CONCURRENTLY IF EXISTS IDX_QRTZ_T_STATE;
+DROP INDEX CONCURRENTLY IF EXISTS IDX_QRTZ_T_N_STATE;
+DROP INDEX CONCURRENTLY IF EXISTS IDX_QRTZ_T_N_G_STATE;
+DROP INDEX CONCURRENTLY IF EXISTS IDX_QRTZ_T_NEXT_FIRE_TIME;
+DROP INDEX CONCURRENTLY IF EXISTS IDX_QRTZ_T_NFT_ST;
+DROP INDEX CONCURRENTLY IF EXISTS IDX_QRTZ_T_NFT_MISFIRE;
+DROP INDEX CONCURRENTLY IF EXISTS IDX_QRTZ_T_NFT_ST_MISFIRE;
+DROP INDEX CONCURRENTLY IF EXISTS IDX_QRTZ_T_NFT_ST_MISFIRE_GRP;
+
+DROP INDEX CONCURRENTLY IF EXISTS IDX_QRTZ_FT_INST_JOB_REQ_RCVRY;
+DROP INDEX CONCURRENTLY IF EXISTS IDX_QRTZ_FT_JG;
+DROP INDEX CONCURRENTLY IF EXISTS IDX_QRTZ_FT_T_G;
+DROP INDEX CONCURRENTLY IF EXISTS IDX_QRTZ_FT_TG;
+-- IDX_QRTZ_FT_TRIG_INST_NAME (cluster recovery) and IDX_QRTZ_FT_J_G (blocked state checks) are kept
+
+ANALYZE QRTZ_TRIGGERS;
@@ -0,0 +1,18 @@
+SET search_path TO ia_timed_event_service;
+-- Completed timed events moved out of QRTZ_JOB_DETAILS by CompletedJobJanitor.
+
+CREATE TABLE IF NOT EXISTS timed_event_history
+(
+  id               VARCHAR(200) NOT NULL,
+  event            VARCHAR(100) NULL,
+  jurisdiction     VARCHAR(50)  NULL,
+  case_type        VARCHAR(100) NULL,
+  case_id          BIGINT       NULL,
+  attempts         INTEGER      NULL,
+  last_executed_at TIMESTAMP    NULL,
+  archived_at      TIMESTAMP    NOT NULL,
+  PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_timed_event_history_case_id
+  ON timed_event_history (case_id);
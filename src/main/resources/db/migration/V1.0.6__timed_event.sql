@@ -0,0 +1,20 @@
+SET search_path TO ia_timed_event_service;
+-- Case indexed copy of scheduled timed events, maintained by QuartzSchedulerService and RetryJobListener.
+
+CREATE TABLE IF NOT EXISTS timed_event
+(
+  id           VARCHAR(200)             NOT NULL,
+  case_id      BIGINT                   NOT NULL,
+  jurisdiction VARCHAR(50)              NULL,
+  case_type    VARCHAR(100)             NULL,
+  event        VARCHAR(100)             NOT NULL,
+  scheduled_at TIMESTAMP WITH TIME ZONE NOT NULL,
+  state        VARCHAR(16)              NOT NULL,
+  attempts     INTEGER                  NOT NULL DEFAULT 0,
+  PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_timed_event_case_id
+  ON timed_event (case_id);
+CREATE INDEX IF NOT EXISTS idx_timed_event_scheduled_at
+  ON timed_event (scheduled_at);
@@ -0,0 +1,24 @@
+package db.migration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("TypeName")
+class V1_0_7__TimedEventBackfillTest {
+
+    @Test
+    void should_parse_case_id() {
+
+        assertEquals(1588772172174023L, V1_0_7__TimedEventBackfill.caseId("some-id", "1588772172174023"));
+        assertEquals(1588772172174023L, V1_0_7__TimedEventBackfill.caseId("some-id", 1588772172174023L));
+    }
+
+    @Test
+    void should_skip_malformed_case_id() {
+
+        assertNull(V1_0_7__TimedEventBackfill.caseId("some-id", ""));
+        assertNull(V1_0_7__TimedEventBackfill.caseId("some-id", " "));
+        assertNull(V1_0_7__TimedEventBackfill.caseId("some-id", "not-a-case"));
+    }
+}
@@ -25,6 +25,13 @@ class EventTest {
         assertEquals("cannot find event: invalid", exception.getMessage());
     }
 
+    @Test
+    void fromString_should_throw_if_null() {
+        EventNotFoundException exception = assertThrows(EventNotFoundException.class,
+            () -> Event.fromString(null));
+        assertEquals("cannot find event: null", exception.getMessage());
+    }
+
     @Test
     void if_this_test_fails_it_is_because_eventMapping_needs_updating_with_your_changes() {
         List<Event> eventMappingEvents = eventMapping().map(arg -> arg.get()[1])
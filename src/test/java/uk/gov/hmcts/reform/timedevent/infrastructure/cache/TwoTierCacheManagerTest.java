@@ -0,0 +1,90 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+@ExtendWith(MockitoExtension.class)
+class TwoTierCacheManagerTest {
+
+    @Mock
+    private CacheManager remoteCacheManager;
+
+    @Mock
+    private Runnable remoteHealthCheck;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void should_create_one_two_tier_cache_per_name() {
+
+        TwoTierCacheManager cacheManager = cacheManager(Duration.ofSeconds(30));
+
+        Cache cache = cacheManager.getCache("userInfoCache");
+
+        assertInstanceOf(TwoTierCache.class, cache);
+        assertSame(cache, cacheManager.getCache("userInfoCache"));
+        verify(remoteCacheManager, times(1)).getCache("userInfoCache");
+    }
+
+    @Test
+    void should_list_remote_and_local_cache_names() {
+
+        when(remoteCacheManager.getCacheNames()).thenReturn(List.of("systemUserTokenCache"));
+
+        TwoTierCacheManager cacheManager = cacheManager(Duration.ofSeconds(30));
+        cacheManager.getCache("userInfoCache");
+
+        assertEquals(List.of("systemUserTokenCache", "userInfoCache"), List.copyOf(cacheManager.getCacheNames()));
+    }
+
+    @Test
+    void should_check_remote_on_start_and_in_background() {
+
+        TwoTierCacheManager cacheManager = cacheManager(Duration.ofMillis(10));
+
+        cacheManager.afterPropertiesSet();
+        try {
+            assertTrue(cacheManager.isRemoteAvailable());
+            verify(remoteHealthCheck, timeout(1000).atLeast(3)).run();
+        } finally {
+            cacheManager.destroy();
+        }
+
+        assertEquals(1.0, meterRegistry.get("cache.remote.available").gauge().value());
+    }
+
+    @Test
+    void should_start_detached_when_remote_is_down() {
+
+        doThrow(new IllegalStateException("connection refused")).when(remoteHealthCheck).run();
+
+        TwoTierCacheManager cacheManager = cacheManager(Duration.ofSeconds(30));
+        cacheManager.afterPropertiesSet();
+        try {
+            assertFalse(cacheManager.isRemoteAvailable());
+        } finally {
+            cacheManager.destroy();
+        }
+    }
+
+    private TwoTierCacheManager cacheManager(Duration healthCheckInterval) {
+        return new TwoTierCacheManager(
+            remoteCacheManager,
+            remoteHealthCheck,
+            meterRegistry,
+            Duration.ofMinutes(5),
+            100,
+            healthCheckInterval
+        );
+    }
+}
@@ -0,0 +1,160 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+@ExtendWith(MockitoExtension.class)
+class TwoTierCacheTest {
+
+    @Mock
+    private CacheManager remoteCacheManager;
+
+    @Mock
+    private Cache remote;
+
+    @Mock
+    private Runnable remoteHealthCheck;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TwoTierCacheManager cacheManager;
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() {
+        when(remoteCacheManager.getCache("systemUserTokenCache")).thenReturn(remote);
+
+        cacheManager = new TwoTierCacheManager(
+            remoteCacheManager,
+            remoteHealthCheck,
+            meterRegistry,
+            Duration.ofMinutes(5),
+            100,
+            Duration.ofSeconds(30)
+        );
+        cacheManager.checkRemote();
+
+        cache = cacheManager.getCache("systemUserTokenCache");
+    }
+
+    @Test
+    void should_read_from_remote_on_local_miss_and_keep_value_locally() {
+
+        when(remote.get("key")).thenReturn(new SimpleValueWrapper("token"));
+
+        assertEquals("token", cache.get("key").get());
+        assertEquals("token", cache.get("key").get());
+
+        verify(remote, times(1)).get("key");
+        assertEquals(1, count("local", "hit"));
+        assertEquals(1, count("local", "miss"));
+        assertEquals(1, count("remote", "hit"));
+    }
+
+    @Test
+    void should_write_to_both_tiers() {
+
+        cache.put("key", "token");
+
+        verify(remote).put("key", "token");
+        assertEquals("token", cache.get("key", String.class));
+    }
+
+    @Test
+    void should_load_missing_value_and_write_to_both_tiers() {
+
+        assertEquals("token", cache.get("key", () -> "token"));
+
+        verify(remote).get("key");
+        verify(remote).put("key", "token");
+        assertEquals(1, count("remote", "miss"));
+    }
+
+    @Test
+    void should_not_cache_null_values() {
+
+        cache.put("key", null);
+
+        verify(remote, never()).put(any(), any());
+        assertNull(cache.get("key"));
+    }
+
+    @Test
+    void should_serve_local_tier_and_detach_remote_when_it_fails() {
+
+        cache.put("cached", "token");
+        when(remote.get("missing")).thenThrow(new IllegalStateException("connection refused"));
+
+        assertNull(cache.get("missing"));
+        assertFalse(cacheManager.isRemoteAvailable());
+
+        assertEquals("token", cache.get("cached").get());
+        cache.put("other", "otherToken");
+        assertEquals("otherToken", cache.get("other").get());
+
+        verify(remote, times(1)).get(any());
+        verify(remote, times(1)).put(any(), any());
+    }
+
+    @Test
+    void should_re_attach_remote_when_health_check_passes_again() {
+
+        doThrow(new IllegalStateException("connection refused")).when(remoteHealthCheck).run();
+        cacheManager.checkRemote();
+        assertFalse(cacheManager.isRemoteAvailable());
+
+        cache.put("key", "token");
+        verify(remote, never()).put(any(), any());
+
+        doNothing().when(remoteHealthCheck).run();
+        cacheManager.checkRemote();
+        assertTrue(cacheManager.isRemoteAvailable());
+
+        cache.put("key", "token");
+        verify(remote).put("key", "token");
+    }
+
+    @Test
+    void should_evict_and_clear_both_tiers() {
+
+        cache.put("key", "token");
+        cache.evict("key");
+
+        verify(remote).evict("key");
+        when(remote.get("key")).thenReturn(null);
+        assertNull(cache.get("key"));
+
+        cache.clear();
+        verify(remote).clear();
+    }
+
+    @Test
+    void should_throw_when_cached_value_has_other_type() {
+
+        cache.put("key", List.of("token"));
+
+        assertThrows(IllegalStateException.class, () -> cache.get("key", String.class));
+    }
+
+    private double count(String tier, String result) {
+        return meterRegistry.get("cache.tier.gets")
+            .tag("cache", "systemUserTokenCache")
+            .tag("tier", tier)
+            .tag("result", result)
+            .counter()
+            .count();
+    }
+}
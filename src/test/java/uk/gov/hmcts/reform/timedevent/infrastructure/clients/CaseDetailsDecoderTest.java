@@ -0,0 +1,107 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.clients;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import feign.Request;
+import feign.Response;
+import feign.codec.DecodeException;
+import feign.codec.Decoder;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.hmcts.reform.timedevent.infrastructure.clients.model.ccd.CaseDetails;
+import uk.gov.hmcts.reform.timedevent.infrastructure.clients.model.ccd.StartEventTrigger;
+
+@ExtendWith(MockitoExtension.class)
+class CaseDetailsDecoderTest {
+
+    private static final String CASE_DETAILS = "{"
+        + "\"id\":1234123412341234,"
+        + "\"jurisdiction\":\"IA\","
+        + "\"case_data\":{\"appealReferenceNumber\":\"PA/50001/2024\",\"state\":\"nested\","
+        + "\"documents\":[{\"id\":\"1\",\"value\":{\"document\":{\"document_url\":\"http://dm/1\"}}}]},"
+        + "\"state\":\"appealSubmitted\","
+        + "\"data_classification\":{\"appealReferenceNumber\":\"PUBLIC\"},"
+        + "\"version\":7,"
+        + "\"after_submit_callback_response\":null"
+        + "}";
+
+    @Mock
+    private Decoder delegate;
+
+    @Test
+    public void should_read_only_id_state_and_version() throws IOException {
+
+        CaseDetails caseDetails = (CaseDetails) new CaseDetailsDecoder(delegate, true)
+            .decode(response(CASE_DETAILS), CaseDetails.class);
+
+        assertEquals(1234123412341234L, caseDetails.getId());
+        assertEquals("appealSubmitted", caseDetails.getState());
+        assertEquals(7, caseDetails.getVersion());
+        assertNull(caseDetails.getCaseData());
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    public void should_leave_missing_and_null_fields_empty() throws IOException {
+
+        CaseDetails caseDetails = (CaseDetails) new CaseDetailsDecoder(delegate, true)
+            .decode(response("{\"id\":null,\"state\":\"appealSubmitted\"}"), CaseDetails.class);
+
+        assertNull(caseDetails.getId());
+        assertEquals("appealSubmitted", caseDetails.getState());
+        assertNull(caseDetails.getVersion());
+    }
+
+    @Test
+    public void should_fail_when_response_is_not_json_object() {
+
+        CaseDetailsDecoder decoder = new CaseDetailsDecoder(delegate, true);
+
+        assertThrows(DecodeException.class, () -> decoder.decode(response("[]"), CaseDetails.class));
+    }
+
+    @Test
+    public void should_delegate_other_types() throws IOException {
+
+        Response response = response("{\"token\":\"ccdToken\"}");
+        StartEventTrigger startEventTrigger = new StartEventTrigger();
+        when(delegate.decode(response, StartEventTrigger.class)).thenReturn(startEventTrigger);
+
+        assertSame(startEventTrigger, new CaseDetailsDecoder(delegate, true).decode(response, StartEventTrigger.class));
+    }
+
+    @Test
+    public void should_delegate_when_streaming_is_disabled() throws IOException {
+
+        Response response = response(CASE_DETAILS);
+        CaseDetails caseDetails = new CaseDetails();
+        when(delegate.decode(response, CaseDetails.class)).thenReturn(caseDetails);
+
+        assertSame(caseDetails, new CaseDetailsDecoder(delegate, false).decode(response, CaseDetails.class));
+    }
+
+    private static Response response(String body) {
+
+        Request request = Request.create(
+            Request.HttpMethod.POST,
+            "http://ccd/caseworkers/1/jurisdictions/IA/case-types/Asylum/cases/1234123412341234/events",
+            Collections.emptyMap(),
+            null,
+            StandardCharsets.UTF_8,
+            null
+        );
+
+        return Response.builder()
+            .status(201)
+            .request(request)
+            .headers(Collections.emptyMap())
+            .body(body, StandardCharsets.UTF_8)
+            .build();
+    }
+}
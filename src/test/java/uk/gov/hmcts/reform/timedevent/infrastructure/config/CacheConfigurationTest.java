@@ -1,5 +1,6 @@
 package uk.gov.hmcts.reform.timedevent.infrastructure.config;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -7,9 +8,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.support.NoOpCacheManager;
 import org.springframework.context.annotation.Import;
-import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
@@ -17,6 +16,7 @@ import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.util.ReflectionTestUtils;
+import uk.gov.hmcts.reform.timedevent.infrastructure.cache.TwoTierCacheManager;
 
 import java.util.Base64;
 
@@ -24,7 +24,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-@Import({CacheConfiguration.class})
+@Import({CacheConfiguration.class, SimpleMeterRegistry.class})
 @ExtendWith(SpringExtension.class)
 @ExtendWith(MockitoExtension.class)
 @EnableCaching
@@ -47,55 +47,70 @@ class CacheConfigurationTest {
     static void redisProperties(DynamicPropertyRegistry registry) {
         registry.add("spring.data.redis.url", () -> "redis://localhost:6379");
         registry.add("spring.data.redis.encryption.key", () -> TEST_ENCRYPTION_KEY);
+        registry.add("app.cache.local.ttlInSeconds", () -> 300);
+        registry.add("app.cache.local.maxSize", () -> 1000);
+        registry.add("app.cache.redisHealthCheckIntervalInSeconds", () -> 30);
     }
 
     @BeforeEach
     void setUp() {
         cacheConfiguration = new CacheConfiguration();
         ReflectionTestUtils.setField(cacheConfiguration, "redisEncryptionKey", TEST_ENCRYPTION_KEY);
+        ReflectionTestUtils.setField(cacheConfiguration, "localTtlInSeconds", 300L);
+        ReflectionTestUtils.setField(cacheConfiguration, "localMaxSize", 1000L);
+        ReflectionTestUtils.setField(cacheConfiguration, "redisHealthCheckIntervalInSeconds", 30L);
     }
 
     @Test
-    void cacheManager_shouldReturnRedisCacheManager_whenRedisAvailable() {
+    void cacheManager_shouldReturnTwoTierCacheManager_withRedisAttached_whenRedisAvailable() {
         when(redisConnectionFactory.getConnection()).thenReturn(redisConnection);
         when(redisConnection.ping()).thenReturn("PONG");
 
-        CacheManager result = cacheConfiguration.cacheManager(redisConnectionFactory);
+        CacheManager result = cacheConfiguration.cacheManager(redisConnectionFactory, new SimpleMeterRegistry());
+        ((TwoTierCacheManager) result).afterPropertiesSet();
 
-        assertThat(result).isInstanceOf(RedisCacheManager.class);
+        assertThat(result).isInstanceOf(TwoTierCacheManager.class);
+        assertThat(ReflectionTestUtils.invokeMethod(result, "isRemoteAvailable")).isEqualTo(true);
         verify(redisConnectionFactory).getConnection();
+        verify(redisConnection).close();
+
+        ((TwoTierCacheManager) result).destroy();
     }
 
     @Test
-    void cacheManager_shouldReturnNoOpCacheManager_whenRedisUnavailable() {
+    void cacheManager_shouldReturnTwoTierCacheManager_withRedisDetached_whenRedisUnavailable() {
         when(redisConnectionFactory.getConnection()).thenThrow(new RuntimeException("Redis unavailable"));
 
-        CacheManager result = cacheConfiguration.cacheManager(redisConnectionFactory);
+        CacheManager result = cacheConfiguration.cacheManager(redisConnectionFactory, new SimpleMeterRegistry());
+        ((TwoTierCacheManager) result).afterPropertiesSet();
+
+        assertThat(result).isInstanceOf(TwoTierCacheManager.class);
+        assertThat(ReflectionTestUtils.invokeMethod(result, "isRemoteAvailable")).isEqualTo(false);
 
-        assertThat(result).isInstanceOf(NoOpCacheManager.class);
+        ((TwoTierCacheManager) result).destroy();
     }
 
     @Test
     void cacheManager_redisCacheManager_shouldContainAllCacheNames() {
-        when(redisConnectionFactory.getConnection()).thenReturn(redisConnection);
-        when(redisConnection.ping()).thenReturn("PONG");
-
-        CacheManager result = cacheConfiguration.cacheManager(redisConnectionFactory);
+        CacheManager result = cacheConfiguration.cacheManager(redisConnectionFactory, new SimpleMeterRegistry());
         result.getCache("systemUserTokenCache");
         result.getCache("userInfoCache");
 
         assertThat(result.getCacheNames())
-                .contains("systemUserTokenCache", "userInfoCache");
+                .contains("systemUserTokenCache", "userInfoCache", "accessTokenCache");
     }
 
     @Test
-    void cacheManager_shouldReturnNoOpCacheManager_whenPingThrowsException() {
+    void cacheManager_shouldDetachRedis_whenPingThrowsException() {
         when(redisConnectionFactory.getConnection()).thenReturn(redisConnection);
         when(redisConnection.ping()).thenThrow(new RuntimeException("Ping failed"));
 
-        CacheManager result = cacheConfiguration.cacheManager(redisConnectionFactory);
+        CacheManager result = cacheConfiguration.cacheManager(redisConnectionFactory, new SimpleMeterRegistry());
+        ((TwoTierCacheManager) result).afterPropertiesSet();
+
+        assertThat(ReflectionTestUtils.invokeMethod(result, "isRemoteAvailable")).isEqualTo(false);
 
-        assertThat(result).isInstanceOf(NoOpCacheManager.class);
+        ((TwoTierCacheManager) result).destroy();
     }
 
     @Test
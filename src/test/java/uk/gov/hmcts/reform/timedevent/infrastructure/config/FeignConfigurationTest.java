@@ -0,0 +1,41 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpInputMessage;
+import uk.gov.hmcts.reform.timedevent.domain.entities.roleassignment.RoleAssignmentResource;
+import uk.gov.hmcts.reform.timedevent.domain.entities.roleassignment.RoleName;
+
+class FeignConfigurationTest {
+
+    private static final String ROLE_ASSIGNMENTS =
+        "{\"roleAssignmentResponse\":[{\"id\":\"1\",\"roleName\":\"role-added-later\"}]}";
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    public void should_read_unknown_enum_values_as_default_in_downstream_responses() throws IOException {
+
+        FeignConfiguration.DownstreamJacksonConverter converter = new FeignConfiguration.DownstreamJacksonConverter(objectMapper);
+
+        RoleAssignmentResource resource = (RoleAssignmentResource) converter.read(
+            RoleAssignmentResource.class,
+            new MockHttpInputMessage(ROLE_ASSIGNMENTS.getBytes(StandardCharsets.UTF_8))
+        );
+
+        assertEquals(RoleName.UNKNOWN, resource.roleAssignmentResponse().get(0).getRoleName());
+    }
+
+    @Test
+    public void should_not_change_shared_object_mapper() {
+
+        new FeignConfiguration.DownstreamJacksonConverter(objectMapper);
+
+        assertThrows(IOException.class, () -> objectMapper.readValue(ROLE_ASSIGNMENTS, RoleAssignmentResource.class));
+    }
+}
@@ -0,0 +1,75 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.openfeign.support.FeignHttpClientProperties;
+
+class FeignHttpClientConfigurationTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private PoolingHttpClientConnectionManager connectionManager;
+
+    @AfterEach
+    public void tearDown() {
+        if (connectionManager != null) {
+            connectionManager.close();
+        }
+    }
+
+    @Test
+    public void should_limit_connections_per_downstream_host() {
+
+        FeignHttpClientProperties httpClientProperties = new FeignHttpClientProperties();
+        httpClientProperties.setMaxConnections(100);
+        httpClientProperties.setMaxConnectionsPerRoute(20);
+
+        connectionManager = FeignHttpClientConfiguration.connectionManager(
+            httpClientProperties,
+            meterRegistry,
+            Map.of(
+                "https://ccd-data-store-api.example.net", 50,
+                "http://127.0.0.1:5000", 10
+            )
+        );
+
+        assertEquals(100, connectionManager.getMaxTotal());
+        assertEquals(20, connectionManager.getDefaultMaxPerRoute());
+        assertEquals(50, connectionManager.getMaxPerRoute(FeignHttpClientConfiguration.route("https://ccd-data-store-api.example.net")));
+        assertEquals(10, connectionManager.getMaxPerRoute(FeignHttpClientConfiguration.route("http://127.0.0.1:5000")));
+    }
+
+    @Test
+    public void should_build_route_with_explicit_port_and_security() {
+
+        HttpRoute secureRoute = FeignHttpClientConfiguration.route("https://ccd-data-store-api.example.net/path");
+        HttpRoute plainRoute = FeignHttpClientConfiguration.route("http://127.0.0.1:4452");
+
+        assertTrue(secureRoute.isSecure());
+        assertEquals(443, secureRoute.getTargetHost().getPort());
+        assertEquals("ccd-data-store-api.example.net", secureRoute.getTargetHost().getHostName());
+
+        assertFalse(plainRoute.isSecure());
+        assertEquals(4452, plainRoute.getTargetHost().getPort());
+    }
+
+    @Test
+    public void should_export_pool_metrics() {
+
+        connectionManager = FeignHttpClientConfiguration.connectionManager(
+            new FeignHttpClientProperties(),
+            meterRegistry,
+            Map.of("http://127.0.0.1:4452", 50)
+        );
+
+        assertNotNull(meterRegistry.find("httpcomponents.httpclient.pool.total.max").tag("httpclient", "feign").gauge());
+        assertEquals(0.0, meterRegistry.get("feign.http.pool.route.leased").tag("host", "127.0.0.1:4452").gauge().value());
+        assertEquals(0.0, meterRegistry.get("feign.http.pool.route.pending").tag("host", "127.0.0.1:4452").gauge().value());
+    }
+}
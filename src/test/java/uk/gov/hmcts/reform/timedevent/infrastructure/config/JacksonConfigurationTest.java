@@ -0,0 +1,68 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.ZonedDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import uk.gov.hmcts.reform.timedevent.domain.entities.TimedEvent;
+import uk.gov.hmcts.reform.timedevent.domain.entities.ccd.Event;
+import uk.gov.hmcts.reform.timedevent.domain.entities.roleassignment.RoleAssignmentResource;
+import uk.gov.hmcts.reform.timedevent.domain.entities.roleassignment.RoleName;
+
+class JacksonConfigurationTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+        .modulesToInstall(new JacksonConfiguration().blackbirdModule())
+        .build();
+
+    @Test
+    public void should_warm_up_all_types() {
+
+        assertDoesNotThrow(() -> JacksonConfiguration.warmUp(objectMapper, JacksonConfiguration.WARM_UP_TYPES));
+
+        JacksonConfiguration.WARM_UP_TYPES.forEach(type -> {
+            assertTrue(objectMapper.canSerialize(type));
+            assertTrue(objectMapper.canDeserialize(objectMapper.constructType(type)));
+        });
+    }
+
+    @Test
+    public void should_round_trip_timed_event_with_blackbird() throws Exception {
+
+        TimedEvent timedEvent = new TimedEvent(
+            "someId",
+            Event.EXAMPLE,
+            ZonedDateTime.parse("2030-07-12T10:00:00Z"),
+            "IA",
+            "Asylum",
+            1588772172174023L
+        );
+
+        TimedEvent read = objectMapper.readValue(objectMapper.writeValueAsString(timedEvent), TimedEvent.class);
+
+        assertEquals("someId", read.getId());
+        assertEquals(Event.EXAMPLE, read.getEvent());
+        assertEquals(timedEvent.getScheduledDateTime().toInstant(), read.getScheduledDateTime().toInstant());
+        assertEquals("IA", read.getJurisdiction());
+        assertEquals("Asylum", read.getCaseType());
+        assertEquals(1588772172174023L, read.getCaseId());
+    }
+
+    @Test
+    public void should_read_role_assignments_with_blackbird() throws Exception {
+
+        RoleAssignmentResource resource = objectMapper.readValue(
+            "{\"roleAssignmentResponse\":[{\"id\":\"1\",\"actorId\":\"someActor\",\"roleName\":\"tribunal-caseworker\","
+            + "\"created\":\"2024-01-01T10:00:00\",\"attributes\":{\"jurisdiction\":\"IA\"}}]}",
+            RoleAssignmentResource.class
+        );
+
+        assertEquals(1, resource.roleAssignmentResponse().size());
+        assertEquals("someActor", resource.roleAssignmentResponse().get(0).getActorId());
+        assertEquals(RoleName.TRIBUNAL_CASEWORKER, resource.roleAssignmentResponse().get(0).getRoleName());
+        assertEquals(List.of("IA"), List.copyOf(resource.roleAssignmentResponse().get(0).getAttributes().values()));
+    }
+}
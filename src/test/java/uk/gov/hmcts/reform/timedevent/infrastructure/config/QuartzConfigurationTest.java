@@ -0,0 +1,72 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static uk.gov.hmcts.reform.timedevent.infrastructure.config.QuartzConfiguration.*;
+
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class QuartzConfigurationTest {
+
+    private final Map<String, String> quartzProperties = Map.of(
+        THREAD_COUNT, "8",
+        "org.quartz.jobStore.isClustered", "true"
+    );
+
+    @Test
+    void should_default_batch_size_to_thread_count() {
+
+        Map<String, String> properties = batchAcquisitionProperties(quartzProperties, 0, 1000);
+
+        assertEquals("8", properties.get(BATCH_MAX_COUNT));
+        assertEquals("1000", properties.get(BATCH_FIRE_AHEAD_WINDOW));
+        assertEquals("true", properties.get(ACQUIRE_TRIGGERS_WITHIN_LOCK));
+        assertEquals("true", properties.get("org.quartz.jobStore.isClustered"));
+    }
+
+    @Test
+    void should_use_configured_batch_size() {
+
+        Map<String, String> properties = batchAcquisitionProperties(quartzProperties, 4, 0);
+
+        assertEquals("4", properties.get(BATCH_MAX_COUNT));
+        assertEquals("0", properties.get(BATCH_FIRE_AHEAD_WINDOW));
+    }
+
+    @Test
+    void should_not_force_lock_for_single_trigger_acquisition() {
+
+        Map<String, String> properties = batchAcquisitionProperties(quartzProperties, 1, 0);
+
+        assertEquals("1", properties.get(BATCH_MAX_COUNT));
+        assertFalse(properties.containsKey(ACQUIRE_TRIGGERS_WITHIN_LOCK));
+    }
+
+    @Test
+    void should_reject_batch_size_out_of_thread_pool_range() {
+
+        assertThrows(IllegalStateException.class, () -> batchAcquisitionProperties(quartzProperties, 9, 0));
+        assertThrows(IllegalStateException.class, () -> batchAcquisitionProperties(quartzProperties, -1, 0));
+    }
+
+    @Test
+    void should_reject_fire_ahead_window_out_of_misfire_threshold_range() {
+
+        assertThrows(IllegalStateException.class, () -> batchAcquisitionProperties(quartzProperties, 0, -1));
+        assertThrows(IllegalStateException.class, () -> batchAcquisitionProperties(quartzProperties, 0, 60000));
+
+        Map<String, String> properties = batchAcquisitionProperties(
+            Map.of(THREAD_COUNT, "8", MISFIRE_THRESHOLD, "120000"), 0, 60000
+        );
+
+        assertEquals("60000", properties.get(BATCH_FIRE_AHEAD_WINDOW));
+    }
+
+    @Test
+    void should_default_thread_count_when_not_configured() {
+
+        Map<String, String> properties = batchAcquisitionProperties(Map.of(), 0, 0);
+
+        assertEquals("10", properties.get(BATCH_MAX_COUNT));
+    }
+}
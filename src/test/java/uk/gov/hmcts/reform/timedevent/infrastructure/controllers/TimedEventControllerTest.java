@@ -4,6 +4,8 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,6 +15,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import uk.gov.hmcts.reform.timedevent.domain.entities.TimedEvent;
+import uk.gov.hmcts.reform.timedevent.domain.entities.TimedEventBatchResult;
 import uk.gov.hmcts.reform.timedevent.domain.entities.ccd.Event;
 import uk.gov.hmcts.reform.timedevent.domain.services.SchedulerService;
 import uk.gov.hmcts.reform.timedevent.infrastructure.security.CcdEventAuthorizor;
@@ -44,7 +47,7 @@ class TimedEventControllerTest {
 
         when(schedulerService.schedule(timedEvent)).thenReturn(identity);
 
-        timedEventController = new TimedEventController(ccdEventAuthorizor, schedulerService);
+        timedEventController = new TimedEventController(ccdEventAuthorizor, schedulerService, 500);
 
         ResponseEntity<TimedEvent> response = timedEventController.post(timedEvent);
 
@@ -77,7 +80,7 @@ class TimedEventControllerTest {
 
         when(schedulerService.reschedule(timedEvent)).thenReturn(identity);
 
-        timedEventController = new TimedEventController(ccdEventAuthorizor, schedulerService);
+        timedEventController = new TimedEventController(ccdEventAuthorizor, schedulerService, 500);
 
         ResponseEntity<TimedEvent> response = timedEventController.post(timedEvent);
 
@@ -99,7 +102,7 @@ class TimedEventControllerTest {
     @Test
     void should_return_bad_request_when_event_is_missing_on_post() {
 
-        timedEventController = new TimedEventController(ccdEventAuthorizor, schedulerService);
+        timedEventController = new TimedEventController(ccdEventAuthorizor, schedulerService, 500);
 
         ResponseEntity<TimedEvent> response = timedEventController.post(new TimedEvent(
             "",
@@ -119,7 +122,7 @@ class TimedEventControllerTest {
     @Test
     void should_return_bad_request_when_scheduledDateTime_is_missing_on_post() {
 
-        timedEventController = new TimedEventController(ccdEventAuthorizor, schedulerService);
+        timedEventController = new TimedEventController(ccdEventAuthorizor, schedulerService, 500);
 
         ResponseEntity<TimedEvent> response = timedEventController.post(new TimedEvent(
             "",
@@ -139,7 +142,7 @@ class TimedEventControllerTest {
     @Test
     void should_return_bad_request_when_jurisdiction_is_missing_on_post() {
 
-        timedEventController = new TimedEventController(ccdEventAuthorizor, schedulerService);
+        timedEventController = new TimedEventController(ccdEventAuthorizor, schedulerService, 500);
 
         ResponseEntity<TimedEvent> response = timedEventController.post(new TimedEvent(
             "",
@@ -159,7 +162,7 @@ class TimedEventControllerTest {
     @Test
     void should_return_bad_request_when_caseType_is_missing_on_post() {
 
-        timedEventController = new TimedEventController(ccdEventAuthorizor, schedulerService);
+        timedEventController = new TimedEventController(ccdEventAuthorizor, schedulerService, 500);
 
         ResponseEntity<TimedEvent> response = timedEventController.post(new TimedEvent(
             "",
@@ -179,7 +182,7 @@ class TimedEventControllerTest {
     @Test
     void should_return_bad_request_when_caseId_is_missing_on_post() {
 
-        timedEventController = new TimedEventController(ccdEventAuthorizor, schedulerService);
+        timedEventController = new TimedEventController(ccdEventAuthorizor, schedulerService, 500);
 
         ResponseEntity<TimedEvent> response = timedEventController.post(new TimedEvent(
             "",
@@ -201,7 +204,7 @@ class TimedEventControllerTest {
 
         when(schedulerService.get(timedEvent.getId())).thenReturn(Optional.of(timedEvent));
 
-        timedEventController = new TimedEventController(ccdEventAuthorizor, schedulerService);
+        timedEventController = new TimedEventController(ccdEventAuthorizor, schedulerService, 500);
 
         ResponseEntity<TimedEvent> response = timedEventController.get(timedEvent.getId());
 
@@ -223,7 +226,7 @@ class TimedEventControllerTest {
         String notExistingIdentity = "notExistingIdentity";
         when(schedulerService.get(notExistingIdentity)).thenReturn(Optional.empty());
 
-        timedEventController = new TimedEventController(ccdEventAuthorizor, schedulerService);
+        timedEventController = new TimedEventController(ccdEventAuthorizor, schedulerService, 500);
 
         ResponseEntity<TimedEvent> response = timedEventController.get(notExistingIdentity);
 
@@ -232,11 +235,27 @@ class TimedEventControllerTest {
         verify(schedulerService).get(notExistingIdentity);
     }
 
+    @Test
+    void should_return_pending_timed_events_of_the_case_on_get() {
+
+        when(schedulerService.getPending(timedEvent.getCaseId())).thenReturn(List.of(timedEvent));
+
+        timedEventController = new TimedEventController(ccdEventAuthorizor, schedulerService, 500);
+
+        ResponseEntity<List<TimedEvent>> response = timedEventController.getPending(timedEvent.getCaseId());
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(timedEvent), response.getBody());
+
+        verify(schedulerService).getPending(timedEvent.getCaseId());
+        verifyNoInteractions(ccdEventAuthorizor);
+    }
+
     @Test
     void should_throw_access_denied_exception_when_ccd_event_authorizor_complains() {
 
         doThrow(new AccessDeniedException("Event 'unknown' not allowed")).when(ccdEventAuthorizor).throwIfNotAuthorized(Event.UNKNOWN);
-        timedEventController = new TimedEventController(ccdEventAuthorizor, schedulerService);
+        timedEventController = new TimedEventController(ccdEventAuthorizor, schedulerService, 500);
 
         AccessDeniedException thrown = assertThrows(
             AccessDeniedException.class,
@@ -246,4 +265,99 @@ class TimedEventControllerTest {
 
         verifyNoInteractions(schedulerService);
     }
+
+    @Test
+    void should_schedule_valid_and_report_invalid_timed_events_on_post_batch() {
+
+        TimedEvent invalidTimedEvent = new TimedEvent(
+            "",
+            Event.EXAMPLE,
+            ZonedDateTime.now(),
+            "IA",
+            "Asylum",
+            0
+        );
+        TimedEvent forbiddenTimedEvent = new TimedEvent(
+            "",
+            Event.END_APPEAL_AUTOMATICALLY,
+            ZonedDateTime.now(),
+            "IA",
+            "Asylum",
+            12345
+        );
+
+        doThrow(new AccessDeniedException("Event 'endAppealAutomatically' not allowed"))
+            .when(ccdEventAuthorizor).throwIfNotAuthorized(Event.END_APPEAL_AUTOMATICALLY);
+        when(schedulerService.scheduleAll(List.of(timedEvent, timedEvent))).thenReturn(List.of(
+            new TimedEventBatchResult(0, HttpStatus.CREATED.value(), timedEvent, null),
+            new TimedEventBatchResult(1, HttpStatus.NOT_FOUND.value(), timedEvent, "Timed event not found: " + identity)
+        ));
+
+        timedEventController = new TimedEventController(ccdEventAuthorizor, schedulerService, 500);
+
+        ResponseEntity<List<TimedEventBatchResult>> response = timedEventController.postBatch(
+            List.of(timedEvent, invalidTimedEvent, forbiddenTimedEvent, timedEvent)
+        );
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(4, response.getBody().size());
+
+        assertEquals(HttpStatus.CREATED.value(), response.getBody().get(0).getStatus());
+        assertEquals(identity, response.getBody().get(0).getTimedEvent().getId());
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getBody().get(1).getStatus());
+        assertEquals(HttpStatus.FORBIDDEN.value(), response.getBody().get(2).getStatus());
+        assertEquals("Event 'endAppealAutomatically' not allowed", response.getBody().get(2).getError());
+        assertEquals(HttpStatus.NOT_FOUND.value(), response.getBody().get(3).getStatus());
+        assertEquals(3, response.getBody().get(3).getIndex());
+        assertEquals("Timed event not found: " + identity, response.getBody().get(3).getError());
+
+        // authorization is checked once per distinct event
+        verify(ccdEventAuthorizor, times(1)).throwIfNotAuthorized(timedEvent.getEvent());
+        verify(ccdEventAuthorizor, times(1)).throwIfNotAuthorized(Event.END_APPEAL_AUTOMATICALLY);
+        verify(schedulerService).scheduleAll(List.of(timedEvent, timedEvent));
+    }
+
+    @Test
+    void should_reject_every_item_repeating_an_id_on_post_batch() {
+
+        TimedEvent first = new TimedEvent(identity, Event.UNKNOWN, ZonedDateTime.now(), "jurisdiction", "caseType", 1234);
+        TimedEvent second = new TimedEvent(identity, Event.UNKNOWN, ZonedDateTime.now(), "jurisdiction", "caseType", 5678);
+
+        when(schedulerService.scheduleAll(List.of(timedEvent))).thenReturn(List.of(
+            new TimedEventBatchResult(0, HttpStatus.CREATED.value(), timedEvent, null)
+        ));
+
+        timedEventController = new TimedEventController(ccdEventAuthorizor, schedulerService, 500);
+
+        ResponseEntity<List<TimedEventBatchResult>> response = timedEventController.postBatch(
+            List.of(first, timedEvent, second)
+        );
+
+        assertNotNull(response.getBody());
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getBody().get(0).getStatus());
+        assertEquals("Timed event id repeated in batch: " + identity, response.getBody().get(0).getError());
+        assertEquals(HttpStatus.CREATED.value(), response.getBody().get(1).getStatus());
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getBody().get(2).getStatus());
+
+        verify(schedulerService).scheduleAll(List.of(timedEvent));
+    }
+
+    @Test
+    void should_return_bad_request_when_batch_is_empty_or_too_large_on_post_batch() {
+
+        timedEventController = new TimedEventController(ccdEventAuthorizor, schedulerService, 1);
+
+        assertEquals(
+            HttpStatus.BAD_REQUEST,
+            timedEventController.postBatch(Collections.emptyList()).getStatusCode()
+        );
+        assertEquals(
+            HttpStatus.BAD_REQUEST,
+            timedEventController.postBatch(List.of(timedEvent, timedEvent)).getStatusCode()
+        );
+
+        verifyNoInteractions(schedulerService);
+        verifyNoInteractions(ccdEventAuthorizor);
+    }
 }
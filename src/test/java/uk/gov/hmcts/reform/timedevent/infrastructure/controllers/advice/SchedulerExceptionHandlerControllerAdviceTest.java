@@ -16,6 +16,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.RequestContextHolder;
 import uk.gov.hmcts.reform.timedevent.domain.entities.TimedEvent;
+import uk.gov.hmcts.reform.timedevent.infrastructure.services.exceptions.DuplicateTimedEventException;
 import uk.gov.hmcts.reform.timedevent.infrastructure.services.exceptions.SchedulerProcessingException;
 
 @ExtendWith(MockitoExtension.class)
@@ -47,6 +48,22 @@ class SchedulerExceptionHandlerControllerAdviceTest {
         assertNull(responseEntity.getBody());
     }
 
+    @Test
+    public void should_return_conflict_when_duplicate_timed_event_exception() {
+
+        when(requestAttributes.getAttribute("CCDCaseId", RequestAttributes.SCOPE_REQUEST)).thenReturn(12345);
+
+        SchedulerExceptionHandlerControllerAdvice controllerAdvice = new SchedulerExceptionHandlerControllerAdvice();
+
+        ResponseEntity<TimedEvent> responseEntity = controllerAdvice.handleDuplicate(
+            request,
+            new DuplicateTimedEventException("someId")
+        );
+
+        assertEquals(HttpStatus.CONFLICT, responseEntity.getStatusCode());
+        assertNull(responseEntity.getBody());
+    }
+
     @AfterEach
     public void cleanUp() {
         RequestContextHolder.resetRequestAttributes();
@@ -0,0 +1,109 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.health;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+
+@ExtendWith(MockitoExtension.class)
+class CachedHealthIndicatorTest {
+
+    @Mock
+    private HealthIndicator delegate;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void should_serve_cached_result_within_ttl() {
+
+        when(delegate.health()).thenReturn(Health.up().build());
+
+        CachedHealthIndicator indicator = new CachedHealthIndicator("ccd", delegate, 60, 1000, executor);
+
+        assertEquals(Status.UP, indicator.health().getStatus());
+        assertEquals(Status.UP, indicator.health().getStatus());
+        assertEquals(Status.UP, indicator.health().getStatus());
+
+        verify(delegate, times(1)).health();
+    }
+
+    @Test
+    public void should_serve_stale_result_while_refreshing_in_background() {
+
+        when(delegate.health()).thenReturn(Health.up().build()).thenReturn(Health.down().build());
+
+        CachedHealthIndicator indicator = new CachedHealthIndicator("ccd", delegate, 0, 1000, executor);
+
+        assertEquals(Status.UP, indicator.health().getStatus());
+
+        // stale result is served, refresh is started
+        assertEquals(Status.UP, indicator.health().getStatus());
+
+        await(() -> indicator.health().getStatus() == Status.DOWN);
+    }
+
+    @Test
+    public void should_report_down_when_check_does_not_complete_in_time() throws InterruptedException {
+
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.health()).thenAnswer(invocation -> {
+            release.await();
+            return Health.up().build();
+        });
+
+        CachedHealthIndicator indicator = new CachedHealthIndicator("ccd", delegate, 0, 50, executor);
+
+        Health health = indicator.health();
+        assertEquals(Status.DOWN, health.getStatus());
+        assertEquals("Health check timed out after 50ms", health.getDetails().get("error"));
+
+        // no other call is started while the first one hangs
+        await(() -> indicator.health().getDetails().containsKey("error"));
+        indicator.health();
+        verify(delegate, times(1)).health();
+
+        release.countDown();
+        await(() -> indicator.health().getStatus() == Status.UP);
+    }
+
+    @Test
+    public void should_report_down_when_check_fails() {
+
+        when(delegate.health()).thenThrow(new IllegalStateException("connection refused"));
+
+        CachedHealthIndicator indicator = new CachedHealthIndicator("ccd", delegate, 60, 1000, executor);
+
+        Health health = indicator.health();
+
+        assertEquals(Status.DOWN, health.getStatus());
+        assertEquals("java.lang.IllegalStateException: connection refused", health.getDetails().get("error"));
+    }
+
+    private static void await(BooleanSupplier condition) {
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("condition not met in time");
+            }
+            Thread.onSpinWait();
+        }
+    }
+}
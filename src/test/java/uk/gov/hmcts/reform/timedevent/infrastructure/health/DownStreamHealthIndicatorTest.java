@@ -2,16 +2,27 @@ package uk.gov.hmcts.reform.timedevent.infrastructure.health;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableMap;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestTemplate;
 import uk.gov.hmcts.reform.timedevent.infrastructure.config.HealthCheckConfiguration;
 
@@ -20,23 +31,63 @@ public class DownStreamHealthIndicatorTest {
 
     @Mock RestTemplate restTemplate;
 
+    @Mock(answer = Answers.RETURNS_SELF) RestTemplateBuilder restTemplateBuilder;
+
     @Mock HealthCheckConfiguration healthCheckConfiguration;
 
+    @BeforeEach
+    public void setUp() {
+        lenient().when(restTemplateBuilder.build()).thenReturn(restTemplate);
+    }
+
     @Test
     public void testGetContributor() {
         when(healthCheckConfiguration.getServices()).thenReturn(getHealthCheckConfiguration());
 
-        DownStreamHealthIndicator downStreamHealthIndicator = new DownStreamHealthIndicator(restTemplate, healthCheckConfiguration);
+        DownStreamHealthIndicator downStreamHealthIndicator = new DownStreamHealthIndicator(restTemplateBuilder, healthCheckConfiguration);
 
         assertNotNull(downStreamHealthIndicator.getContributor("service2"));
-        assertEquals(ServiceHealthIndicator.class, downStreamHealthIndicator.getContributor("service2").getClass());
+        assertEquals(CachedHealthIndicator.class, downStreamHealthIndicator.getContributor("service2").getClass());
+        assertEquals(
+            ServiceHealthIndicator.class,
+            ((CachedHealthIndicator) downStreamHealthIndicator.getContributor("service2")).getDelegate().getClass()
+        );
+    }
+
+    @Test
+    public void should_check_all_downstreams_when_iterated() {
+        when(healthCheckConfiguration.getServices()).thenReturn(getHealthCheckConfiguration());
+        when(healthCheckConfiguration.getTimeoutInMillis()).thenReturn(1000L);
+        when(restTemplate.getForEntity(anyString(), eq(String.class)))
+            .thenReturn(ResponseEntity.ok("{\"status\" : \"UP\"}"));
+
+        DownStreamHealthIndicator downStreamHealthIndicator = new DownStreamHealthIndicator(restTemplateBuilder, healthCheckConfiguration);
+
+        downStreamHealthIndicator.iterator().forEachRemaining(contributor ->
+            assertEquals(Status.UP, ((HealthIndicator) contributor.getContributor()).health().getStatus())
+        );
+
+        verify(restTemplate).getForEntity("http://service1uri", String.class);
+        verify(restTemplate).getForEntity("http://service2uri", String.class);
+    }
+
+    @Test
+    public void should_bound_each_check_call_with_its_timeout() {
+        Map<String, Map<String, String>> services = new HashMap<>();
+        services.put("ccd", ImmutableMap.of("uri", "http://ccd", "response", "UP", "timeoutInMillis", "500"));
+        when(healthCheckConfiguration.getServices()).thenReturn(services);
+
+        new DownStreamHealthIndicator(restTemplateBuilder, healthCheckConfiguration);
+
+        verify(restTemplateBuilder).connectTimeout(Duration.ofMillis(500));
+        verify(restTemplateBuilder).readTimeout(Duration.ofMillis(500));
     }
 
     @Test
     public void should_throw_exception_when_services_list_is_null_or_empty() {
         when(healthCheckConfiguration.getServices()).thenReturn(null);
 
-        Assertions.assertThatThrownBy(() -> new DownStreamHealthIndicator(restTemplate, healthCheckConfiguration))
+        Assertions.assertThatThrownBy(() -> new DownStreamHealthIndicator(restTemplateBuilder, healthCheckConfiguration))
             .hasMessage("HealthCheckConfiguration cannot be null or empty")
             .isExactlyInstanceOf(NullPointerException.class);
     }
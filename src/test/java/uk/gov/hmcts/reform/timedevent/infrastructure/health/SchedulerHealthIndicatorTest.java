@@ -0,0 +1,315 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.health;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.quartz.JobBuilder;
+import org.quartz.JobExecutionContext;
+import org.quartz.ListenerManager;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.SchedulerMetaData;
+import org.quartz.TriggerListener;
+import org.quartz.utils.Key;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.autoconfigure.quartz.QuartzProperties;
+import uk.gov.hmcts.reform.timedevent.infrastructure.services.DateTimeProvider;
+import uk.gov.hmcts.reform.timedevent.infrastructure.services.quartz.CompletedJobJanitor;
+import uk.gov.hmcts.reform.timedevent.infrastructure.services.quartz.TimedEventJob;
+
+@ExtendWith(MockitoExtension.class)
+class SchedulerHealthIndicatorTest {
+
+    private static final String BACKLOG_QUERY =
+        "SELECT COUNT(*) FROM (SELECT 1 FROM ia_timed_event_service.QRTZ_TRIGGERS "
+        + "WHERE SCHED_NAME = ? AND TRIGGER_STATE = 'WAITING' AND NEXT_FIRE_TIME < ? LIMIT ?) backlog";
+
+    @Mock
+    private Scheduler quartzScheduler;
+
+    @Mock
+    private ListenerManager listenerManager;
+
+    @Mock
+    private SchedulerMetaData schedulerMetaData;
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private HikariDataSource hikariDataSource;
+
+    @Mock
+    private HikariPoolMXBean hikariPool;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement backlogStatement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    @Mock
+    private DateTimeProvider dateTimeProvider;
+
+    @Mock
+    private JobExecutionContext jobExecutionContext;
+
+    private final QuartzProperties quartzProperties = new QuartzProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private long now = 1_700_000_000_000L;
+
+    private SchedulerHealthIndicator schedulerHealthIndicator;
+
+    @BeforeEach
+    void setUp() throws SchedulerException, SQLException {
+
+        quartzProperties.getProperties().put("org.quartz.jobStore.tablePrefix", "ia_timed_event_service.QRTZ_");
+
+        when(quartzScheduler.getListenerManager()).thenReturn(listenerManager);
+        lenient().when(dateTimeProvider.now())
+            .thenAnswer(invocation -> ZonedDateTime.ofInstant(Instant.ofEpochMilli(now), ZoneOffset.UTC));
+
+        lenient().when(quartzScheduler.getCurrentlyExecutingJobs()).thenReturn(Collections.emptyList());
+        lenient().when(quartzScheduler.getMetaData()).thenReturn(schedulerMetaData);
+        lenient().when(quartzScheduler.getSchedulerName()).thenReturn("timed-event-quartz-scheduler");
+        lenient().when(schedulerMetaData.getThreadPoolSize()).thenReturn(4);
+
+        lenient().when(dataSource.isWrapperFor(HikariDataSource.class)).thenReturn(true);
+        lenient().when(dataSource.unwrap(HikariDataSource.class)).thenReturn(hikariDataSource);
+        lenient().when(hikariDataSource.getHikariPoolMXBean()).thenReturn(hikariPool);
+        lenient().when(hikariDataSource.getMaximumPoolSize()).thenReturn(10);
+        lenient().when(hikariPool.getActiveConnections()).thenReturn(2);
+
+        lenient().when(dataSource.getConnection()).thenReturn(connection);
+        lenient().when(connection.prepareStatement(BACKLOG_QUERY)).thenReturn(backlogStatement);
+        lenient().when(backlogStatement.executeQuery()).thenReturn(resultSet);
+        lenient().when(resultSet.next()).thenReturn(true);
+        lenient().when(resultSet.getLong(1)).thenReturn(3L);
+
+        schedulerHealthIndicator = new SchedulerHealthIndicator(
+            quartzScheduler,
+            dataSource,
+            quartzProperties,
+            dateTimeProvider,
+            meterRegistry,
+            0.9,
+            30,
+            10000
+        );
+    }
+
+    @Test
+    void should_register_trigger_listener_for_timed_events() {
+
+        verify(listenerManager).addTriggerListener(
+            argThat(listener -> SchedulerHealthIndicator.LISTENER_NAME.equals(listener.getName())),
+            any()
+        );
+    }
+
+    @Test
+    void should_report_scheduler_and_jdbc_pool_details() throws SQLException {
+
+        Health health = schedulerHealthIndicator.health();
+
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(0L, health.getDetails().get("acquisitionLagInMillis"));
+        assertEquals(0, health.getDetails().get("executingJobs"));
+        assertEquals(4, health.getDetails().get("poolSize"));
+        assertEquals(0.2, health.getDetails().get("jdbcPoolUsage"));
+        assertEquals(3L, health.getDetails().get("misfireBacklog"));
+        assertEquals(List.of(), health.getDetails().get("breaches"));
+
+        verify(backlogStatement).setString(1, "timed-event-quartz-scheduler");
+        verify(backlogStatement).setLong(2, now);
+        verify(backlogStatement).setInt(3, 10000);
+    }
+
+    @Test
+    void should_be_out_of_service_when_jdbc_pool_stays_exhausted() {
+
+        when(hikariPool.getActiveConnections()).thenReturn(9);
+
+        Health health = schedulerHealthIndicator.health();
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(List.of("jdbc pool usage"), health.getDetails().get("breaches"));
+
+        now += 29_000;
+        assertEquals(Status.UP, schedulerHealthIndicator.health().getStatus());
+
+        now += 1_000;
+        assertEquals(Status.OUT_OF_SERVICE, schedulerHealthIndicator.health().getStatus());
+    }
+
+    @Test
+    void should_be_ready_again_when_breach_is_over() {
+
+        when(hikariPool.getActiveConnections())
+            .thenReturn(9)
+            .thenReturn(9)
+            .thenReturn(2)
+            .thenReturn(9);
+
+        schedulerHealthIndicator.health();
+        now += 30_000;
+        assertEquals(Status.OUT_OF_SERVICE, schedulerHealthIndicator.health().getStatus());
+
+        assertEquals(Status.UP, schedulerHealthIndicator.health().getStatus());
+
+        // sustain period starts over
+        assertEquals(Status.UP, schedulerHealthIndicator.health().getStatus());
+    }
+
+    @Test
+    void should_only_report_saturated_pool() throws SchedulerException {
+
+        when(jobExecutionContext.getJobDetail()).thenReturn(JobBuilder.newJob(TimedEventJob.class).build());
+        when(quartzScheduler.getCurrentlyExecutingJobs())
+            .thenReturn(Collections.nCopies(4, jobExecutionContext));
+
+        schedulerHealthIndicator.health();
+        now += 60_000;
+        Health health = schedulerHealthIndicator.health();
+
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(1.0, health.getDetails().get("poolSaturation"));
+        assertEquals(List.of(), health.getDetails().get("breaches"));
+    }
+
+    @Test
+    void should_not_count_maintenance_jobs_as_executing() throws SchedulerException {
+
+        JobExecutionContext janitorContext = mock(JobExecutionContext.class);
+        when(janitorContext.getJobDetail()).thenReturn(
+            JobBuilder.newJob(CompletedJobJanitor.class)
+                .withIdentity(CompletedJobJanitor.JOB_NAME, CompletedJobJanitor.JOB_GROUP)
+                .build()
+        );
+        when(jobExecutionContext.getJobDetail()).thenReturn(
+            JobBuilder.newJob(TimedEventJob.class).withIdentity("some-id", Key.DEFAULT_GROUP).build()
+        );
+        when(quartzScheduler.getCurrentlyExecutingJobs()).thenReturn(List.of(janitorContext, jobExecutionContext));
+
+        Health health = schedulerHealthIndicator.health();
+
+        assertEquals(1, health.getDetails().get("executingJobs"));
+        assertEquals(0.25, health.getDetails().get("poolSaturation"));
+    }
+
+    @Test
+    void should_only_report_acquisition_lag() {
+
+        schedulerHealthIndicator.recordAcquisitionLag(45_000, now);
+        schedulerHealthIndicator.health();
+
+        now += 30_000;
+        schedulerHealthIndicator.recordAcquisitionLag(45_000, now);
+        Health health = schedulerHealthIndicator.health();
+
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(45_000L, health.getDetails().get("acquisitionLagInMillis"));
+        assertEquals(List.of(), health.getDetails().get("breaches"));
+        assertEquals(2, meterRegistry.timer("quartz.trigger.acquisition.lag").count());
+    }
+
+    @Test
+    void should_smooth_and_forget_acquisition_lag() {
+
+        schedulerHealthIndicator.recordAcquisitionLag(1_000, now);
+        schedulerHealthIndicator.recordAcquisitionLag(11_000, now);
+
+        assertEquals(4_000L, schedulerHealthIndicator.health().getDetails().get("acquisitionLagInMillis"));
+
+        now += SchedulerHealthIndicator.LAG_WINDOW_IN_MILLIS + 1;
+
+        assertEquals(0L, schedulerHealthIndicator.health().getDetails().get("acquisitionLagInMillis"));
+    }
+
+    @Test
+    void should_not_query_backlog_when_jdbc_pool_is_exhausted() throws SQLException {
+
+        when(hikariPool.getActiveConnections()).thenReturn(10);
+
+        Health health = schedulerHealthIndicator.health();
+
+        assertEquals(List.of("jdbc pool usage"), health.getDetails().get("breaches"));
+        assertFalse(health.getDetails().containsKey("misfireBacklog"));
+        verify(dataSource, never()).getConnection();
+    }
+
+    @Test
+    void should_only_report_misfire_backlog() {
+
+        when(resultSet.getLong(1)).thenReturn(10000L);
+
+        schedulerHealthIndicator.health();
+        now += 60_000;
+        Health health = schedulerHealthIndicator.health();
+
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(10000L, health.getDetails().get("misfireBacklog"));
+    }
+
+    @Test
+    void should_report_backlog_error_without_breach() throws SQLException {
+
+        when(backlogStatement.executeQuery()).thenThrow(new SQLException("timeout"));
+
+        Health health = schedulerHealthIndicator.health();
+
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals("timeout", health.getDetails().get("misfireBacklogError"));
+        verify(connection).close();
+    }
+
+    @Test
+    void should_skip_jdbc_pool_details_when_data_source_is_not_hikari() throws SQLException {
+
+        when(dataSource.isWrapperFor(HikariDataSource.class)).thenReturn(false);
+
+        Health health = schedulerHealthIndicator.health();
+
+        assertFalse(health.getDetails().containsKey("jdbcPoolUsage"));
+        assertEquals(3L, health.getDetails().get("misfireBacklog"));
+    }
+
+    @Test
+    void should_record_lag_of_fired_trigger() throws SchedulerException {
+
+        ArgumentCaptor<TriggerListener> listener = ArgumentCaptor.forClass(TriggerListener.class);
+        verify(listenerManager).addTriggerListener(listener.capture(), any());
+
+        when(jobExecutionContext.getScheduledFireTime()).thenReturn(new Date(now - 5_000));
+        when(jobExecutionContext.getFireTime()).thenReturn(new Date(now));
+
+        listener.getValue().triggerFired(null, jobExecutionContext);
+
+        assertEquals(5_000L, schedulerHealthIndicator.health().getDetails().get("acquisitionLagInMillis"));
+    }
+}
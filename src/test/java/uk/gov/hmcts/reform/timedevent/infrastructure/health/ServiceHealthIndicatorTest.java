@@ -1,6 +1,8 @@
 package uk.gov.hmcts.reform.timedevent.infrastructure.health;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.when;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -78,5 +80,23 @@ public class ServiceHealthIndicatorTest {
 
         assertEquals(Health.down().build(), serviceHealthIndicator.health());
     }
-}
 
+    @Test
+    public void health_status_should_be_up_when_response_is_formatted() {
+        when(responseEntity.getStatusCode()).thenReturn(HttpStatus.OK);
+        when(responseEntity.getBody()).thenReturn("{\n  \"status\" : \"UP\",\n  \"components\" : { }\n}");
+        when(restTemplate.getForEntity(uri, String.class)).thenReturn(responseEntity);
+
+        assertEquals(Health.up().build(), serviceHealthIndicator.health());
+    }
+
+    @Test
+    public void should_match_ignoring_whitespace() {
+        assertTrue(ServiceHealthIndicator.containsIgnoringWhitespace("{ \"status\":\t\"UP\" }", matcher));
+        assertTrue(ServiceHealthIndicator.containsIgnoringWhitespace("\"stat us\":\"UP\"", matcher));
+        assertTrue(ServiceHealthIndicator.containsIgnoringWhitespace("anything", ""));
+        assertFalse(ServiceHealthIndicator.containsIgnoringWhitespace("{\"status\":\"UNKNOWN\"}", matcher));
+        assertFalse(ServiceHealthIndicator.containsIgnoringWhitespace("\"status\":\"U", matcher));
+        assertFalse(ServiceHealthIndicator.containsIgnoringWhitespace("", matcher));
+    }
+}
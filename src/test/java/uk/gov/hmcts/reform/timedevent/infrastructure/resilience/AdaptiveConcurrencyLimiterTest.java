@@ -0,0 +1,252 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.resilience;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import feign.FeignException;
+import feign.Request;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.timedevent.infrastructure.services.exceptions.ConcurrencyLimitExceededException;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    public void should_reject_when_limit_is_reached() {
+
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 1, 10);
+
+        limiter.acquire(() -> 0);
+        limiter.acquire(() -> 0);
+
+        assertThrows(ConcurrencyLimitExceededException.class, () -> limiter.acquire(() -> 0));
+        assertEquals(1, meterRegistry.counter("timed.event.concurrency.rejected").count());
+        assertEquals(2.0, meterRegistry.get("timed.event.concurrency.inflight").gauge().value());
+    }
+
+    @Test
+    public void should_admit_again_after_release() {
+
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 1, 10);
+
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire(() -> 0);
+        limiter.release(permit, AdaptiveConcurrencyLimiter.Outcome.IGNORED, 10 * MILLIS);
+
+        assertDoesNotThrow(() -> limiter.acquire(() -> 20 * MILLIS));
+    }
+
+    @Test
+    public void should_increase_limit_additively_while_latency_is_flat_and_limit_is_used() {
+
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 1, 10);
+
+        long now = MILLIS;
+        for (int i = 0; i < 4; i++) {
+            long startedAt = now;
+            AdaptiveConcurrencyLimiter.Permit first = limiter.acquire(() -> startedAt);
+            AdaptiveConcurrencyLimiter.Permit second = limiter.acquire(() -> startedAt);
+            now += 100 * MILLIS;
+            limiter.release(first, AdaptiveConcurrencyLimiter.Outcome.SUCCESS, now);
+            limiter.release(second, AdaptiveConcurrencyLimiter.Outcome.SUCCESS, now);
+        }
+
+        assertTrue(limiter.getLimit() >= 3.0);
+        assertEquals(3.0, meterRegistry.get("timed.event.concurrency.limit").gauge().value());
+    }
+
+    @Test
+    public void should_not_increase_limit_while_it_is_not_used() {
+
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 1, 50);
+
+        long now = MILLIS;
+        for (int i = 0; i < 20; i++) {
+            long startedAt = now;
+            AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire(() -> startedAt);
+            now += 100 * MILLIS;
+            limiter.release(permit, AdaptiveConcurrencyLimiter.Outcome.SUCCESS, now);
+        }
+
+        assertEquals(10.0, limiter.getLimit());
+    }
+
+    @Test
+    public void should_decrease_limit_multiplicatively_on_latency_spike() {
+
+        AdaptiveConcurrencyLimiter limiter = limiter(8, 1, 10);
+
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire(() -> MILLIS);
+        limiter.release(permit, AdaptiveConcurrencyLimiter.Outcome.SUCCESS, 101 * MILLIS);
+
+        permit = limiter.acquire(() -> 200 * MILLIS);
+        limiter.release(permit, AdaptiveConcurrencyLimiter.Outcome.SUCCESS, 700 * MILLIS);
+
+        assertEquals(6.0, limiter.getLimit());
+    }
+
+    @Test
+    public void should_decrease_limit_once_per_round_trip_on_dropped_calls() {
+
+        AdaptiveConcurrencyLimiter limiter = limiter(8, 1, 10);
+
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire(() -> MILLIS);
+        limiter.release(permit, AdaptiveConcurrencyLimiter.Outcome.SUCCESS, 101 * MILLIS);
+
+        AdaptiveConcurrencyLimiter.Permit first = limiter.acquire(() -> 200 * MILLIS);
+        AdaptiveConcurrencyLimiter.Permit second = limiter.acquire(() -> 200 * MILLIS);
+        limiter.release(first, AdaptiveConcurrencyLimiter.Outcome.DROPPED, 250 * MILLIS);
+        limiter.release(second, AdaptiveConcurrencyLimiter.Outcome.DROPPED, 260 * MILLIS);
+
+        assertEquals(6.0, limiter.getLimit());
+
+        permit = limiter.acquire(() -> 400 * MILLIS);
+        limiter.release(permit, AdaptiveConcurrencyLimiter.Outcome.DROPPED, 450 * MILLIS);
+
+        assertEquals(4.5, limiter.getLimit());
+    }
+
+    @Test
+    public void should_not_decrease_below_min_limit() {
+
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 2, 10);
+
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire(() -> MILLIS);
+        limiter.release(permit, AdaptiveConcurrencyLimiter.Outcome.DROPPED, 2 * MILLIS);
+
+        assertEquals(2.0, limiter.getLimit());
+    }
+
+    @Test
+    public void should_classify_outcomes() {
+
+        assertEquals(AdaptiveConcurrencyLimiter.Outcome.DROPPED, AdaptiveConcurrencyLimiter.outcome(feignException(503)));
+        assertEquals(AdaptiveConcurrencyLimiter.Outcome.DROPPED, AdaptiveConcurrencyLimiter.outcome(feignException(429)));
+        assertEquals(AdaptiveConcurrencyLimiter.Outcome.SUCCESS, AdaptiveConcurrencyLimiter.outcome(feignException(422)));
+        assertEquals(
+            AdaptiveConcurrencyLimiter.Outcome.IGNORED,
+            AdaptiveConcurrencyLimiter.outcome(BulkheadFullException.createBulkheadFullException(Bulkhead.ofDefaults("ccd")))
+        );
+        assertEquals(AdaptiveConcurrencyLimiter.Outcome.IGNORED, AdaptiveConcurrencyLimiter.outcome(new IllegalStateException()));
+    }
+
+    @Test
+    public void should_run_call_directly_when_disabled() {
+
+        AdaptiveConcurrencyLimiter limiter =
+            new AdaptiveConcurrencyLimiter(meterRegistry, false, 1, 1, 1, 0.75, 2.0, 0, 4);
+
+        limiter.acquire(() -> 0);
+
+        boolean[] called = {false};
+        limiter.execute(() -> called[0] = true);
+
+        assertTrue(called[0]);
+    }
+
+    @Test
+    public void should_not_count_queueing_as_ccd_latency() throws InterruptedException {
+
+        AdaptiveConcurrencyLimiter limiter =
+            new AdaptiveConcurrencyLimiter(meterRegistry, true, 2, 1, 10, 0.75, 2.0, 5000, 10);
+        AtomicLong clock = new AtomicLong();
+
+        // baseline of 100ms
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire(clock::get);
+        clock.set(100 * MILLIS);
+        limiter.release(permit, AdaptiveConcurrencyLimiter.Outcome.SUCCESS, clock.get());
+        double limit = limiter.getLimit();
+
+        AdaptiveConcurrencyLimiter.Permit first = limiter.acquire(clock::get);
+        limiter.acquire(clock::get);
+
+        AtomicReference<AdaptiveConcurrencyLimiter.Permit> queued = new AtomicReference<>();
+        Thread waiting = Thread.ofVirtual().start(() -> queued.set(limiter.acquire(clock::get)));
+        while (waiting.getState() != Thread.State.TIMED_WAITING) {
+            Thread.onSpinWait();
+        }
+
+        // queued for 600ms, then CCD answers within the baseline
+        clock.set(700 * MILLIS);
+        limiter.release(first, AdaptiveConcurrencyLimiter.Outcome.IGNORED, clock.get());
+        waiting.join(TimeUnit.SECONDS.toMillis(5));
+
+        clock.set(800 * MILLIS);
+        limiter.release(queued.get(), AdaptiveConcurrencyLimiter.Outcome.SUCCESS, clock.get());
+
+        assertTrue(limiter.getLimit() >= limit);
+    }
+
+    @Test
+    public void should_release_permit_when_call_fails() {
+
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 1, 10);
+
+        assertThrows(IllegalStateException.class, () -> limiter.execute(() -> {
+            throw new IllegalStateException();
+        }));
+
+        assertDoesNotThrow(() -> limiter.execute(() -> { }));
+    }
+
+    @Test
+    public void should_derive_max_limit_from_scheduler_thread_count() {
+
+        assertEquals(4, AdaptiveConcurrencyLimiter.maxLimit(0, 4));
+        assertEquals(4, AdaptiveConcurrencyLimiter.maxLimit(50, 4));
+        assertEquals(3, AdaptiveConcurrencyLimiter.maxLimit(3, 4));
+    }
+
+    @Test
+    public void should_grow_from_initial_limit_up_to_scheduler_thread_count() {
+
+        AdaptiveConcurrencyLimiter limiter =
+            new AdaptiveConcurrencyLimiter(meterRegistry, true, 2, 1, 0, 0.75, 2.0, 0, 4);
+
+        long now = MILLIS;
+        for (int i = 0; i < 20; i++) {
+            long startedAt = now;
+            int limit = (int) limiter.getLimit();
+            AdaptiveConcurrencyLimiter.Permit[] permits = new AdaptiveConcurrencyLimiter.Permit[limit];
+            for (int p = 0; p < limit; p++) {
+                permits[p] = limiter.acquire(() -> startedAt);
+            }
+            now += 100 * MILLIS;
+            for (AdaptiveConcurrencyLimiter.Permit permit : permits) {
+                limiter.release(permit, AdaptiveConcurrencyLimiter.Outcome.SUCCESS, now);
+            }
+        }
+
+        assertEquals(4.0, limiter.getLimit());
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit, int minLimit, int maxLimit) {
+        return new AdaptiveConcurrencyLimiter(meterRegistry, true, initialLimit, minLimit, maxLimit, 0.75, 2.0, 0, maxLimit);
+    }
+
+    private static FeignException feignException(int status) {
+
+        Request request = Request.create(
+            Request.HttpMethod.POST,
+            "http://ccd",
+            Collections.emptyMap(),
+            null,
+            StandardCharsets.UTF_8,
+            null
+        );
+
+        return FeignException.errorStatus(
+            "CcdApi#submitEvent",
+            feign.Response.builder().status(status).request(request).headers(Collections.emptyMap()).build()
+        );
+    }
+}
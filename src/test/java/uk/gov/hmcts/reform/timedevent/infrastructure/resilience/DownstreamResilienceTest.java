@@ -0,0 +1,128 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.resilience;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import feign.Request;
+import feign.Response;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.timedevent.infrastructure.security.oauth2.IdentityManagerResponseException;
+import uk.gov.hmcts.reform.timedevent.infrastructure.services.exceptions.CaseLaneBusyException;
+
+class DownstreamResilienceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    public void should_permit_execution_while_circuits_are_closed() {
+
+        DownstreamResilience downstreamResilience = downstreamResilience(true);
+
+        assertTrue(downstreamResilience.isExecutionPermitted());
+    }
+
+    @Test
+    public void should_not_permit_execution_when_ccd_or_idam_circuit_is_open() {
+
+        DownstreamResilience downstreamResilience = downstreamResilience(true);
+
+        downstreamResilience.circuitBreaker(DownstreamResilience.CCD).transitionToOpenState();
+        assertFalse(downstreamResilience.isExecutionPermitted());
+
+        downstreamResilience.circuitBreaker(DownstreamResilience.CCD).transitionToHalfOpenState();
+        assertTrue(downstreamResilience.isExecutionPermitted());
+
+        downstreamResilience.circuitBreaker(DownstreamResilience.IDAM).transitionToForcedOpenState();
+        assertFalse(downstreamResilience.isExecutionPermitted());
+    }
+
+    @Test
+    public void should_permit_execution_when_only_role_assignment_circuit_is_open() {
+
+        DownstreamResilience downstreamResilience = downstreamResilience(true);
+
+        downstreamResilience.circuitBreaker(DownstreamResilience.ROLE_ASSIGNMENT).transitionToOpenState();
+
+        assertTrue(downstreamResilience.isExecutionPermitted());
+    }
+
+    @Test
+    public void should_always_permit_execution_when_disabled() {
+
+        DownstreamResilience downstreamResilience = downstreamResilience(false);
+
+        downstreamResilience.circuitBreaker(DownstreamResilience.CCD).transitionToOpenState();
+
+        assertTrue(downstreamResilience.isExecutionPermitted());
+    }
+
+    @Test
+    public void should_notify_listener_on_execution_circuit_transitions() {
+
+        DownstreamResilience downstreamResilience = downstreamResilience(true);
+        AtomicInteger transitions = new AtomicInteger();
+        downstreamResilience.onExecutionCircuitTransition(transitions::incrementAndGet);
+
+        downstreamResilience.circuitBreaker(DownstreamResilience.CCD).transitionToOpenState();
+        downstreamResilience.circuitBreaker(DownstreamResilience.ROLE_ASSIGNMENT).transitionToOpenState();
+        downstreamResilience.circuitBreaker(DownstreamResilience.IDAM).transitionToOpenState();
+
+        assertEquals(2, transitions.get());
+    }
+
+    @Test
+    public void should_recognise_rejection_anywhere_in_cause_chain() {
+
+        DownstreamResilience downstreamResilience = downstreamResilience(true);
+        downstreamResilience.circuitBreaker(DownstreamResilience.IDAM).transitionToOpenState();
+
+        CallNotPermittedException notPermitted = CallNotPermittedException.createCallNotPermittedException(
+            downstreamResilience.circuitBreaker(DownstreamResilience.IDAM)
+        );
+        BulkheadFullException bulkheadFull = BulkheadFullException.createBulkheadFullException(
+            downstreamResilience.bulkhead(DownstreamResilience.CCD)
+        );
+
+        assertTrue(DownstreamResilience.isRejection(notPermitted));
+        assertTrue(DownstreamResilience.isRejection(new IdentityManagerResponseException("idam", notPermitted)));
+        assertTrue(DownstreamResilience.isRejection(bulkheadFull));
+        assertTrue(DownstreamResilience.isRejection(new CaseLaneBusyException("case lane is busy")));
+        assertFalse(DownstreamResilience.isRejection(new RuntimeException("ccd is down")));
+    }
+
+    @Test
+    public void should_treat_server_errors_and_throttling_as_failures() {
+
+        assertTrue(DownstreamResilience.isFailure(response(500)));
+        assertTrue(DownstreamResilience.isFailure(response(503)));
+        assertTrue(DownstreamResilience.isFailure(response(429)));
+        assertFalse(DownstreamResilience.isFailure(response(422)));
+        assertFalse(DownstreamResilience.isFailure(response(201)));
+    }
+
+    @Test
+    public void should_export_circuit_breaker_and_bulkhead_metrics() {
+
+        downstreamResilience(true);
+
+        assertNotNull(meterRegistry.find("resilience4j.circuitbreaker.state").tag("name", DownstreamResilience.CCD).gauge());
+        assertNotNull(meterRegistry.find("resilience4j.bulkhead.available.concurrent.calls").tag("name", DownstreamResilience.CCD).gauge());
+    }
+
+    private DownstreamResilience downstreamResilience(boolean enabled) {
+        return new DownstreamResilience(meterRegistry, enabled, 50, 80, 20, 20, 10, 30, 20, 500);
+    }
+
+    private static Response response(int status) {
+        return Response.builder()
+            .status(status)
+            .request(Request.create(Request.HttpMethod.GET, "http://ccd", Collections.emptyMap(), null, StandardCharsets.UTF_8, null))
+            .headers(Collections.emptyMap())
+            .build();
+    }
+}
@@ -0,0 +1,150 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.resilience;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import feign.Client;
+import feign.Request;
+import feign.RequestTemplate;
+import feign.Response;
+import feign.Target;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.hmcts.reform.timedevent.infrastructure.clients.CcdApi;
+
+@ExtendWith(MockitoExtension.class)
+class ResilientFeignClientTest {
+
+    @Mock
+    private Client delegate;
+
+    private final Request.Options options = new Request.Options();
+
+    @Test
+    public void should_pass_call_through_and_record_success() throws IOException {
+
+        DownstreamResilience downstreamResilience = downstreamResilience(1);
+        Request request = request(DownstreamResilience.CCD);
+        when(delegate.execute(request, options)).thenReturn(response(request, 201));
+
+        Response response = new ResilientFeignClient(delegate, downstreamResilience).execute(request, options);
+
+        assertEquals(201, response.status());
+        CircuitBreaker.Metrics metrics = downstreamResilience.circuitBreaker(DownstreamResilience.CCD).getMetrics();
+        assertEquals(1, metrics.getNumberOfSuccessfulCalls());
+        assertEquals(1, downstreamResilience.bulkhead(DownstreamResilience.CCD).getMetrics().getAvailableConcurrentCalls());
+    }
+
+    @Test
+    public void should_record_server_errors_and_io_errors_as_failures() throws IOException {
+
+        DownstreamResilience downstreamResilience = downstreamResilience(1);
+        ResilientFeignClient client = new ResilientFeignClient(delegate, downstreamResilience);
+        Request request = request(DownstreamResilience.CCD);
+        when(delegate.execute(request, options))
+            .thenReturn(response(request, 503))
+            .thenThrow(new IOException("connection reset"));
+
+        assertEquals(503, client.execute(request, options).status());
+        assertThrows(IOException.class, () -> client.execute(request, options));
+
+        CircuitBreaker.Metrics metrics = downstreamResilience.circuitBreaker(DownstreamResilience.CCD).getMetrics();
+        assertEquals(2, metrics.getNumberOfFailedCalls());
+        assertEquals(1, downstreamResilience.bulkhead(DownstreamResilience.CCD).getMetrics().getAvailableConcurrentCalls());
+    }
+
+    @Test
+    public void should_not_record_client_errors_as_failures() throws IOException {
+
+        DownstreamResilience downstreamResilience = downstreamResilience(1);
+        Request request = request(DownstreamResilience.CCD);
+        when(delegate.execute(request, options)).thenReturn(response(request, 422));
+
+        new ResilientFeignClient(delegate, downstreamResilience).execute(request, options);
+
+        CircuitBreaker.Metrics metrics = downstreamResilience.circuitBreaker(DownstreamResilience.CCD).getMetrics();
+        assertEquals(0, metrics.getNumberOfFailedCalls());
+        assertEquals(1, metrics.getNumberOfSuccessfulCalls());
+    }
+
+    @Test
+    public void should_fail_fast_when_circuit_is_open() {
+
+        DownstreamResilience downstreamResilience = downstreamResilience(1);
+        downstreamResilience.circuitBreaker(DownstreamResilience.CCD).transitionToOpenState();
+
+        assertThrows(
+            CallNotPermittedException.class,
+            () -> new ResilientFeignClient(delegate, downstreamResilience).execute(request(DownstreamResilience.CCD), options)
+        );
+
+        verifyNoInteractions(delegate);
+        assertEquals(1, downstreamResilience.bulkhead(DownstreamResilience.CCD).getMetrics().getAvailableConcurrentCalls());
+    }
+
+    @Test
+    public void should_fail_fast_when_bulkhead_is_full() throws IOException {
+
+        DownstreamResilience downstreamResilience = downstreamResilience(1);
+        downstreamResilience.bulkhead(DownstreamResilience.IDAM).acquirePermission();
+
+        assertThrows(
+            BulkheadFullException.class,
+            () -> new ResilientFeignClient(delegate, downstreamResilience).execute(request(DownstreamResilience.IDAM), options)
+        );
+
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    public void should_keep_downstreams_isolated() throws IOException {
+
+        DownstreamResilience downstreamResilience = downstreamResilience(1);
+        downstreamResilience.circuitBreaker(DownstreamResilience.CCD).transitionToOpenState();
+        when(delegate.execute(any(Request.class), any(Request.Options.class)))
+            .thenAnswer(invocation -> response(invocation.getArgument(0), 200));
+
+        Response response = new ResilientFeignClient(delegate, downstreamResilience)
+            .execute(request(DownstreamResilience.IDAM), options);
+
+        assertEquals(200, response.status());
+    }
+
+    private DownstreamResilience downstreamResilience(int maxConcurrentCalls) {
+        return new DownstreamResilience(new SimpleMeterRegistry(), true, 50, 80, 20, 20, 10, 30, maxConcurrentCalls, 0);
+    }
+
+    private static Request request(String downstream) {
+
+        RequestTemplate requestTemplate = new RequestTemplate();
+        requestTemplate.feignTarget(new Target.HardCodedTarget<>(CcdApi.class, downstream, "http://" + downstream));
+
+        return Request.create(
+            Request.HttpMethod.GET,
+            "http://" + downstream + "/path",
+            Collections.emptyMap(),
+            null,
+            StandardCharsets.UTF_8,
+            requestTemplate
+        );
+    }
+
+    private static Response response(Request request, int status) {
+        return Response.builder()
+            .status(status)
+            .request(request)
+            .headers(Collections.emptyMap())
+            .build();
+    }
+}
@@ -7,6 +7,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableMap;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
@@ -82,4 +83,56 @@ class CcdEventAuthorizorTest {
         );
         assertTrue(thrown.getMessage().startsWith("Event 'unknown' not allowed"));
     }
+
+    @Test
+    void should_authorize_event_granted_to_any_of_user_roles() {
+
+        Map<String, List<Event>> roleEventAccess = new ImmutableMap.Builder<String, List<Event>>()
+            .put("caseworker-caa", newArrayList(Event.SAVE_NOTIFICATIONS_TO_DATA))
+            .put(role, newArrayList(Event.EXAMPLE, Event.SAVE_NOTIFICATIONS_TO_DATA))
+            .build();
+
+        ccdEventAuthorizor = new CcdEventAuthorizor(roleEventAccess, authorizedRolesProvider);
+
+        when(authorizedRolesProvider.getRoles()).thenReturn(newHashSet("payments", role));
+
+        ccdEventAuthorizor.throwIfNotAuthorized(Event.EXAMPLE);
+        ccdEventAuthorizor.throwIfNotAuthorized(Event.SAVE_NOTIFICATIONS_TO_DATA);
+    }
+
+    @Test
+    void should_throw_exception_when_event_is_granted_to_other_roles_only() {
+
+        Map<String, List<Event>> roleEventAccess = new ImmutableMap.Builder<String, List<Event>>()
+            .put("caseworker-caa", newArrayList(Event.SAVE_NOTIFICATIONS_TO_DATA))
+            .put(role, newArrayList(Event.EXAMPLE))
+            .build();
+
+        ccdEventAuthorizor = new CcdEventAuthorizor(roleEventAccess, authorizedRolesProvider);
+
+        when(authorizedRolesProvider.getRoles()).thenReturn(newHashSet(role));
+
+        AccessDeniedException thrown = assertThrows(
+            AccessDeniedException.class,
+            () -> ccdEventAuthorizor.throwIfNotAuthorized(Event.SAVE_NOTIFICATIONS_TO_DATA)
+        );
+        assertTrue(thrown.getMessage().startsWith("Event 'saveNotificationsToData' not allowed"));
+    }
+
+    @Test
+    void should_ignore_roles_without_events() {
+
+        Map<String, List<Event>> roleEventAccess = new HashMap<>();
+        roleEventAccess.put("caseworker-ia-caseofficer", null);
+        roleEventAccess.put(role, newArrayList(Event.UNKNOWN));
+
+        ccdEventAuthorizor = new CcdEventAuthorizor(roleEventAccess, authorizedRolesProvider);
+
+        when(authorizedRolesProvider.getRoles()).thenReturn(newHashSet("caseworker-ia-caseofficer"));
+
+        assertThrows(
+            AccessDeniedException.class,
+            () -> ccdEventAuthorizor.throwIfNotAuthorized(Event.UNKNOWN)
+        );
+    }
 }
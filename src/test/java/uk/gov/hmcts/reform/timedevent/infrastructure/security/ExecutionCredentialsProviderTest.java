@@ -0,0 +1,141 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.ZonedDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.hmcts.reform.authorisation.generators.AuthTokenGenerator;
+import uk.gov.hmcts.reform.timedevent.infrastructure.security.oauth2.IdentityManagerResponseException;
+import uk.gov.hmcts.reform.timedevent.infrastructure.services.DateTimeProvider;
+
+@ExtendWith(MockitoExtension.class)
+class ExecutionCredentialsProviderTest {
+
+    @Mock
+    private SystemTokenGenerator systemTokenGenerator;
+
+    @Mock
+    private SystemUserProvider systemUserProvider;
+
+    @Mock
+    private AuthTokenGenerator s2sAuthTokenGenerator;
+
+    @Mock
+    private DateTimeProvider dateTimeProvider;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ZonedDateTime now = ZonedDateTime.parse("2024-01-01T10:00:00Z");
+
+    private ExecutionCredentialsProvider executionCredentialsProvider;
+
+    @BeforeEach
+    public void setUp() {
+
+        lenient().when(dateTimeProvider.now()).thenAnswer(invocation -> now);
+
+        executionCredentialsProvider = new ExecutionCredentialsProvider(
+            systemTokenGenerator,
+            systemUserProvider,
+            s2sAuthTokenGenerator,
+            dateTimeProvider,
+            meterRegistry,
+            20
+        );
+    }
+
+    @Test
+    public void should_resolve_all_credentials_in_one_snapshot() {
+
+        when(systemTokenGenerator.generate()).thenReturn("Bearer token");
+        when(s2sAuthTokenGenerator.generate()).thenReturn("Bearer serviceToken");
+        when(systemUserProvider.getSystemUserId("Bearer token")).thenReturn("userId");
+
+        ExecutionCredentials credentials = executionCredentialsProvider.get();
+
+        assertEquals("Bearer token", credentials.userToken());
+        assertEquals("Bearer serviceToken", credentials.s2sToken());
+        assertEquals("userId", credentials.uid());
+        assertEquals(now.toInstant(), credentials.createdAt());
+    }
+
+    @Test
+    public void should_share_snapshot_until_it_is_older_than_max_age() {
+
+        when(systemTokenGenerator.generate()).thenReturn("Bearer token", "Bearer rotatedToken");
+        when(s2sAuthTokenGenerator.generate()).thenReturn("Bearer serviceToken");
+        when(systemUserProvider.getSystemUserId("Bearer token")).thenReturn("userId");
+        when(systemUserProvider.getSystemUserId("Bearer rotatedToken")).thenReturn("userId");
+
+        ExecutionCredentials first = executionCredentialsProvider.get();
+
+        now = now.plusSeconds(19);
+        assertSame(first, executionCredentialsProvider.get());
+        assertEquals(19.0, meterRegistry.get("timed.event.credentials.age").gauge().value());
+
+        now = now.plusSeconds(1);
+        ExecutionCredentials refreshed = executionCredentialsProvider.get();
+
+        assertEquals("Bearer rotatedToken", refreshed.userToken());
+        assertEquals(now.toInstant(), refreshed.createdAt());
+        verify(systemTokenGenerator, times(2)).generate();
+        verify(s2sAuthTokenGenerator, times(2)).generate();
+    }
+
+    @Test
+    public void should_throw_exception_when_idam_is_not_available() {
+
+        when(systemTokenGenerator.generate()).thenThrow(new RuntimeException("idam is down"));
+
+        IdentityManagerResponseException thrown = assertThrows(
+            IdentityManagerResponseException.class,
+            executionCredentialsProvider::get
+        );
+        assertEquals("idam is down", thrown.getMessage());
+
+        verifyNoInteractions(s2sAuthTokenGenerator, systemUserProvider);
+    }
+
+    @Test
+    public void should_throw_exception_when_s2s_auth_is_not_available() {
+
+        when(systemTokenGenerator.generate()).thenReturn("Bearer token");
+        when(s2sAuthTokenGenerator.generate()).thenThrow(new RuntimeException());
+
+        assertThrows(
+            IdentityManagerResponseException.class,
+            executionCredentialsProvider::get
+        );
+
+        verify(systemTokenGenerator).generate();
+        verify(s2sAuthTokenGenerator).generate();
+        verifyNoInteractions(systemUserProvider);
+    }
+
+    @Test
+    public void should_report_age_of_stale_snapshot_when_refresh_fails() {
+
+        when(systemTokenGenerator.generate()).thenReturn("Bearer token").thenThrow(new RuntimeException());
+        when(s2sAuthTokenGenerator.generate()).thenReturn("Bearer serviceToken");
+        when(systemUserProvider.getSystemUserId("Bearer token")).thenReturn("userId");
+
+        executionCredentialsProvider.get();
+
+        now = now.plusSeconds(20);
+
+        assertThrows(
+            IdentityManagerResponseException.class,
+            executionCredentialsProvider::get
+        );
+        assertEquals(20.0, meterRegistry.get("timed.event.credentials.age").gauge().value());
+    }
+}
@@ -1,6 +1,7 @@
 package uk.gov.hmcts.reform.timedevent.infrastructure.security.oauth2;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames.ACCESS_TOKEN;
@@ -8,6 +9,8 @@ import static uk.gov.hmcts.reform.timedevent.infrastructure.security.oauth2.Idam
 
 import com.google.common.collect.Lists;
 import feign.FeignException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -46,7 +49,7 @@ class IdamAuthoritiesConverterTest {
         when(userInfo.getRoles()).thenReturn(Lists.newArrayList("caseworker-ia", "tribunal-caseworker"));
         when(idamService.getUserInfo("Bearer " + tokenValue)).thenReturn(userInfo);
 
-        idamAuthoritiesConverter = new IdamAuthoritiesConverter(idamService);
+        idamAuthoritiesConverter = new IdamAuthoritiesConverter(idamService, new SimpleMeterRegistry(), 100, 300);
 
         List<GrantedAuthority> expectedGrantedAuthorities = Lists.newArrayList(
             new SimpleGrantedAuthority("caseworker-ia"),
@@ -63,7 +66,7 @@ class IdamAuthoritiesConverterTest {
     @Test
     public void should_return_empty_list_when_token_is_missing() {
 
-        idamAuthoritiesConverter = new IdamAuthoritiesConverter(idamService);
+        idamAuthoritiesConverter = new IdamAuthoritiesConverter(idamService, new SimpleMeterRegistry(), 100, 300);
 
         assertEquals(Collections.emptyList(), idamAuthoritiesConverter.convert(jwt));
     }
@@ -74,7 +77,7 @@ class IdamAuthoritiesConverterTest {
         when(userInfo.getRoles()).thenReturn(Lists.newArrayList());
         when(idamService.getUserInfo("Bearer " + tokenValue)).thenReturn(userInfo);
 
-        idamAuthoritiesConverter = new IdamAuthoritiesConverter(idamService);
+        idamAuthoritiesConverter = new IdamAuthoritiesConverter(idamService, new SimpleMeterRegistry(), 100, 300);
 
         when(jwt.hasClaim(TOKEN_NAME)).thenReturn(true);
         when(jwt.getClaim(TOKEN_NAME)).thenReturn(ACCESS_TOKEN);
@@ -92,7 +95,7 @@ class IdamAuthoritiesConverterTest {
         when(jwt.getClaim(TOKEN_NAME)).thenReturn(ACCESS_TOKEN);
         when(jwt.getTokenValue()).thenReturn(tokenValue);
 
-        idamAuthoritiesConverter = new IdamAuthoritiesConverter(idamService);
+        idamAuthoritiesConverter = new IdamAuthoritiesConverter(idamService, new SimpleMeterRegistry(), 100, 300);
 
         IdentityManagerResponseException thrown = assertThrows(
             IdentityManagerResponseException.class,
@@ -100,4 +103,61 @@ class IdamAuthoritiesConverterTest {
         );
         assertEquals("Could not get user details from IDAM", thrown.getMessage());
     }
+
+    @Test
+    public void should_reuse_roles_of_the_same_token() {
+
+        when(jwt.hasClaim(TOKEN_NAME)).thenReturn(true);
+        when(jwt.getClaim(TOKEN_NAME)).thenReturn(ACCESS_TOKEN);
+        when(jwt.getTokenValue()).thenReturn(tokenValue);
+        when(jwt.getExpiresAt()).thenReturn(Instant.now().plusSeconds(3600));
+
+        when(userInfo.getRoles()).thenReturn(Lists.newArrayList("caseworker-ia"));
+        when(idamService.getUserInfo("Bearer " + tokenValue)).thenReturn(userInfo);
+
+        idamAuthoritiesConverter = new IdamAuthoritiesConverter(idamService, new SimpleMeterRegistry(), 100, 300);
+
+        List<GrantedAuthority> expectedGrantedAuthorities = Lists.newArrayList(new SimpleGrantedAuthority("caseworker-ia"));
+
+        assertEquals(expectedGrantedAuthorities, idamAuthoritiesConverter.convert(jwt));
+        assertEquals(expectedGrantedAuthorities, idamAuthoritiesConverter.convert(jwt));
+
+        verify(idamService, times(1)).getUserInfo("Bearer " + tokenValue);
+    }
+
+    @Test
+    public void should_not_reuse_roles_of_expired_token() {
+
+        when(jwt.hasClaim(TOKEN_NAME)).thenReturn(true);
+        when(jwt.getClaim(TOKEN_NAME)).thenReturn(ACCESS_TOKEN);
+        when(jwt.getTokenValue()).thenReturn(tokenValue);
+        when(jwt.getExpiresAt()).thenReturn(Instant.now().minusSeconds(1));
+
+        when(userInfo.getRoles()).thenReturn(Lists.newArrayList("caseworker-ia"));
+        when(idamService.getUserInfo("Bearer " + tokenValue)).thenReturn(userInfo);
+
+        idamAuthoritiesConverter = new IdamAuthoritiesConverter(idamService, new SimpleMeterRegistry(), 100, 300);
+
+        idamAuthoritiesConverter.convert(jwt);
+        idamAuthoritiesConverter.convert(jwt);
+
+        verify(idamService, times(2)).getUserInfo("Bearer " + tokenValue);
+    }
+
+    @Test
+    public void should_not_cache_when_auth_service_unavailable() {
+
+        when(idamService.getUserInfo("Bearer " + tokenValue)).thenThrow(FeignException.class);
+
+        when(jwt.hasClaim(TOKEN_NAME)).thenReturn(true);
+        when(jwt.getClaim(TOKEN_NAME)).thenReturn(ACCESS_TOKEN);
+        when(jwt.getTokenValue()).thenReturn(tokenValue);
+
+        idamAuthoritiesConverter = new IdamAuthoritiesConverter(idamService, new SimpleMeterRegistry(), 100, 300);
+
+        assertThrows(IdentityManagerResponseException.class, () -> idamAuthoritiesConverter.convert(jwt));
+        assertThrows(IdentityManagerResponseException.class, () -> idamAuthoritiesConverter.convert(jwt));
+
+        verify(idamService, times(2)).getUserInfo("Bearer " + tokenValue);
+    }
 }
@@ -3,11 +3,19 @@ package uk.gov.hmcts.reform.timedevent.infrastructure.security.oauth2;
 import static com.google.common.collect.Lists.newArrayList;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import feign.FeignException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.ZonedDateTime;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -15,6 +23,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.hmcts.reform.timedevent.infrastructure.clients.IdamApi;
 import uk.gov.hmcts.reform.timedevent.infrastructure.clients.model.idam.Token;
+import uk.gov.hmcts.reform.timedevent.infrastructure.services.DateTimeProvider;
 
 @ExtendWith(MockitoExtension.class)
 @SuppressWarnings("unchecked")
@@ -26,6 +35,12 @@ class IdamSystemTokenGeneratorTest {
     @Mock
     private Token token;
 
+    @Mock
+    private DateTimeProvider dateTimeProvider;
+
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ZonedDateTime now = ZonedDateTime.parse("2024-01-01T10:00:00Z");
+
     private String systemUserName = "systemUserName";
     private String systemUserPass = "systemUserPass";
     private String idamRedirectUrl = "http://idamRedirectUrl";
@@ -33,23 +48,34 @@ class IdamSystemTokenGeneratorTest {
     private String idamClientId = "idamClientId";
     private String idamClientSecret = "idamClientSecret";
 
-    @Test
-    public void should_return_correct_token_from_idam() {
+    private IdamSystemTokenGenerator idamSystemTokenGenerator;
 
-        String expectedToken = "systemUserTokenHash";
+    @BeforeEach
+    public void setUp() {
 
-        when(token.getAccessToken()).thenReturn(expectedToken);
-        when(idamApi.token(any(Map.class))).thenReturn(token);
+        lenient().when(dateTimeProvider.now()).thenAnswer(invocation -> now);
 
-        IdamSystemTokenGenerator idamSystemTokenGenerator = new IdamSystemTokenGenerator(
+        idamSystemTokenGenerator = new IdamSystemTokenGenerator(
             systemUserName,
             systemUserPass,
             idamRedirectUrl,
             systemUserScope,
             idamClientId,
             idamClientSecret,
-            idamApi
+            idamApi,
+            dateTimeProvider,
+            meterRegistry,
+            0.75
         );
+    }
+
+    @Test
+    public void should_return_correct_token_from_idam() {
+
+        String expectedToken = "systemUserTokenHash";
+
+        when(token.getAccessToken()).thenReturn(expectedToken);
+        when(idamApi.token(any(Map.class))).thenReturn(token);
 
         String token = idamSystemTokenGenerator.generate();
 
@@ -75,20 +101,107 @@ class IdamSystemTokenGeneratorTest {
 
         when(idamApi.token(any(Map.class))).thenThrow(FeignException.class);
 
-        IdamSystemTokenGenerator idamSystemTokenGenerator = new IdamSystemTokenGenerator(
-            systemUserName,
-            systemUserPass,
-            idamRedirectUrl,
-            systemUserScope,
-            idamClientId,
-            idamClientSecret,
-            idamApi
-        );
-
         IdentityManagerResponseException thrown = assertThrows(
             IdentityManagerResponseException.class,
             idamSystemTokenGenerator::generate
         );
         assertEquals("Could not get system user token from IDAM", thrown.getMessage());
+        assertEquals(1, meterRegistry.counter("idam.system.token.refresh.failures").count());
+    }
+
+    @Test
+    public void should_reuse_token_until_refresh_is_due() {
+
+        when(token.getAccessToken()).thenReturn("systemUserTokenHash");
+        when(token.getExpiresIn()).thenReturn(3600L);
+        when(idamApi.token(any(Map.class))).thenReturn(token);
+
+        assertEquals("Bearer systemUserTokenHash", idamSystemTokenGenerator.generate());
+
+        now = now.plusMinutes(44);
+
+        assertEquals("Bearer systemUserTokenHash", idamSystemTokenGenerator.generate());
+        verify(idamApi, times(1)).token(any(Map.class));
+        assertEquals(1, meterRegistry.timer("idam.system.token.refresh").count());
+    }
+
+    @Test
+    public void should_return_current_token_and_refresh_in_background_when_refresh_is_due() {
+
+        Token refreshed = new Token("refreshedTokenHash", systemUserScope, 3600L);
+
+        when(token.getAccessToken()).thenReturn("systemUserTokenHash");
+        when(token.getExpiresIn()).thenReturn(3600L);
+        when(idamApi.token(any(Map.class))).thenReturn(token, refreshed);
+
+        idamSystemTokenGenerator.generate();
+
+        now = now.plusMinutes(46);
+
+        assertEquals("Bearer systemUserTokenHash", idamSystemTokenGenerator.generate());
+        verify(idamApi, timeout(1000).times(2)).token(any(Map.class));
+
+        await(() -> "Bearer refreshedTokenHash".equals(idamSystemTokenGenerator.generate()));
+    }
+
+    @Test
+    public void should_keep_current_token_when_background_refresh_fails() {
+
+        when(token.getAccessToken()).thenReturn("systemUserTokenHash");
+        when(token.getExpiresIn()).thenReturn(3600L);
+        when(idamApi.token(any(Map.class))).thenReturn(token).thenThrow(FeignException.class);
+
+        idamSystemTokenGenerator.generate();
+
+        now = now.plusMinutes(46);
+
+        assertEquals("Bearer systemUserTokenHash", idamSystemTokenGenerator.generate());
+        await(() -> meterRegistry.counter("idam.system.token.refresh.failures").count() == 1);
+
+        // next attempt is backed off
+        assertEquals("Bearer systemUserTokenHash", idamSystemTokenGenerator.generate());
+        verify(idamApi, times(2)).token(any(Map.class));
+    }
+
+    @Test
+    public void should_block_on_refresh_when_token_has_expired() {
+
+        Token refreshed = new Token("refreshedTokenHash", systemUserScope, 3600L);
+
+        when(token.getAccessToken()).thenReturn("systemUserTokenHash");
+        when(token.getExpiresIn()).thenReturn(3600L);
+        when(idamApi.token(any(Map.class))).thenReturn(token, refreshed);
+
+        idamSystemTokenGenerator.generate();
+
+        now = now.plusHours(1);
+
+        assertEquals("Bearer refreshedTokenHash", idamSystemTokenGenerator.generate());
+        verify(idamApi, times(2)).token(any(Map.class));
+    }
+
+    @Test
+    public void should_use_default_lifetime_when_expires_in_is_missing() {
+
+        when(token.getAccessToken()).thenReturn("systemUserTokenHash");
+        when(idamApi.token(any(Map.class))).thenReturn(token);
+
+        idamSystemTokenGenerator.generate();
+
+        now = now.plusMinutes(22);
+
+        assertEquals("Bearer systemUserTokenHash", idamSystemTokenGenerator.generate());
+        verify(idamApi, times(1)).token(any(Map.class));
+    }
+
+    private static void await(BooleanSupplier condition) {
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("condition not met in time");
+            }
+            Thread.onSpinWait();
+        }
     }
 }
\ No newline at end of file
@@ -1,10 +1,12 @@
 package uk.gov.hmcts.reform.timedevent.infrastructure.security.oauth2;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import feign.FeignException;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
@@ -52,4 +54,45 @@ class IdamSystemUserProviderTest {
         );
         assertEquals("Could not get system user id from IDAM", thrown.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void should_reuse_user_id_while_token_is_unchanged() {
+
+        when(userInfo.getUid()).thenReturn("someUserID");
+        when(idamService.getUserInfo(token)).thenReturn(userInfo);
+
+        IdamSystemUserProvider idamSystemUserProvider = new IdamSystemUserProvider(idamService);
+
+        assertEquals("someUserID", idamSystemUserProvider.getSystemUserId(token));
+        assertEquals("someUserID", idamSystemUserProvider.getSystemUserId(token));
+
+        verify(idamService, times(1)).getUserInfo(token);
+    }
+
+    @Test
+    public void should_resolve_user_id_again_when_token_rotates() {
+
+        String rotatedToken = "Bearer someOtherHash";
+        UserInfo rotatedUserInfo = new UserInfo(
+            "system@example.com",
+            "someUserID",
+            List.of("caseworker-ia-system"),
+            "System User",
+            "System",
+            "User"
+        );
+
+        when(userInfo.getUid()).thenReturn("someUserID");
+        when(idamService.getUserInfo(token)).thenReturn(userInfo);
+        when(idamService.getUserInfo(rotatedToken)).thenReturn(rotatedUserInfo);
+
+        IdamSystemUserProvider idamSystemUserProvider = new IdamSystemUserProvider(idamService);
+
+        idamSystemUserProvider.getSystemUserId(token);
+        assertEquals("someUserID", idamSystemUserProvider.getSystemUserId(rotatedToken));
+        assertEquals("someUserID", idamSystemUserProvider.getSystemUserId(rotatedToken));
+
+        verify(idamService, times(1)).getUserInfo(token);
+        verify(idamService, times(1)).getUserInfo(rotatedToken);
+    }
+}
@@ -0,0 +1,211 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import uk.gov.hmcts.reform.timedevent.domain.entities.EventExecution;
+import uk.gov.hmcts.reform.timedevent.domain.entities.ccd.Event;
+import uk.gov.hmcts.reform.timedevent.infrastructure.services.exceptions.CaseLaneBusyException;
+
+@ExtendWith(MockitoExtension.class)
+class CaseLaneEventExecutorTest {
+
+    @Mock
+    private CcdEventExecutor delegate;
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement lockStatement;
+
+    @Mock
+    private ResultSet lockResult;
+
+    private final long caseId = 1588772172174023L;
+    private final EventExecution execution = new EventExecution(Event.EXAMPLE, "IA", "Asylum", caseId);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private CaseLaneEventExecutor caseLaneEventExecutor;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+
+        lenient().when(dataSource.getConnection()).thenReturn(connection);
+        lenient().when(connection.prepareStatement("SELECT pg_try_advisory_xact_lock(?)")).thenReturn(lockStatement);
+        lenient().when(lockStatement.executeQuery()).thenReturn(lockResult);
+        lenient().when(lockResult.next()).thenReturn(true);
+        lenient().when(lockResult.getBoolean(1)).thenReturn(true);
+
+        caseLaneEventExecutor = new CaseLaneEventExecutor(delegate, dataSource, meterRegistry);
+    }
+
+    @Test
+    void should_execute_event_holding_case_lock() throws SQLException {
+
+        caseLaneEventExecutor.execute(execution);
+
+        InOrder inOrder = inOrder(lockStatement, delegate, connection);
+        inOrder.verify(lockStatement).setLong(1, caseId);
+        inOrder.verify(lockStatement).executeQuery();
+        inOrder.verify(delegate).execute(execution);
+        inOrder.verify(connection).rollback();
+        inOrder.verify(connection).close();
+    }
+
+    @Test
+    void should_defer_event_when_case_is_busy_on_another_instance() throws SQLException {
+
+        when(lockResult.getBoolean(1)).thenReturn(false);
+
+        assertThrows(CaseLaneBusyException.class, () -> caseLaneEventExecutor.execute(execution));
+
+        verify(delegate, never()).execute(any());
+        verify(connection).rollback();
+        verify(connection).close();
+        assertEquals(1, meterRegistry.counter("timed.event.lane.busy").count());
+    }
+
+    @Test
+    void should_release_case_lock_when_execution_fails() throws SQLException {
+
+        doThrow(new IllegalStateException("CCD failure")).when(delegate).execute(execution);
+
+        assertThrows(IllegalStateException.class, () -> caseLaneEventExecutor.execute(execution));
+
+        verify(connection).rollback();
+        verify(connection).close();
+    }
+
+    @Test
+    void should_execute_without_lane_when_lock_query_fails() throws SQLException {
+
+        when(lockStatement.executeQuery()).thenThrow(new SQLTimeoutException("canceling statement due to user request"));
+
+        caseLaneEventExecutor.execute(execution);
+
+        verify(delegate).execute(execution);
+        verify(connection).close();
+    }
+
+    @Test
+    void should_execute_without_lane_when_connection_is_unavailable() throws SQLException {
+
+        when(dataSource.getConnection()).thenThrow(new SQLException("pool exhausted"));
+
+        caseLaneEventExecutor.execute(execution);
+
+        verify(delegate).execute(execution);
+        verifyNoInteractions(connection);
+    }
+
+    @Test
+    void should_abort_connection_when_case_lock_cannot_be_released() throws SQLException {
+
+        doThrow(new SQLException("connection reset")).when(connection).rollback();
+
+        caseLaneEventExecutor.execute(execution);
+
+        verify(delegate).execute(execution);
+        verify(connection).abort(any());
+    }
+
+    @Test
+    void should_defer_event_of_case_busy_on_this_instance_without_connection() throws Exception {
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(delegate).execute(execution);
+
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> first = executorService.submit(() -> caseLaneEventExecutor.execute(execution));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            assertThrows(CaseLaneBusyException.class, () -> caseLaneEventExecutor.execute(execution));
+            verify(dataSource, times(1)).getConnection();
+
+            release.countDown();
+            first.get(5, TimeUnit.SECONDS);
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        // lane is free again once the event has been executed
+        caseLaneEventExecutor.execute(execution);
+        verify(delegate, times(2)).execute(execution);
+    }
+
+    @Test
+    void should_execute_events_of_different_cases_in_parallel() throws Exception {
+
+        EventExecution otherExecution = new EventExecution(Event.EXAMPLE, "IA", "Asylum", caseId + 64);
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        doAnswer(invocation -> {
+            bothStarted.countDown();
+            assertTrue(bothStarted.await(5, TimeUnit.SECONDS));
+            return null;
+        }).when(delegate).execute(any(EventExecution.class));
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = executorService.submit(() -> caseLaneEventExecutor.execute(execution));
+            Future<?> second = executorService.submit(() -> caseLaneEventExecutor.execute(otherExecution));
+
+            first.get(5, TimeUnit.SECONDS);
+            second.get(5, TimeUnit.SECONDS);
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        verify(delegate).execute(execution);
+        verify(delegate).execute(otherExecution);
+    }
+
+    @Test
+    void should_size_lane_pool_to_scheduler_threads() {
+
+        DataSourceProperties dataSourceProperties = new DataSourceProperties();
+        dataSourceProperties.setUrl("jdbc:postgresql://localhost:5050/ia_timed_event_service");
+        dataSourceProperties.setUsername("postgres");
+
+        try (HikariDataSource lanePool = CaseLaneEventExecutor.lanePool(dataSourceProperties, 8, 5000)) {
+
+            assertEquals("execution-lanes", lanePool.getPoolName());
+            assertEquals(8, lanePool.getMaximumPoolSize());
+            assertEquals(5000, lanePool.getConnectionTimeout());
+            assertFalse(lanePool.isAutoCommit());
+        }
+    }
+}
@@ -6,21 +6,27 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.Collections;
+import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import uk.gov.hmcts.reform.authorisation.generators.AuthTokenGenerator;
 import uk.gov.hmcts.reform.timedevent.infrastructure.clients.CcdApi;
 import uk.gov.hmcts.reform.timedevent.infrastructure.clients.model.ccd.CaseDataContent;
 import uk.gov.hmcts.reform.timedevent.infrastructure.clients.model.ccd.CaseDetails;
 import uk.gov.hmcts.reform.timedevent.infrastructure.clients.model.ccd.StartEventTrigger;
 import uk.gov.hmcts.reform.timedevent.domain.entities.EventExecution;
 import uk.gov.hmcts.reform.timedevent.domain.entities.ccd.Event;
-import uk.gov.hmcts.reform.timedevent.infrastructure.security.SystemTokenGenerator;
-import uk.gov.hmcts.reform.timedevent.infrastructure.security.SystemUserProvider;
+import uk.gov.hmcts.reform.timedevent.infrastructure.resilience.AdaptiveConcurrencyLimiter;
+import uk.gov.hmcts.reform.timedevent.infrastructure.security.ExecutionCredentials;
+import uk.gov.hmcts.reform.timedevent.infrastructure.security.ExecutionCredentialsProvider;
 import uk.gov.hmcts.reform.timedevent.infrastructure.security.oauth2.IdentityManagerResponseException;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,13 +36,13 @@ class CcdEventExecutorTest {
     private CcdApi ccdApi;
 
     @Mock
-    private SystemTokenGenerator systemTokenGenerator;
+    private ExecutionCredentialsProvider executionCredentialsProvider;
 
-    @Mock
-    private SystemUserProvider systemUserProvider;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter =
+        new AdaptiveConcurrencyLimiter(new SimpleMeterRegistry(), true, 4, 1, 50, 0.75, 2.0, 0, 50);
 
     @Mock
-    private AuthTokenGenerator s2sAuthTokenGenerator;
+    private StartEventPrefetcher startEventPrefetcher;
 
     @Mock
     private StartEventTrigger startEventTrigger;
@@ -60,10 +66,8 @@ class CcdEventExecutorTest {
 
         String state = "someState";
 
-        when(systemTokenGenerator.generate()).thenReturn(token);
-        when(s2sAuthTokenGenerator.generate()).thenReturn(serviceToken);
-
-        when(systemUserProvider.getSystemUserId(token)).thenReturn(userId);
+        when(executionCredentialsProvider.get())
+            .thenReturn(new ExecutionCredentials(token, serviceToken, userId, Instant.now()));
 
         when(startEventTrigger.getToken()).thenReturn(ccdToken);
         when(ccdApi.startEvent(
@@ -87,7 +91,12 @@ class CcdEventExecutorTest {
             any(CaseDataContent.class))
         ).thenReturn(caseDetails);
 
-        CcdEventExecutor ccdEventExecutor = new CcdEventExecutor(systemTokenGenerator, systemUserProvider, s2sAuthTokenGenerator, ccdApi);
+        CcdEventExecutor ccdEventExecutor = new CcdEventExecutor(
+            executionCredentialsProvider,
+            ccdApi,
+            concurrencyLimiter,
+            startEventPrefetcher
+        );
 
         EventExecution execution = new EventExecution(
             event,
@@ -97,10 +106,7 @@ class CcdEventExecutorTest {
         );
         ccdEventExecutor.execute(execution);
 
-        verify(systemTokenGenerator).generate();
-        verify(s2sAuthTokenGenerator).generate();
-
-        verify(systemUserProvider).getSystemUserId(token);
+        verify(executionCredentialsProvider).get();
 
         verify(ccdApi).startEvent(
             token,
@@ -146,41 +152,16 @@ class CcdEventExecutorTest {
         Event event = Event.EXAMPLE;
         long caseId = 1234;
 
-        when(systemTokenGenerator.generate()).thenThrow(new RuntimeException());
-
-        CcdEventExecutor ccdEventExecutor = new CcdEventExecutor(systemTokenGenerator, systemUserProvider, s2sAuthTokenGenerator, ccdApi);
+        when(executionCredentialsProvider.get())
+            .thenThrow(new IdentityManagerResponseException("Could not get system user token from IDAM", null));
 
-        EventExecution execution = new EventExecution(
-            event,
-            jurisdiction,
-            caseType,
-            caseId
+        CcdEventExecutor ccdEventExecutor = new CcdEventExecutor(
+            executionCredentialsProvider,
+            ccdApi,
+            concurrencyLimiter,
+            startEventPrefetcher
         );
 
-        assertThrows(
-            IdentityManagerResponseException.class,
-            () -> ccdEventExecutor.execute(execution)
-        );
-
-        verify(systemTokenGenerator).generate();
-    }
-
-    @Test
-    public void should_throw_exception_when_s2s_auth_is_not_available() {
-
-        String jurisdiction = "jurisdiction";
-        String caseType = "caseType";
-        Event event = Event.EXAMPLE;
-        long caseId = 1234;
-
-        String token = "token";
-
-        when(systemTokenGenerator.generate()).thenReturn(token);
-
-        when(s2sAuthTokenGenerator.generate()).thenThrow(new RuntimeException());
-
-        CcdEventExecutor ccdEventExecutor = new CcdEventExecutor(systemTokenGenerator, systemUserProvider, s2sAuthTokenGenerator, ccdApi);
-
         EventExecution execution = new EventExecution(
             event,
             jurisdiction,
@@ -193,8 +174,8 @@ class CcdEventExecutorTest {
             () -> ccdEventExecutor.execute(execution)
         );
 
-        verify(systemTokenGenerator).generate();
-        verify(s2sAuthTokenGenerator).generate();
+        verify(executionCredentialsProvider).get();
+        verifyNoInteractions(ccdApi);
     }
 
     @Test
@@ -209,10 +190,8 @@ class CcdEventExecutorTest {
         Event event = Event.EXAMPLE;
         long caseId = 1234;
 
-        when(systemTokenGenerator.generate()).thenReturn(token);
-        when(s2sAuthTokenGenerator.generate()).thenReturn(serviceToken);
-
-        when(systemUserProvider.getSystemUserId(token)).thenReturn(userId);
+        when(executionCredentialsProvider.get())
+            .thenReturn(new ExecutionCredentials(token, serviceToken, userId, Instant.now()));
 
         when(ccdApi.startEvent(
             token,
@@ -224,7 +203,12 @@ class CcdEventExecutorTest {
             event.toString()
         )).thenThrow(FeignException.class);
 
-        CcdEventExecutor ccdEventExecutor = new CcdEventExecutor(systemTokenGenerator, systemUserProvider, s2sAuthTokenGenerator, ccdApi);
+        CcdEventExecutor ccdEventExecutor = new CcdEventExecutor(
+            executionCredentialsProvider,
+            ccdApi,
+            concurrencyLimiter,
+            startEventPrefetcher
+        );
 
         EventExecution execution = new EventExecution(
             event,
@@ -238,10 +222,7 @@ class CcdEventExecutorTest {
             () -> ccdEventExecutor.execute(execution)
         );
 
-        verify(systemTokenGenerator).generate();
-        verify(s2sAuthTokenGenerator).generate();
-
-        verify(systemUserProvider).getSystemUserId(token);
+        verify(executionCredentialsProvider).get();
 
         verify(ccdApi).startEvent(
             token,
@@ -253,4 +234,123 @@ class CcdEventExecutorTest {
             event.toString()
         );
     }
+
+    @Test
+    public void should_submit_event_with_prefetched_token() {
+
+        EventExecution execution = new EventExecution(Event.EXAMPLE, "jurisdiction", "caseType", 1234);
+
+        when(executionCredentialsProvider.get())
+            .thenReturn(new ExecutionCredentials("token", "serviceToken", "userId", Instant.now()));
+        when(startEventPrefetcher.take(execution)).thenReturn(Optional.of("prefetchedToken"));
+        when(ccdApi.submitEvent(
+            eq("token"),
+            eq("serviceToken"),
+            eq("userId"),
+            eq("jurisdiction"),
+            eq("caseType"),
+            eq("1234"),
+            any(CaseDataContent.class))
+        ).thenReturn(caseDetails);
+
+        ccdEventExecutor().execute(execution);
+
+        ArgumentCaptor<CaseDataContent> caseDataCaptor = ArgumentCaptor.forClass(CaseDataContent.class);
+        verify(ccdApi).submitEvent(
+            eq("token"),
+            eq("serviceToken"),
+            eq("userId"),
+            eq("jurisdiction"),
+            eq("caseType"),
+            eq("1234"),
+            caseDataCaptor.capture()
+        );
+        assertEquals("prefetchedToken", caseDataCaptor.getValue().getEventToken());
+        verify(ccdApi, never()).startEvent(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    public void should_start_event_again_when_prefetched_token_is_stale() {
+
+        EventExecution execution = new EventExecution(Event.EXAMPLE, "jurisdiction", "caseType", 1234);
+
+        when(executionCredentialsProvider.get())
+            .thenReturn(new ExecutionCredentials("token", "serviceToken", "userId", Instant.now()));
+        when(startEventPrefetcher.take(execution)).thenReturn(Optional.of("prefetchedToken"));
+        when(startEventTrigger.getToken()).thenReturn("ccdToken");
+        when(ccdApi.startEvent("token", "serviceToken", "userId", "jurisdiction", "caseType", "1234", "example"))
+            .thenReturn(startEventTrigger);
+        when(ccdApi.submitEvent(
+            eq("token"),
+            eq("serviceToken"),
+            eq("userId"),
+            eq("jurisdiction"),
+            eq("caseType"),
+            eq("1234"),
+            any(CaseDataContent.class))
+        ).thenThrow(feignException(409)).thenReturn(caseDetails);
+
+        ccdEventExecutor().execute(execution);
+
+        ArgumentCaptor<CaseDataContent> caseDataCaptor = ArgumentCaptor.forClass(CaseDataContent.class);
+        verify(ccdApi, times(2)).submitEvent(
+            eq("token"),
+            eq("serviceToken"),
+            eq("userId"),
+            eq("jurisdiction"),
+            eq("caseType"),
+            eq("1234"),
+            caseDataCaptor.capture()
+        );
+        assertEquals("prefetchedToken", caseDataCaptor.getAllValues().get(0).getEventToken());
+        assertEquals("ccdToken", caseDataCaptor.getAllValues().get(1).getEventToken());
+        verify(startEventPrefetcher).onStaleToken(execution);
+    }
+
+    @Test
+    public void should_not_start_event_again_when_submit_with_prefetched_token_fails_otherwise() {
+
+        EventExecution execution = new EventExecution(Event.EXAMPLE, "jurisdiction", "caseType", 1234);
+
+        when(executionCredentialsProvider.get())
+            .thenReturn(new ExecutionCredentials("token", "serviceToken", "userId", Instant.now()));
+        when(startEventPrefetcher.take(execution)).thenReturn(Optional.of("prefetchedToken"));
+        when(ccdApi.submitEvent(
+            eq("token"),
+            eq("serviceToken"),
+            eq("userId"),
+            eq("jurisdiction"),
+            eq("caseType"),
+            eq("1234"),
+            any(CaseDataContent.class))
+        ).thenThrow(feignException(500));
+
+        CcdEventExecutor ccdEventExecutor = ccdEventExecutor();
+
+        assertThrows(FeignException.class, () -> ccdEventExecutor.execute(execution));
+
+        verify(ccdApi, never()).startEvent(any(), any(), any(), any(), any(), any(), any());
+        verify(startEventPrefetcher, never()).onStaleToken(execution);
+    }
+
+    private CcdEventExecutor ccdEventExecutor() {
+        return new CcdEventExecutor(executionCredentialsProvider, ccdApi, concurrencyLimiter, startEventPrefetcher);
+    }
+
+    private static FeignException feignException(int status) {
+
+        Request request = Request.create(
+            Request.HttpMethod.POST,
+            "http://ccd",
+            Collections.emptyMap(),
+            null,
+            StandardCharsets.UTF_8,
+            null
+        );
+
+        return FeignException.errorStatus(
+            "CcdApi#submitEvent",
+            Response.builder().status(status).request(request).headers(Collections.emptyMap()).build()
+        );
+    }
 }
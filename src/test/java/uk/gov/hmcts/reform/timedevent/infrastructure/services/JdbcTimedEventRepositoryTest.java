@@ -0,0 +1,192 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.services;
+
+import static java.time.ZoneOffset.UTC;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.sql.ResultSet;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import uk.gov.hmcts.reform.timedevent.domain.entities.TimedEvent;
+import uk.gov.hmcts.reform.timedevent.domain.entities.TimedEventState;
+import uk.gov.hmcts.reform.timedevent.domain.entities.ccd.Event;
+
+@ExtendWith(MockitoExtension.class)
+class JdbcTimedEventRepositoryTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private final ZonedDateTime scheduledDateTime = ZonedDateTime.of(2030, 7, 12, 10, 0, 0, 0, UTC);
+    private final long caseId = 1588772172174023L;
+
+    private JdbcTimedEventRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new JdbcTimedEventRepository(jdbcTemplate, "ia_timed_event_service.", "ia-timed-event-service");
+    }
+
+    @Test
+    void should_update_existing_and_insert_missing_timed_events() {
+
+        when(jdbcTemplate.batchUpdate(startsWith("UPDATE"), any(MapSqlParameterSource[].class))).thenReturn(new int[] {1, 0});
+
+        repository.saveAll(List.of(timedEvent("existing"), timedEvent("new"), timedEvent("existing")));
+
+        ArgumentCaptor<MapSqlParameterSource[]> updated = ArgumentCaptor.forClass(MapSqlParameterSource[].class);
+        verify(jdbcTemplate).batchUpdate(
+            eq("UPDATE ia_timed_event_service.timed_event SET case_id = :caseId, jurisdiction = :jurisdiction,"
+               + " case_type = :caseType, event = :event, scheduled_at = :scheduledAt, state = :state WHERE id = :id"),
+            updated.capture()
+        );
+        assertEquals(2, updated.getValue().length);
+        assertEquals("existing", updated.getValue()[0].getValue("id"));
+        assertEquals(caseId, updated.getValue()[0].getValue("caseId"));
+        assertEquals("example", updated.getValue()[0].getValue("event"));
+        assertEquals(scheduledDateTime.toOffsetDateTime(), updated.getValue()[0].getValue("scheduledAt"));
+        assertEquals("SCHEDULED", updated.getValue()[0].getValue("state"));
+
+        ArgumentCaptor<MapSqlParameterSource[]> inserted = ArgumentCaptor.forClass(MapSqlParameterSource[].class);
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO ia_timed_event_service.timed_event"), inserted.capture());
+        assertEquals(1, inserted.getValue().length);
+        assertEquals("new", inserted.getValue()[0].getValue("id"));
+    }
+
+    @Test
+    void should_not_insert_when_all_timed_events_exist() {
+
+        when(jdbcTemplate.batchUpdate(startsWith("UPDATE"), any(MapSqlParameterSource[].class))).thenReturn(new int[] {1});
+
+        repository.saveAll(List.of(timedEvent("existing")));
+
+        verify(jdbcTemplate, never()).batchUpdate(startsWith("INSERT"), any(MapSqlParameterSource[].class));
+    }
+
+    @Test
+    void should_do_nothing_for_empty_list() {
+
+        repository.saveAll(List.of());
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void should_update_state() {
+
+        repository.updateState("someId", TimedEventState.COMPLETED, 2);
+
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbcTemplate).update(
+            eq("UPDATE ia_timed_event_service.timed_event SET state = :state, attempts = :attempts WHERE id = :id"),
+            params.capture()
+        );
+        assertEquals("someId", params.getValue().getValue("id"));
+        assertEquals("COMPLETED", params.getValue().getValue("state"));
+        assertEquals(2L, params.getValue().getValue("attempts"));
+    }
+
+    @Test
+    void should_delete() {
+
+        repository.delete("someId");
+
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbcTemplate).update(eq("DELETE FROM ia_timed_event_service.timed_event WHERE id = :id"), params.capture());
+        assertEquals("someId", params.getValue().getValue("id"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void should_find_timed_events_by_case_id_and_state() throws Exception {
+
+        when(resultSet.getString("id")).thenReturn("someId");
+        when(resultSet.getString("event")).thenReturn("example");
+        when(resultSet.getObject("scheduled_at", OffsetDateTime.class)).thenReturn(scheduledDateTime.toOffsetDateTime());
+        when(resultSet.getString("jurisdiction")).thenReturn("IA");
+        when(resultSet.getString("case_type")).thenReturn("Asylum");
+        when(resultSet.getLong("case_id")).thenReturn(caseId);
+        when(jdbcTemplate.query(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class)))
+            .thenAnswer(invocation -> List.of(((RowMapper<TimedEvent>) invocation.getArgument(2)).mapRow(resultSet, 0)));
+
+        List<TimedEvent> timedEvents = repository.findByCaseIdAndState(caseId, TimedEventState.SCHEDULED);
+
+        assertEquals(1, timedEvents.size());
+        assertEquals("someId", timedEvents.get(0).getId());
+        assertEquals(Event.EXAMPLE, timedEvents.get(0).getEvent());
+        assertEquals(scheduledDateTime, timedEvents.get(0).getScheduledDateTime());
+        assertEquals("IA", timedEvents.get(0).getJurisdiction());
+        assertEquals("Asylum", timedEvents.get(0).getCaseType());
+        assertEquals(caseId, timedEvents.get(0).getCaseId());
+
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbcTemplate).query(
+            eq("SELECT id, case_id, jurisdiction, case_type, event, scheduled_at FROM ia_timed_event_service.timed_event"
+               + " WHERE case_id = :caseId AND state = :state ORDER BY scheduled_at"),
+            params.capture(),
+            any(RowMapper.class)
+        );
+        assertEquals(caseId, params.getValue().getValue("caseId"));
+        assertEquals("SCHEDULED", params.getValue().getValue("state"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void should_lock_trigger_access_before_reading_pending_events_in_window() {
+
+        ZonedDateTime to = scheduledDateTime.plusHours(1);
+        when(jdbcTemplate.query(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class))).thenReturn(List.of());
+
+        assertTrue(repository.lockPending(caseId, Event.EXAMPLE, scheduledDateTime, to).isEmpty());
+
+        InOrder inOrder = inOrder(jdbcTemplate);
+        ArgumentCaptor<MapSqlParameterSource> lockParams = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        inOrder.verify(jdbcTemplate).queryForList(
+            eq("SELECT LOCK_NAME FROM ia_timed_event_service.QRTZ_LOCKS"
+               + " WHERE SCHED_NAME = :schedName AND LOCK_NAME = 'TRIGGER_ACCESS' FOR UPDATE"),
+            lockParams.capture(),
+            eq(String.class)
+        );
+        assertEquals("ia-timed-event-service", lockParams.getValue().getValue("schedName"));
+
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        inOrder.verify(jdbcTemplate).query(
+            eq("SELECT e.id, e.case_id, e.jurisdiction, e.case_type, e.event, e.scheduled_at"
+               + " FROM ia_timed_event_service.timed_event e JOIN ia_timed_event_service.QRTZ_TRIGGERS t"
+               + " ON t.SCHED_NAME = :schedName AND t.TRIGGER_NAME = e.id AND t.TRIGGER_GROUP = :group"
+               + " WHERE e.case_id = :caseId AND e.state = :state AND e.event = :event"
+               + " AND e.scheduled_at >= :from AND e.scheduled_at < :to"
+               + " AND t.TRIGGER_STATE = 'WAITING' ORDER BY e.scheduled_at"),
+            params.capture(),
+            any(RowMapper.class)
+        );
+        assertEquals(caseId, params.getValue().getValue("caseId"));
+        assertEquals("SCHEDULED", params.getValue().getValue("state"));
+        assertEquals("example", params.getValue().getValue("event"));
+        assertEquals("ia-timed-event-service", params.getValue().getValue("schedName"));
+        assertEquals("DEFAULT", params.getValue().getValue("group"));
+        assertEquals(scheduledDateTime.toOffsetDateTime(), params.getValue().getValue("from"));
+        assertEquals(to.toOffsetDateTime(), params.getValue().getValue("to"));
+    }
+
+    private TimedEvent timedEvent(String id) {
+        return new TimedEvent(id, Event.EXAMPLE, scheduledDateTime, "IA", "Asylum", caseId);
+    }
+}
@@ -0,0 +1,244 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.quartz.TriggerBuilder;
+import org.quartz.spi.OperableTrigger;
+import uk.gov.hmcts.reform.timedevent.domain.entities.EventExecution;
+import uk.gov.hmcts.reform.timedevent.domain.entities.ccd.Event;
+import uk.gov.hmcts.reform.timedevent.infrastructure.clients.CcdApi;
+import uk.gov.hmcts.reform.timedevent.infrastructure.clients.model.ccd.StartEventTrigger;
+import uk.gov.hmcts.reform.timedevent.infrastructure.resilience.AdaptiveConcurrencyLimiter;
+import uk.gov.hmcts.reform.timedevent.infrastructure.security.ExecutionCredentials;
+import uk.gov.hmcts.reform.timedevent.infrastructure.security.ExecutionCredentialsProvider;
+
+@ExtendWith(MockitoExtension.class)
+class StartEventPrefetcherTest {
+
+    @Mock
+    private ExecutionCredentialsProvider executionCredentialsProvider;
+
+    @Mock
+    private CcdApi ccdApi;
+
+    @Mock
+    private StartEventTrigger startEventTrigger;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter =
+        new AdaptiveConcurrencyLimiter(new SimpleMeterRegistry(), true, 4, 1, 50, 0.75, 2.0, 0, 50);
+
+    private StartEventPrefetcher startEventPrefetcher;
+
+    @BeforeEach
+    public void setUp() {
+
+        lenient().when(executionCredentialsProvider.get())
+            .thenReturn(new ExecutionCredentials("token", "serviceToken", "userId", Instant.now()));
+        lenient().when(startEventTrigger.getToken()).thenReturn("ccdToken");
+
+        startEventPrefetcher = prefetcher(true, 60);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        startEventPrefetcher.destroy();
+    }
+
+    @Test
+    public void should_prefetch_token_of_acquired_trigger_once() {
+
+        EventExecution execution = execution(1234, Event.EXAMPLE);
+        when(ccdApi.startEvent("token", "serviceToken", "userId", "jurisdiction", "caseType", "1234", "example"))
+            .thenReturn(startEventTrigger);
+
+        startEventPrefetcher.prefetch(List.of(trigger("1", "DEFAULT", 1234, Event.EXAMPLE)));
+        await(() -> startEventPrefetcher.isReady(execution));
+
+        assertEquals(Optional.of("ccdToken"), startEventPrefetcher.take(execution));
+        assertEquals(Optional.empty(), startEventPrefetcher.take(execution));
+
+        assertEquals(1, meterRegistry.get("timed.event.prefetch").tag("result", "hit").counter().count());
+        assertEquals(1, meterRegistry.get("timed.event.prefetch").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    public void should_prefetch_only_first_event_of_the_same_case_in_batch() {
+
+        when(ccdApi.startEvent(any(), any(), any(), any(), any(), any(), any())).thenReturn(startEventTrigger);
+
+        startEventPrefetcher.prefetch(List.of(
+            trigger("1", "DEFAULT", 1234, Event.EXAMPLE),
+            trigger("2", "DEFAULT", 1234, Event.END_APPEAL_AUTOMATICALLY),
+            trigger("3", "DEFAULT", 5678, Event.EXAMPLE)
+        ));
+        await(() -> startEventPrefetcher.isReady(execution(1234, Event.EXAMPLE))
+            && startEventPrefetcher.isReady(execution(5678, Event.EXAMPLE)));
+
+        assertFalse(startEventPrefetcher.isReady(execution(1234, Event.END_APPEAL_AUTOMATICALLY)));
+        verify(ccdApi, times(2)).startEvent(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    public void should_not_start_event_again_when_released_trigger_is_re_acquired() {
+
+        EventExecution execution = execution(1234, Event.EXAMPLE);
+        when(ccdApi.startEvent(any(), any(), any(), any(), any(), any(), any())).thenReturn(startEventTrigger);
+
+        OperableTrigger trigger = trigger("1", "DEFAULT", 1234, Event.EXAMPLE);
+
+        startEventPrefetcher.prefetch(List.of(trigger));
+        await(() -> startEventPrefetcher.isReady(execution));
+
+        // released on standby or misfire, then acquired again with the same fire time
+        startEventPrefetcher.prefetch(List.of(trigger));
+
+        assertEquals(Optional.of("ccdToken"), startEventPrefetcher.take(execution));
+        verify(ccdApi, times(1)).startEvent(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    public void should_prefetch_only_listed_events() {
+
+        startEventPrefetcher.prefetch(List.of(trigger("1", "DEFAULT", 1234, Event.RECORD_REMISSION_REMINDER)));
+
+        assertEquals(Optional.empty(), startEventPrefetcher.take(execution(1234, Event.RECORD_REMISSION_REMINDER)));
+        verifyNoInteractions(ccdApi);
+    }
+
+    @Test
+    public void should_ignore_maintenance_triggers() {
+
+        startEventPrefetcher.prefetch(List.of(trigger("janitor", "maintenance", 1234, Event.EXAMPLE)));
+
+        assertEquals(Optional.empty(), startEventPrefetcher.take(execution(1234, Event.EXAMPLE)));
+        verifyNoInteractions(ccdApi);
+    }
+
+    @Test
+    public void should_fall_back_when_prefetch_failed() {
+
+        EventExecution execution = execution(1234, Event.EXAMPLE);
+        when(ccdApi.startEvent(any(), any(), any(), any(), any(), any(), any())).thenThrow(FeignException.class);
+
+        startEventPrefetcher.prefetch(List.of(trigger("1", "DEFAULT", 1234, Event.EXAMPLE)));
+        await(() -> startEventPrefetcher.isReady(execution));
+
+        assertEquals(Optional.empty(), startEventPrefetcher.take(execution));
+    }
+
+    @Test
+    public void should_not_hand_out_token_older_than_max_age() throws InterruptedException {
+
+        startEventPrefetcher.destroy();
+        startEventPrefetcher = prefetcher(true, 0);
+
+        EventExecution execution = execution(1234, Event.EXAMPLE);
+        when(ccdApi.startEvent(any(), any(), any(), any(), any(), any(), any())).thenReturn(startEventTrigger);
+
+        startEventPrefetcher.prefetch(List.of(trigger("1", "DEFAULT", 1234, Event.EXAMPLE)));
+        await(() -> startEventPrefetcher.isReady(execution));
+        Thread.sleep(5);
+
+        assertEquals(Optional.empty(), startEventPrefetcher.take(execution));
+    }
+
+    @Test
+    public void should_not_hand_out_tokens_when_disabled() {
+
+        startEventPrefetcher.destroy();
+        startEventPrefetcher = prefetcher(false, 60);
+
+        assertEquals(Optional.empty(), startEventPrefetcher.take(execution(1234, Event.EXAMPLE)));
+        verifyNoInteractions(ccdApi);
+    }
+
+    @Test
+    public void should_recognise_stale_token_rejections() {
+
+        assertTrue(StartEventPrefetcher.isStale(feignException(409)));
+        assertTrue(StartEventPrefetcher.isStale(feignException(422)));
+        assertFalse(StartEventPrefetcher.isStale(feignException(404)));
+        assertFalse(StartEventPrefetcher.isStale(feignException(500)));
+    }
+
+    private StartEventPrefetcher prefetcher(boolean enabled, long maxAgeInSeconds) {
+        return new StartEventPrefetcher(
+            executionCredentialsProvider,
+            ccdApi,
+            concurrencyLimiter,
+            meterRegistry,
+            enabled,
+            2000,
+            maxAgeInSeconds,
+            List.of("example", "endAppealAutomatically")
+        );
+    }
+
+    private static EventExecution execution(long caseId, Event event) {
+        return new EventExecution(event, "jurisdiction", "caseType", caseId);
+    }
+
+    private static OperableTrigger trigger(String name, String group, long caseId, Event event) {
+
+        OperableTrigger trigger = (OperableTrigger) TriggerBuilder.newTrigger()
+            .withIdentity(name, group)
+            .usingJobData("jurisdiction", "jurisdiction")
+            .usingJobData("caseType", "caseType")
+            .usingJobData("caseId", String.valueOf(caseId))
+            .usingJobData("event", event.toString())
+            .build();
+        trigger.setNextFireTime(new Date());
+
+        return trigger;
+    }
+
+    private static FeignException feignException(int status) {
+
+        Request request = Request.create(
+            Request.HttpMethod.POST,
+            "http://ccd",
+            Collections.emptyMap(),
+            null,
+            StandardCharsets.UTF_8,
+            null
+        );
+
+        return FeignException.errorStatus(
+            "CcdApi#submitEvent",
+            Response.builder().status(status).request(request).headers(Collections.emptyMap()).build()
+        );
+    }
+
+    private static void await(BooleanSupplier condition) {
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("condition not met in time");
+            }
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.services.quartz;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.quartz.JobDataMap;
+
+class BinaryJobDataCodecTest {
+
+    private final BinaryJobDataCodec codec = new BinaryJobDataCodec();
+
+    @Test
+    void should_encode_and_decode_timed_event_job_data() throws IOException {
+
+        JobDataMap data = timedEventJobData();
+        data.put("attempts", 3L);
+
+        byte[] encoded = codec.encode(data);
+
+        assertNotNull(encoded);
+        assertTrue(codec.canDecode(encoded));
+
+        Map<String, Object> decoded = codec.decode(encoded);
+
+        assertEquals(5, decoded.size());
+        assertEquals("IA", decoded.get("jurisdiction"));
+        assertEquals("Asylum", decoded.get("caseType"));
+        assertEquals("1588772172174023", decoded.get("caseId"));
+        assertEquals("example", decoded.get("event"));
+        assertEquals(3L, decoded.get("attempts"));
+        assertEquals(1588772172174023L, new JobDataMap(decoded).getLong("caseId"));
+    }
+
+    @Test
+    void should_encode_all_supported_value_types() throws IOException {
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("string", "value");
+        data.put("long", Long.MAX_VALUE);
+        data.put("integer", 42);
+        data.put("boolean", true);
+        data.put("null", null);
+
+        assertEquals(data, codec.decode(codec.encode(data)));
+    }
+
+    @Test
+    void should_be_much_smaller_than_java_serialization() throws IOException {
+
+        JobDataMap data = timedEventJobData();
+
+        assertTrue(codec.encode(data).length * 3 < javaSerialized(data).length);
+    }
+
+    @Test
+    void should_return_null_when_value_is_not_supported() {
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("date", new java.util.Date());
+
+        assertNull(codec.encode(data));
+    }
+
+    @Test
+    void should_not_decode_java_serialized_data() throws IOException {
+
+        assertFalse(codec.canDecode(javaSerialized(timedEventJobData())));
+        assertFalse(codec.canDecode(null));
+        assertFalse(codec.canDecode(new byte[0]));
+    }
+
+    @Test
+    void should_throw_when_version_is_not_supported() {
+
+        byte[] encoded = codec.encode(timedEventJobData());
+        encoded[2] = 99;
+
+        assertThrows(IOException.class, () -> codec.decode(encoded));
+    }
+
+    static JobDataMap timedEventJobData() {
+        JobDataMap data = new JobDataMap();
+        data.put("jurisdiction", "IA");
+        data.put("caseType", "Asylum");
+        data.put("caseId", "1588772172174023");
+        data.put("event", "example");
+        return data;
+    }
+
+    static byte[] javaSerialized(Object data) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(data);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,70 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.services.quartz;
+
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import uk.gov.hmcts.reform.timedevent.infrastructure.resilience.DownstreamResilience;
+
+@ExtendWith(MockitoExtension.class)
+class CircuitBreakerSchedulerStandbyTest {
+
+    @Mock
+    private Scheduler quartzScheduler;
+
+    private DownstreamResilience downstreamResilience;
+
+    @BeforeEach
+    public void setUp() {
+
+        downstreamResilience = new DownstreamResilience(new SimpleMeterRegistry(), true, 50, 80, 20, 20, 10, 30, 20, 500);
+        new CircuitBreakerSchedulerStandby(quartzScheduler, downstreamResilience);
+    }
+
+    @Test
+    public void should_put_scheduler_on_standby_when_ccd_circuit_opens_and_start_it_when_half_open() throws SchedulerException {
+
+        downstreamResilience.circuitBreaker(DownstreamResilience.CCD).transitionToOpenState();
+
+        verify(quartzScheduler).standby();
+        verify(quartzScheduler, never()).start();
+
+        downstreamResilience.circuitBreaker(DownstreamResilience.CCD).transitionToHalfOpenState();
+
+        verify(quartzScheduler).start();
+    }
+
+    @Test
+    public void should_stay_on_standby_while_any_execution_circuit_is_open() throws SchedulerException {
+
+        downstreamResilience.circuitBreaker(DownstreamResilience.CCD).transitionToOpenState();
+        downstreamResilience.circuitBreaker(DownstreamResilience.IDAM).transitionToOpenState();
+        downstreamResilience.circuitBreaker(DownstreamResilience.CCD).transitionToHalfOpenState();
+
+        verify(quartzScheduler, times(1)).standby();
+        verify(quartzScheduler, never()).start();
+    }
+
+    @Test
+    public void should_not_start_scheduler_it_has_not_put_on_standby() throws SchedulerException {
+
+        downstreamResilience.circuitBreaker(DownstreamResilience.CCD).transitionToDisabledState();
+        downstreamResilience.circuitBreaker(DownstreamResilience.CCD).transitionToClosedState();
+
+        verifyNoInteractions(quartzScheduler);
+    }
+
+    @Test
+    public void should_ignore_role_assignment_circuit() {
+
+        downstreamResilience.circuitBreaker(DownstreamResilience.ROLE_ASSIGNMENT).transitionToOpenState();
+
+        verifyNoInteractions(quartzScheduler);
+    }
+}
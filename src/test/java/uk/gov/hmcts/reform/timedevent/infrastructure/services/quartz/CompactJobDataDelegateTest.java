@@ -0,0 +1,179 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.services.quartz;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.quartz.JobDataMap;
+import org.quartz.TriggerKey;
+import org.quartz.simpl.SimpleClassLoadHelper;
+import org.slf4j.LoggerFactory;
+
+@ExtendWith(MockitoExtension.class)
+class CompactJobDataDelegateTest {
+
+    @Mock
+    private ResultSet resultSet;
+    @Mock
+    private Connection connection;
+    @Mock
+    private PreparedStatement preparedStatement;
+
+    private final CompactJobDataDelegate delegate = new CompactJobDataDelegate();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        delegate.initialize(
+            LoggerFactory.getLogger(CompactJobDataDelegateTest.class),
+            "QRTZ_",
+            "scheduler",
+            "instance",
+            new SimpleClassLoadHelper(),
+            false,
+            "compactWrites=true"
+        );
+    }
+
+    @Test
+    void should_write_job_data_with_java_serialization_unless_compact_writes_are_enabled() throws Exception {
+
+        CompactJobDataDelegate readerOnly = new CompactJobDataDelegate();
+        readerOnly.initialize(
+            LoggerFactory.getLogger(CompactJobDataDelegateTest.class),
+            "QRTZ_",
+            "scheduler",
+            "instance",
+            new SimpleClassLoadHelper(),
+            false,
+            "compactWrites=false"
+        );
+
+        JobDataMap data = BinaryJobDataCodecTest.timedEventJobData();
+        byte[] bytes = readerOnly.serializeJobData(data).toByteArray();
+
+        assertFalse(new BinaryJobDataCodec().canDecode(bytes));
+        when(resultSet.getBytes("JOB_DATA")).thenReturn(delegate.serializeJobData(data).toByteArray());
+        assertEquals(data, new JobDataMap((Map<?, ?>) readerOnly.getObjectFromBlob(resultSet, "JOB_DATA")));
+    }
+
+    @Test
+    void should_write_job_data_with_compact_codec() throws Exception {
+
+        byte[] bytes = delegate.serializeJobData(BinaryJobDataCodecTest.timedEventJobData()).toByteArray();
+
+        assertTrue(new BinaryJobDataCodec().canDecode(bytes));
+    }
+
+    @Test
+    void should_fall_back_to_java_serialization_when_value_is_not_supported() throws Exception {
+
+        JobDataMap data = BinaryJobDataCodecTest.timedEventJobData();
+        data.put("date", new java.util.Date());
+
+        byte[] bytes = delegate.serializeJobData(data).toByteArray();
+
+        assertFalse(new BinaryJobDataCodec().canDecode(bytes));
+        when(resultSet.getBytes("JOB_DATA")).thenReturn(bytes);
+        assertEquals(data, delegate.getObjectFromBlob(resultSet, "JOB_DATA"));
+    }
+
+    @Test
+    void should_read_compact_and_legacy_job_data() throws Exception {
+
+        JobDataMap data = BinaryJobDataCodecTest.timedEventJobData();
+
+        when(resultSet.getBytes("JOB_DATA"))
+            .thenReturn(delegate.serializeJobData(data).toByteArray())
+            .thenReturn(BinaryJobDataCodecTest.javaSerialized(data))
+            .thenReturn(null);
+
+        assertEquals(data, new JobDataMap((Map<?, ?>) delegate.getObjectFromBlob(resultSet, "JOB_DATA")));
+        assertEquals(data, delegate.getObjectFromBlob(resultSet, "JOB_DATA"));
+        assertNull(delegate.getObjectFromBlob(resultSet, "JOB_DATA"));
+    }
+
+    @Test
+    void should_acquire_waiting_triggers_with_inlined_state_and_bigint_fire_times() throws Exception {
+
+        when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true, false);
+        when(resultSet.getString("TRIGGER_NAME")).thenReturn("trigger-1", "trigger-2");
+        when(resultSet.getString("TRIGGER_GROUP")).thenReturn("DEFAULT");
+
+        List<TriggerKey> triggers = delegate.selectTriggerToAcquire(connection, 2000L, 1000L, 4);
+
+        assertEquals(List.of(new TriggerKey("trigger-1"), new TriggerKey("trigger-2")), triggers);
+        verify(connection).prepareStatement(
+            "SELECT TRIGGER_NAME, TRIGGER_GROUP, NEXT_FIRE_TIME, PRIORITY FROM QRTZ_TRIGGERS"
+            + " WHERE SCHED_NAME = 'scheduler' AND TRIGGER_STATE = 'WAITING' AND NEXT_FIRE_TIME <= ?"
+            + " AND (MISFIRE_INSTR = -1 OR (MISFIRE_INSTR != -1 AND NEXT_FIRE_TIME >= ?))"
+            + " ORDER BY NEXT_FIRE_TIME ASC, PRIORITY DESC LIMIT ?"
+        );
+        verify(preparedStatement).setLong(1, 2000L);
+        verify(preparedStatement).setLong(2, 1000L);
+        verify(preparedStatement).setInt(3, 4);
+        verify(preparedStatement).close();
+    }
+
+    @Test
+    void should_report_more_misfired_waiting_triggers_than_requested() throws Exception {
+
+        when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true, true);
+        when(resultSet.getString("TRIGGER_NAME")).thenReturn("trigger-1", "trigger-2");
+        when(resultSet.getString("TRIGGER_GROUP")).thenReturn("DEFAULT");
+
+        List<TriggerKey> misfired = new ArrayList<>();
+
+        assertTrue(delegate.hasMisfiredTriggersInState(connection, "WAITING", 1000L, 2, misfired));
+        assertEquals(2, misfired.size());
+        verify(preparedStatement).setLong(1, 1000L);
+        verify(preparedStatement).setInt(2, 3);
+    }
+
+    @Test
+    void should_not_limit_misfired_waiting_triggers_when_recovering() throws Exception {
+
+        when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getString("TRIGGER_NAME")).thenReturn("trigger-1");
+        when(resultSet.getString("TRIGGER_GROUP")).thenReturn("DEFAULT");
+
+        List<TriggerKey> misfired = new ArrayList<>();
+
+        assertFalse(delegate.hasMisfiredTriggersInState(connection, "WAITING", 1000L, -1, misfired));
+        assertEquals(1, misfired.size());
+        verify(preparedStatement).setNull(2, Types.INTEGER);
+    }
+
+    @Test
+    void should_count_misfired_waiting_triggers() throws Exception {
+
+        when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getInt(1)).thenReturn(7);
+
+        assertEquals(7, delegate.countMisfiredTriggersInState(connection, "WAITING", 1000L));
+        verify(connection).prepareStatement(
+            "SELECT COUNT(TRIGGER_NAME) FROM QRTZ_TRIGGERS"
+            + " WHERE SCHED_NAME = 'scheduler' AND TRIGGER_STATE = 'WAITING' AND NOT (MISFIRE_INSTR = -1) AND NEXT_FIRE_TIME < ?"
+        );
+        verify(preparedStatement).setLong(1, 1000L);
+    }
+}
@@ -0,0 +1,200 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.services.quartz;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.quartz.JobDataMap;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import uk.gov.hmcts.reform.timedevent.infrastructure.services.DateTimeProvider;
+
+@ExtendWith(MockitoExtension.class)
+class CompletedJobArchiverTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private DateTimeProvider dateTimeProvider;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ZonedDateTime now = ZonedDateTime.now();
+    private final BinaryJobDataCodec codec = new BinaryJobDataCodec();
+
+    private CompletedJobArchiver archiver;
+
+    @BeforeEach
+    void setUp() {
+        archiver = new CompletedJobArchiver(
+            jdbcTemplate,
+            transactionManager,
+            dateTimeProvider,
+            meterRegistry,
+            "ia_timed_event_service.",
+            "timed-event-quartz-scheduler",
+            30,
+            3
+        );
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void should_archive_orphaned_jobs_older_than_retention() throws Exception {
+
+        when(dateTimeProvider.now()).thenReturn(now);
+        page(
+            row("job-1", jobData(now.minusDays(31)), true),
+            row("job-2", jobData(now.minusDays(1)), true),
+            row("job-3", jobData(now.minusDays(60)), false)
+        );
+        when(jdbcTemplate.queryForList(anyString(), any(MapSqlParameterSource.class), eq(String.class)))
+            .thenReturn(List.of("TRIGGER_ACCESS"))
+            .thenReturn(List.of("job-1"));
+
+        CompletedJobArchiver.BatchResult result = archiver.archiveBatch("");
+
+        assertEquals(3, result.getScanned());
+        assertEquals(1, result.getArchived());
+        assertEquals("job-3", result.getLastJobName());
+        assertFalse(result.isLastPage());
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbcTemplate, times(2)).queryForList(sql.capture(), params.capture(), eq(String.class));
+
+        assertTrue(sql.getAllValues().get(0).contains("ia_timed_event_service.QRTZ_LOCKS"));
+        assertTrue(sql.getAllValues().get(0).endsWith("FOR UPDATE"));
+        assertTrue(sql.getAllValues().get(1).startsWith("DELETE FROM ia_timed_event_service.QRTZ_JOB_DETAILS"));
+        assertEquals(List.of("job-1"), new ArrayList<>((Collection<String>) params.getValue().getValue("names")));
+
+        ArgumentCaptor<MapSqlParameterSource[]> history = ArgumentCaptor.forClass(MapSqlParameterSource[].class);
+        verify(jdbcTemplate).batchUpdate(contains("ia_timed_event_service.timed_event_history"), history.capture());
+
+        MapSqlParameterSource archived = history.getValue()[0];
+        assertEquals("job-1", archived.getValue("id"));
+        assertEquals("example", archived.getValue("event"));
+        assertEquals(1588772172174023L, archived.getValue("caseId"));
+        assertEquals(2, archived.getValue("attempts"));
+        assertEquals(Timestamp.from(now.minusDays(31).toInstant()), archived.getValue("lastExecutedAt"));
+        assertEquals(Timestamp.from(now.toInstant()), archived.getValue("archivedAt"));
+
+        ArgumentCaptor<MapSqlParameterSource> timedEvents = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbcTemplate).update(eq("DELETE FROM ia_timed_event_service.timed_event WHERE id IN (:names)"), timedEvents.capture());
+        assertEquals(List.of("job-1"), timedEvents.getValue().getValue("names"));
+
+        verify(transactionManager).commit(any());
+        assertEquals(1.0, meterRegistry.get("quartz.janitor.archived").counter().count());
+        assertEquals(1.0, meterRegistry.get("quartz.janitor.retained").counter().count());
+    }
+
+    @Test
+    void should_archive_legacy_jobs_without_execution_time() throws Exception {
+
+        when(dateTimeProvider.now()).thenReturn(now);
+        page(row("job-1", BinaryJobDataCodecTest.javaSerialized(BinaryJobDataCodecTest.timedEventJobData()), true));
+        when(jdbcTemplate.queryForList(anyString(), any(MapSqlParameterSource.class), eq(String.class)))
+            .thenReturn(List.of())
+            .thenReturn(List.of("job-1"));
+
+        CompletedJobArchiver.BatchResult result = archiver.archiveBatch("");
+
+        assertEquals(1, result.getArchived());
+        assertTrue(result.isLastPage());
+    }
+
+    @Test
+    void should_archive_job_with_malformed_case_id_without_it() throws Exception {
+
+        when(dateTimeProvider.now()).thenReturn(now);
+        JobDataMap data = BinaryJobDataCodecTest.timedEventJobData();
+        data.put("caseId", "not-a-case-id");
+        page(row("job-1", codec.encode(data), true));
+        when(jdbcTemplate.queryForList(anyString(), any(MapSqlParameterSource.class), eq(String.class)))
+            .thenReturn(List.of())
+            .thenReturn(List.of("job-1"));
+
+        CompletedJobArchiver.BatchResult result = archiver.archiveBatch("");
+
+        assertEquals(1, result.getArchived());
+        assertEquals("job-1", result.getLastJobName());
+
+        ArgumentCaptor<MapSqlParameterSource[]> history = ArgumentCaptor.forClass(MapSqlParameterSource[].class);
+        verify(jdbcTemplate).batchUpdate(contains("timed_event_history"), history.capture());
+        assertEquals("job-1", history.getValue()[0].getValue("id"));
+        assertNull(history.getValue()[0].getValue("caseId"));
+    }
+
+    @Test
+    void should_not_open_transaction_when_nothing_is_archivable() throws Exception {
+
+        when(dateTimeProvider.now()).thenReturn(now);
+        page(row("job-1", jobData(now.minusDays(1)), true), row("job-2", jobData(now.minusDays(40)), false));
+
+        CompletedJobArchiver.BatchResult result = archiver.archiveBatch("job-0");
+
+        assertEquals(0, result.getArchived());
+        assertEquals("job-2", result.getLastJobName());
+        assertTrue(result.isLastPage());
+        verifyNoInteractions(transactionManager);
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), any(MapSqlParameterSource[].class));
+    }
+
+    @Test
+    void should_return_last_page_when_nothing_is_left() {
+
+        when(jdbcTemplate.query(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class))).thenReturn(List.of());
+
+        CompletedJobArchiver.BatchResult result = archiver.archiveBatch("job-9");
+
+        assertEquals(0, result.getScanned());
+        assertEquals("job-9", result.getLastJobName());
+        assertTrue(result.isLastPage());
+    }
+
+    private byte[] jobData(ZonedDateTime lastExecutedAt) {
+        JobDataMap data = BinaryJobDataCodecTest.timedEventJobData();
+        data.put("attempts", 2L);
+        data.put("lastExecutedAt", lastExecutedAt.toInstant().toEpochMilli());
+        return codec.encode(data);
+    }
+
+    private ResultSet row(String name, byte[] jobData, boolean orphan) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString("JOB_NAME")).thenReturn(name);
+        when(rs.getBytes("JOB_DATA")).thenReturn(jobData);
+        when(rs.getBoolean("ORPHAN")).thenReturn(orphan);
+        return rs;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void page(ResultSet... rows) {
+        when(jdbcTemplate.query(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class)))
+            .thenAnswer(invocation -> {
+                RowMapper<Object> mapper = invocation.getArgument(2);
+                List<Object> mapped = new ArrayList<>();
+                for (int i = 0; i < rows.length; i++) {
+                    mapped.add(mapper.mapRow(rows[i], i));
+                }
+                return mapped;
+            });
+    }
+}
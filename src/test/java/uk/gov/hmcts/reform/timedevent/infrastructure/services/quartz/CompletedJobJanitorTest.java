@@ -0,0 +1,147 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.services.quartz;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.quartz.JobBuilder;
+import org.quartz.JobDataMap;
+import org.quartz.JobDetail;
+import org.quartz.JobExecutionContext;
+import org.quartz.ObjectAlreadyExistsException;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+
+@ExtendWith(MockitoExtension.class)
+class CompletedJobJanitorTest {
+
+    @Mock
+    private CompletedJobArchiver archiver;
+
+    @Mock
+    private JobExecutionContext context;
+
+    @Mock
+    private Scheduler scheduler;
+
+    private final JobDetail jobDetail = JobBuilder.newJob(CompletedJobJanitor.class)
+        .withIdentity(CompletedJobJanitor.JOB_NAME, CompletedJobJanitor.JOB_GROUP)
+        .storeDurably()
+        .build();
+
+    private final Trigger intervalTrigger = TriggerBuilder.newTrigger()
+        .forJob(jobDetail)
+        .withIdentity(CompletedJobJanitor.JOB_NAME, CompletedJobJanitor.JOB_GROUP)
+        .build();
+
+    private JobDataMap data;
+
+    @BeforeEach
+    void setUp() {
+
+        data = jobDetail.getJobDataMap();
+
+        lenient().when(context.getJobDetail()).thenReturn(jobDetail);
+        lenient().when(context.getTrigger()).thenReturn(intervalTrigger);
+        lenient().when(context.getScheduler()).thenReturn(scheduler);
+    }
+
+    @Test
+    void should_archive_one_batch_and_continue_later() throws SchedulerException {
+
+        data.put(CompletedJobJanitor.CURSOR, "job-0");
+        when(archiver.archiveBatch("job-0")).thenReturn(new CompletedJobArchiver.BatchResult(2, 1, "job-2", false));
+
+        long before = System.currentTimeMillis();
+        new CompletedJobJanitor(archiver, true, 2, 500).execute(context);
+
+        verify(archiver, times(1)).archiveBatch(anyString());
+        assertEquals("job-2", data.getString(CompletedJobJanitor.CURSOR));
+
+        ArgumentCaptor<Trigger> next = ArgumentCaptor.forClass(Trigger.class);
+        verify(scheduler).scheduleJob(next.capture());
+        assertEquals(CompletedJobJanitor.CONTINUATION, next.getValue().getKey());
+        assertEquals(jobDetail.getKey(), next.getValue().getJobKey());
+        assertEquals(1, next.getValue().getJobDataMap().getInt(CompletedJobJanitor.BATCH));
+        assertTrue(next.getValue().getStartTime().getTime() >= before + 500);
+    }
+
+    @Test
+    void should_reschedule_continuation_until_batch_limit() throws SchedulerException {
+
+        Trigger continuation = TriggerBuilder.newTrigger()
+            .forJob(jobDetail)
+            .withIdentity(CompletedJobJanitor.CONTINUATION)
+            .usingJobData(CompletedJobJanitor.BATCH, 1)
+            .build();
+        when(context.getTrigger()).thenReturn(continuation);
+
+        data.put(CompletedJobJanitor.CURSOR, "job-2");
+        when(archiver.archiveBatch("job-2")).thenReturn(new CompletedJobArchiver.BatchResult(2, 2, "job-4", false));
+        when(archiver.archiveBatch("job-4")).thenReturn(new CompletedJobArchiver.BatchResult(2, 2, "job-6", false));
+
+        new CompletedJobJanitor(archiver, true, 3, 0).execute(context);
+
+        ArgumentCaptor<Trigger> next = ArgumentCaptor.forClass(Trigger.class);
+        verify(scheduler).rescheduleJob(eq(CompletedJobJanitor.CONTINUATION), next.capture());
+        assertEquals(2, next.getValue().getJobDataMap().getInt(CompletedJobJanitor.BATCH));
+
+        when(context.getTrigger()).thenReturn(next.getValue());
+        new CompletedJobJanitor(archiver, true, 3, 0).execute(context);
+
+        assertEquals("job-6", data.getString(CompletedJobJanitor.CURSOR));
+        verify(scheduler, times(1)).rescheduleJob(any(), any());
+        verify(scheduler, never()).scheduleJob(any(Trigger.class));
+    }
+
+    @Test
+    void should_reset_cursor_after_last_page() throws SchedulerException {
+
+        when(archiver.archiveBatch("")).thenReturn(new CompletedJobArchiver.BatchResult(1, 1, "job-1", true));
+
+        new CompletedJobJanitor(archiver, true, 5, 0).execute(context);
+
+        verify(archiver, times(1)).archiveBatch(anyString());
+        assertEquals("", data.getString(CompletedJobJanitor.CURSOR));
+        verifyNoInteractions(scheduler);
+    }
+
+    @Test
+    void should_keep_pending_continuation() throws SchedulerException {
+
+        when(archiver.archiveBatch("")).thenReturn(new CompletedJobArchiver.BatchResult(2, 1, "job-2", false));
+        when(scheduler.scheduleJob(any(Trigger.class))).thenThrow(new ObjectAlreadyExistsException("exists"));
+
+        new CompletedJobJanitor(archiver, true, 5, 0).execute(context);
+
+        assertEquals("job-2", data.getString(CompletedJobJanitor.CURSOR));
+    }
+
+    @Test
+    void should_stop_when_interrupted() {
+
+        CompletedJobJanitor janitor = new CompletedJobJanitor(archiver, true, 5, 0);
+        janitor.interrupt();
+        janitor.execute(context);
+
+        verifyNoInteractions(archiver, scheduler);
+        assertEquals("", data.getString(CompletedJobJanitor.CURSOR));
+    }
+
+    @Test
+    void should_do_nothing_when_disabled() {
+
+        new CompletedJobJanitor(archiver, false, 5, 0).execute(context);
+
+        verifyNoInteractions(archiver, context);
+    }
+}
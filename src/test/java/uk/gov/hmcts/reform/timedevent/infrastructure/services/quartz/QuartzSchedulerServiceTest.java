@@ -1,22 +1,39 @@
 package uk.gov.hmcts.reform.timedevent.infrastructure.services.quartz;
 
+import static java.time.ZoneOffset.UTC;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.time.ZonedDateTime;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.quartz.*;
+import uk.gov.hmcts.reform.timedevent.domain.entities.DeduplicationPolicy;
 import uk.gov.hmcts.reform.timedevent.domain.entities.TimedEvent;
+import uk.gov.hmcts.reform.timedevent.domain.entities.TimedEventBatchResult;
+import uk.gov.hmcts.reform.timedevent.domain.entities.TimedEventState;
 import uk.gov.hmcts.reform.timedevent.domain.entities.ccd.Event;
+import uk.gov.hmcts.reform.timedevent.domain.services.TimedEventRepository;
 import uk.gov.hmcts.reform.timedevent.infrastructure.services.IdentityProvider;
+import uk.gov.hmcts.reform.timedevent.infrastructure.services.exceptions.DuplicateTimedEventException;
 import uk.gov.hmcts.reform.timedevent.infrastructure.services.exceptions.SchedulerProcessingException;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,6 +45,9 @@ class QuartzSchedulerServiceTest {
     @Mock
     private IdentityProvider identityProvider;
 
+    @Mock
+    private TimedEventRepository timedEventRepository;
+
     private final String identity = "someIdentity";
     private final String jurisdiction = "IA";
     private final String caseType = "Asylum";
@@ -39,7 +59,7 @@ class QuartzSchedulerServiceTest {
 
         when(identityProvider.identity()).thenReturn(identity);
 
-        QuartzSchedulerService schedulerService = new QuartzSchedulerService(scheduler, identityProvider);
+        QuartzSchedulerService schedulerService = schedulerService(DeduplicationPolicy.NONE);
 
         TimedEvent timedEvent = new TimedEvent(
             "",
@@ -62,12 +82,17 @@ class QuartzSchedulerServiceTest {
         assertEquals(jurisdiction, trigger.getValue().getJobDataMap().get("jurisdiction"));
         assertEquals(caseType, trigger.getValue().getJobDataMap().getString("caseType"));
         assertEquals(caseId, trigger.getValue().getJobDataMap().getLong("caseId"));
+
+        ArgumentCaptor<List<TimedEvent>> saved = listCaptor();
+        verify(timedEventRepository).saveAll(saved.capture());
+        assertEquals(identity, saved.getValue().get(0).getId());
+        assertEquals(caseId, saved.getValue().get(0).getCaseId());
     }
 
     @Test
     public void should_re_schedule_event() throws SchedulerException {
 
-        QuartzSchedulerService schedulerService = new QuartzSchedulerService(scheduler, identityProvider);
+        QuartzSchedulerService schedulerService = schedulerService(DeduplicationPolicy.NONE);
 
         TimedEvent timedEvent = new TimedEvent(
             identity,
@@ -91,6 +116,66 @@ class QuartzSchedulerServiceTest {
         assertEquals(jurisdiction, trigger.getValue().getJobDataMap().get("jurisdiction"));
         assertEquals(caseType, trigger.getValue().getJobDataMap().getString("caseType"));
         assertEquals(caseId, trigger.getValue().getJobDataMap().getLong("caseId"));
+        verify(timedEventRepository, never()).saveAll(any());
+    }
+
+    @Test
+    public void should_update_timed_event_when_re_scheduled() throws SchedulerException {
+
+        when(scheduler.rescheduleJob(eq(new TriggerKey(identity)), any(Trigger.class))).thenReturn(new Date());
+
+        QuartzSchedulerService schedulerService = schedulerService(DeduplicationPolicy.NONE);
+
+        TimedEvent timedEvent = new TimedEvent(
+            identity,
+            Event.EXAMPLE,
+            scheduledDateTime,
+            jurisdiction,
+            caseType,
+            caseId
+        );
+
+        assertEquals(identity, schedulerService.reschedule(timedEvent));
+        verify(timedEventRepository).saveAll(List.of(timedEvent));
+    }
+
+    @Test
+    public void should_delete_job_and_timed_event() throws SchedulerException {
+
+        Trigger trigger = mock(Trigger.class);
+        JobDataMap data = new JobDataMap();
+        data.put("event", Event.EXAMPLE.toString());
+        data.put("jurisdiction", jurisdiction);
+        data.put("caseType", caseType);
+        data.put("caseId", String.valueOf(caseId));
+        when(trigger.getJobDataMap()).thenReturn(data);
+        when(trigger.getFinalFireTime()).thenReturn(Date.from(scheduledDateTime.toInstant()));
+        when(scheduler.getTrigger(new TriggerKey(identity))).thenReturn(trigger);
+        when(scheduler.deleteJob(new JobKey(identity))).thenReturn(true);
+
+        QuartzSchedulerService schedulerService = schedulerService(DeduplicationPolicy.NONE);
+
+        assertTrue(schedulerService.deleteSchedule(identity));
+        verify(timedEventRepository).delete(identity);
+    }
+
+    @Test
+    public void should_get_pending_events_of_the_case() {
+
+        TimedEvent timedEvent = new TimedEvent(
+            identity,
+            Event.EXAMPLE,
+            scheduledDateTime,
+            jurisdiction,
+            caseType,
+            caseId
+        );
+        when(timedEventRepository.findByCaseIdAndState(caseId, TimedEventState.SCHEDULED)).thenReturn(List.of(timedEvent));
+
+        QuartzSchedulerService schedulerService = schedulerService(DeduplicationPolicy.NONE);
+
+        assertEquals(List.of(timedEvent), schedulerService.getPending(caseId));
+        verifyNoInteractions(scheduler);
     }
 
     @Test
@@ -99,7 +184,7 @@ class QuartzSchedulerServiceTest {
         when(identityProvider.identity()).thenReturn(identity);
         when(scheduler.scheduleJob(any(JobDetail.class), any(Trigger.class))).thenThrow(SchedulerException.class);
 
-        QuartzSchedulerService schedulerService = new QuartzSchedulerService(scheduler, identityProvider);
+        QuartzSchedulerService schedulerService = schedulerService(DeduplicationPolicy.NONE);
 
         TimedEvent timedEvent = new TimedEvent(
             "",
@@ -117,5 +202,267 @@ class QuartzSchedulerServiceTest {
         assertEquals(SchedulerException.class, ex.getCause().getClass());
         verify(identityProvider).identity();
         verify(scheduler).scheduleJob(any(JobDetail.class), any(Trigger.class));
+        verifyNoInteractions(timedEventRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void should_schedule_all_events_in_one_call() throws SchedulerException {
+
+        when(identityProvider.identity()).thenReturn(identity);
+
+        QuartzSchedulerService schedulerService = schedulerService(DeduplicationPolicy.NONE);
+
+        TimedEvent newTimedEvent = new TimedEvent(
+            "",
+            Event.EXAMPLE,
+            scheduledDateTime,
+            jurisdiction,
+            caseType,
+            caseId
+        );
+        TimedEvent existingTimedEvent = new TimedEvent(
+            "existingIdentity",
+            Event.EXAMPLE,
+            scheduledDateTime,
+            jurisdiction,
+            caseType,
+            caseId
+        );
+
+        TimedEvent unknownTimedEvent = new TimedEvent(
+            "unknownIdentity",
+            Event.EXAMPLE,
+            scheduledDateTime,
+            jurisdiction,
+            caseType,
+            caseId
+        );
+
+        // unknown ids are rescheduled with no trigger found
+        lenient().when(scheduler.rescheduleJob(eq(new TriggerKey("existingIdentity")), any(Trigger.class)))
+            .thenReturn(Date.from(scheduledDateTime.toInstant()));
+
+        List<TimedEventBatchResult> results =
+            schedulerService.scheduleAll(List.of(newTimedEvent, existingTimedEvent, unknownTimedEvent));
+
+        assertEquals(3, results.size());
+        assertEquals(0, results.get(0).getIndex());
+        assertEquals(201, results.get(0).getStatus());
+        assertEquals(identity, results.get(0).getTimedEvent().getId());
+        assertEquals(1, results.get(1).getIndex());
+        assertEquals(201, results.get(1).getStatus());
+        assertEquals("existingIdentity", results.get(1).getTimedEvent().getId());
+        assertEquals(2, results.get(2).getIndex());
+        assertEquals(404, results.get(2).getStatus());
+        assertEquals("Timed event not found: unknownIdentity", results.get(2).getError());
+
+        ArgumentCaptor<Map<JobDetail, Set<? extends Trigger>>> jobsAndTriggers = ArgumentCaptor.forClass(Map.class);
+
+        // items with an id are never created under it, nor replaced
+        verify(scheduler).scheduleJobs(jobsAndTriggers.capture(), eq(false));
+        assertEquals(1, jobsAndTriggers.getValue().size());
+        jobsAndTriggers.getValue().forEach((job, triggers) -> {
+            assertEquals(new JobKey(identity), job.getKey());
+            assertEquals(1, triggers.size());
+            Trigger trigger = triggers.iterator().next();
+            assertEquals(job.getKey(), trigger.getJobKey());
+            assertEquals(Date.from(scheduledDateTime.toInstant()), trigger.getStartTime());
+        });
+
+        ArgumentCaptor<Trigger> rescheduled = ArgumentCaptor.forClass(Trigger.class);
+        verify(scheduler).rescheduleJob(eq(new TriggerKey("unknownIdentity")), rescheduled.capture());
+        assertEquals(new JobKey("unknownIdentity"), rescheduled.getValue().getJobKey());
+
+        ArgumentCaptor<List<TimedEvent>> saved = listCaptor();
+        verify(timedEventRepository).saveAll(saved.capture());
+        assertEquals(2, saved.getValue().size());
+        assertEquals(identity, saved.getValue().get(0).getId());
+        assertEquals("existingIdentity", saved.getValue().get(1).getId());
+    }
+
+    @Test
+    public void should_re_throw_custom_exception_when_scheduler_throws_it_on_schedule_all() throws SchedulerException {
+
+        when(identityProvider.identity()).thenReturn(identity);
+        doThrow(SchedulerException.class).when(scheduler).scheduleJobs(anyMap(), eq(false));
+
+        QuartzSchedulerService schedulerService = schedulerService(DeduplicationPolicy.NONE);
+
+        TimedEvent timedEvent = new TimedEvent(
+            "",
+            Event.EXAMPLE,
+            scheduledDateTime,
+            jurisdiction,
+            caseType,
+            caseId
+        );
+
+        assertThrows(
+            SchedulerProcessingException.class,
+            () -> schedulerService.scheduleAll(List.of(timedEvent))
+        );
+    }
+
+    @Test
+    public void should_schedule_event_when_no_duplicate_is_pending() throws SchedulerException {
+
+        ZonedDateTime at = ZonedDateTime.of(2030, 7, 12, 10, 15, 0, 0, UTC);
+        when(identityProvider.identity()).thenReturn(identity);
+        when(timedEventRepository.lockPending(
+            caseId,
+            Event.EXAMPLE,
+            ZonedDateTime.of(2030, 7, 12, 10, 0, 0, 0, UTC),
+            ZonedDateTime.of(2030, 7, 12, 11, 0, 0, 0, UTC)
+        )).thenReturn(List.of());
+
+        QuartzSchedulerService schedulerService = schedulerService(DeduplicationPolicy.KEEP_EARLIEST);
+
+        assertEquals(identity, schedulerService.schedule(timedEvent("", at)));
+
+        verify(scheduler).scheduleJob(any(JobDetail.class), any(Trigger.class));
+    }
+
+    @Test
+    public void should_collapse_later_duplicate_into_pending_event_when_keeping_earliest() throws SchedulerException {
+
+        ZonedDateTime existingAt = ZonedDateTime.of(2030, 7, 12, 10, 15, 0, 0, UTC);
+        when(timedEventRepository.lockPending(eq(caseId), eq(Event.EXAMPLE), any(), any()))
+            .thenReturn(List.of(timedEvent("existingId", existingAt)));
+
+        QuartzSchedulerService schedulerService = schedulerService(DeduplicationPolicy.KEEP_EARLIEST);
+
+        assertEquals("existingId", schedulerService.schedule(timedEvent("", existingAt.plusMinutes(30))));
+
+        verifyNoInteractions(scheduler, identityProvider);
+        verify(timedEventRepository, never()).saveAll(any());
+    }
+
+    @Test
+    public void should_move_pending_event_to_earlier_duplicate_when_keeping_earliest() throws SchedulerException {
+
+        ZonedDateTime existingAt = ZonedDateTime.of(2030, 7, 12, 10, 45, 0, 0, UTC);
+        when(timedEventRepository.lockPending(eq(caseId), eq(Event.EXAMPLE), any(), any()))
+            .thenReturn(List.of(timedEvent("existingId", existingAt)));
+        when(scheduler.rescheduleJob(eq(new TriggerKey("existingId")), any(Trigger.class))).thenReturn(new Date());
+
+        QuartzSchedulerService schedulerService = schedulerService(DeduplicationPolicy.KEEP_EARLIEST);
+
+        assertEquals("existingId", schedulerService.schedule(timedEvent("", existingAt.minusMinutes(30))));
+
+        ArgumentCaptor<Trigger> trigger = ArgumentCaptor.forClass(Trigger.class);
+        verify(scheduler).rescheduleJob(eq(new TriggerKey("existingId")), trigger.capture());
+        assertEquals(Date.from(existingAt.minusMinutes(30).toInstant()), trigger.getValue().getStartTime());
+        verify(scheduler, never()).scheduleJob(any(JobDetail.class), any(Trigger.class));
+        verifyNoInteractions(identityProvider);
+    }
+
+    @Test
+    public void should_move_pending_event_to_later_duplicate_when_keeping_latest() throws SchedulerException {
+
+        ZonedDateTime existingAt = ZonedDateTime.of(2030, 7, 12, 10, 15, 0, 0, UTC);
+        when(timedEventRepository.lockPending(eq(caseId), eq(Event.EXAMPLE), any(), any()))
+            .thenReturn(List.of(timedEvent("existingId", existingAt)));
+        when(scheduler.rescheduleJob(eq(new TriggerKey("existingId")), any(Trigger.class))).thenReturn(new Date());
+
+        QuartzSchedulerService schedulerService = schedulerService(DeduplicationPolicy.KEEP_LATEST);
+
+        assertEquals("existingId", schedulerService.schedule(timedEvent("", existingAt.plusMinutes(30))));
+
+        ArgumentCaptor<Trigger> trigger = ArgumentCaptor.forClass(Trigger.class);
+        verify(scheduler).rescheduleJob(eq(new TriggerKey("existingId")), trigger.capture());
+        assertEquals(Date.from(existingAt.plusMinutes(30).toInstant()), trigger.getValue().getStartTime());
+
+        ArgumentCaptor<List<TimedEvent>> saved = listCaptor();
+        verify(timedEventRepository).saveAll(saved.capture());
+        assertEquals("existingId", saved.getValue().get(0).getId());
+        assertEquals(existingAt.plusMinutes(30), saved.getValue().get(0).getScheduledDateTime());
+    }
+
+    @Test
+    public void should_reject_duplicate_of_pending_event() {
+
+        ZonedDateTime existingAt = ZonedDateTime.of(2030, 7, 12, 10, 15, 0, 0, UTC);
+        when(timedEventRepository.lockPending(eq(caseId), eq(Event.EXAMPLE), any(), any()))
+            .thenReturn(List.of(timedEvent("existingId", existingAt)));
+
+        QuartzSchedulerService schedulerService = schedulerService(DeduplicationPolicy.REJECT);
+
+        DuplicateTimedEventException exception = assertThrows(
+            DuplicateTimedEventException.class,
+            () -> schedulerService.schedule(timedEvent("", existingAt))
+        );
+
+        assertEquals("existingId", exception.getExistingId());
+        verifyNoInteractions(scheduler);
+    }
+
+    @Test
+    public void should_not_look_for_duplicates_when_deduplication_is_disabled() throws SchedulerException {
+
+        when(identityProvider.identity()).thenReturn(identity);
+
+        schedulerService(DeduplicationPolicy.NONE).schedule(timedEvent("", scheduledDateTime));
+
+        verify(timedEventRepository, never()).lockPending(anyLong(), any(), any(), any());
+    }
+
+    @Test
+    public void should_deduplicate_every_new_event_of_the_batch() throws SchedulerException {
+
+        ZonedDateTime at = ZonedDateTime.of(2030, 7, 12, 10, 15, 0, 0, UTC);
+        when(identityProvider.identity()).thenReturn(identity);
+        // second event of the batch finds the first one, stored already
+        when(timedEventRepository.lockPending(eq(caseId), eq(Event.EXAMPLE), any(), any()))
+            .thenReturn(List.of())
+            .thenReturn(List.of(timedEvent(identity, at)));
+
+        QuartzSchedulerService schedulerService = schedulerService(DeduplicationPolicy.KEEP_EARLIEST);
+
+        List<TimedEventBatchResult> results =
+            schedulerService.scheduleAll(List.of(timedEvent("", at), timedEvent("", at.plusMinutes(10))));
+
+        assertEquals(201, results.get(0).getStatus());
+        assertEquals(identity, results.get(0).getTimedEvent().getId());
+        assertEquals(201, results.get(1).getStatus());
+        assertEquals(identity, results.get(1).getTimedEvent().getId());
+
+        verify(scheduler).scheduleJob(any(JobDetail.class), any(Trigger.class));
+        verify(scheduler, never()).scheduleJobs(anyMap(), anyBoolean());
+        verify(scheduler, never()).rescheduleJob(any(), any());
+    }
+
+    @Test
+    public void should_reject_duplicate_of_pending_event_in_the_batch() throws SchedulerException {
+
+        ZonedDateTime existingAt = ZonedDateTime.of(2030, 7, 12, 10, 15, 0, 0, UTC);
+        when(timedEventRepository.lockPending(eq(caseId), eq(Event.EXAMPLE), any(), any()))
+            .thenReturn(List.of(timedEvent("existingId", existingAt)));
+
+        QuartzSchedulerService schedulerService = schedulerService(DeduplicationPolicy.REJECT);
+
+        List<TimedEventBatchResult> results = schedulerService.scheduleAll(List.of(timedEvent("", existingAt)));
+
+        assertEquals(1, results.size());
+        assertEquals(409, results.get(0).getStatus());
+        assertEquals("existingId", results.get(0).getTimedEvent().getId());
+        assertEquals("Timed event already scheduled with id: existingId", results.get(0).getError());
+
+        verify(scheduler, never()).scheduleJob(any(JobDetail.class), any(Trigger.class));
+        verify(scheduler, never()).scheduleJobs(anyMap(), anyBoolean());
+        verify(timedEventRepository, never()).saveAll(any());
+    }
+
+    private QuartzSchedulerService schedulerService(DeduplicationPolicy deduplicationPolicy) {
+        return new QuartzSchedulerService(scheduler, identityProvider, timedEventRepository, deduplicationPolicy, 3600);
+    }
+
+    private TimedEvent timedEvent(String id, ZonedDateTime at) {
+        return new TimedEvent(id, Event.EXAMPLE, at, jurisdiction, caseType, caseId);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<List<TimedEvent>> listCaptor() {
+        return ArgumentCaptor.forClass(List.class);
     }
 }
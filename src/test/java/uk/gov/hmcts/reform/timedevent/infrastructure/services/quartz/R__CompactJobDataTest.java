@@ -0,0 +1,54 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.services.quartz;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Date;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.quartz.JobDataMap;
+
+@SuppressWarnings("TypeName")
+class R__CompactJobDataTest {
+
+    private final BinaryJobDataCodec codec = new BinaryJobDataCodec();
+
+    @Test
+    void should_run_again_when_compact_writes_flag_changes() {
+
+        assertNull(new R__CompactJobData(false).getVersion());
+        assertNotEquals(new R__CompactJobData(false).getChecksum(), new R__CompactJobData(true).getChecksum());
+    }
+
+    @Test
+    void should_rewrite_java_serialized_job_data_with_compact_codec() throws Exception {
+
+        JobDataMap data = BinaryJobDataCodecTest.timedEventJobData();
+
+        byte[] encoded = new R__CompactJobData(true).encode(BinaryJobDataCodecTest.javaSerialized(data));
+
+        assertTrue(codec.canDecode(encoded));
+        assertEquals(data, new JobDataMap(codec.decode(encoded)));
+        assertNull(new R__CompactJobData(true).encode(encoded));
+    }
+
+    @Test
+    void should_rewrite_compact_job_data_with_java_serialization() throws Exception {
+
+        JobDataMap data = BinaryJobDataCodecTest.timedEventJobData();
+
+        byte[] serialized = new R__CompactJobData(false).encode(codec.encode(data));
+
+        assertFalse(codec.canDecode(serialized));
+        assertEquals(data, new JobDataMap((Map<?, ?>) JobDataBlobs.read(serialized, codec)));
+        assertNull(new R__CompactJobData(false).encode(serialized));
+    }
+
+    @Test
+    void should_leave_job_data_which_cannot_be_encoded() throws Exception {
+
+        JobDataMap data = BinaryJobDataCodecTest.timedEventJobData();
+        data.put("date", new Date());
+
+        assertNull(new R__CompactJobData(true).encode(BinaryJobDataCodecTest.javaSerialized(data)));
+    }
+}
@@ -15,9 +15,12 @@ import org.quartz.JobDetail;
 import org.quartz.JobExecutionContext;
 import org.quartz.JobKey;
 import uk.gov.hmcts.reform.timedevent.domain.entities.TimedEvent;
+import uk.gov.hmcts.reform.timedevent.domain.entities.TimedEventState;
 import uk.gov.hmcts.reform.timedevent.domain.entities.ccd.Event;
 import uk.gov.hmcts.reform.timedevent.domain.services.SchedulerService;
+import uk.gov.hmcts.reform.timedevent.domain.services.TimedEventRepository;
 import uk.gov.hmcts.reform.timedevent.infrastructure.services.DateTimeProvider;
+import uk.gov.hmcts.reform.timedevent.infrastructure.services.exceptions.DeferredExecutionException;
 import uk.gov.hmcts.reform.timedevent.infrastructure.services.exceptions.NonRetryableException;
 import uk.gov.hmcts.reform.timedevent.infrastructure.services.exceptions.RetryableException;
 
@@ -26,6 +29,7 @@ class RetryJobListenerTest {
 
     private final long durationInSeconds = 30;
     private final long maxRetryNumber = 5;
+    private final long deferralInSeconds = 60;
     private final ZonedDateTime dateTime = ZonedDateTime.now();
     private final long caseId = 12345;
     private final String identity = "someId";
@@ -36,6 +40,9 @@ class RetryJobListenerTest {
     @Mock
     private DateTimeProvider dateTimeProvider;
 
+    @Mock
+    private TimedEventRepository timedEventRepository;
+
     @Mock
     private JobExecutionContext jobExecutionContext;
 
@@ -59,35 +66,38 @@ class RetryJobListenerTest {
     @Test
     public void should_not_re_schedule_event_when_exception_is_null() {
 
-        RetryJobListener retryJobListener = new RetryJobListener(durationInSeconds, maxRetryNumber, quartzSchedulerService, dateTimeProvider);
+        RetryJobListener retryJobListener = new RetryJobListener(durationInSeconds, maxRetryNumber, deferralInSeconds, quartzSchedulerService, dateTimeProvider, timedEventRepository);
 
         retryJobListener.jobWasExecuted(jobExecutionContext, null);
 
         verifyNoInteractions(quartzSchedulerService);
         verifyNoInteractions(dateTimeProvider);
+        verify(timedEventRepository).updateState(identity, TimedEventState.COMPLETED, 0L);
     }
 
     @Test
     public void should_not_re_schedule_event_when_exception_is_non_retryable() {
 
-        RetryJobListener retryJobListener = new RetryJobListener(durationInSeconds, maxRetryNumber, quartzSchedulerService, dateTimeProvider);
+        RetryJobListener retryJobListener = new RetryJobListener(durationInSeconds, maxRetryNumber, deferralInSeconds, quartzSchedulerService, dateTimeProvider, timedEventRepository);
 
         retryJobListener.jobWasExecuted(jobExecutionContext, new NonRetryableException());
 
         verifyNoInteractions(quartzSchedulerService);
         verifyNoInteractions(dateTimeProvider);
+        verify(timedEventRepository).updateState(identity, TimedEventState.FAILED, 0L);
     }
 
     @Test
     public void should_not_re_schedule_event_when_exception_is_retryable_but_exceed_retries_number() {
 
-        RetryJobListener retryJobListener = new RetryJobListener(durationInSeconds, maxRetryNumber, quartzSchedulerService, dateTimeProvider);
+        RetryJobListener retryJobListener = new RetryJobListener(durationInSeconds, maxRetryNumber, deferralInSeconds, quartzSchedulerService, dateTimeProvider, timedEventRepository);
         when(jobDataMap.getOrDefault("attempts", 0L)).thenReturn(6L);
 
         retryJobListener.jobWasExecuted(jobExecutionContext, new RetryableException());
 
         verifyNoInteractions(quartzSchedulerService);
         verifyNoInteractions(dateTimeProvider);
+        verify(timedEventRepository).updateState(identity, TimedEventState.FAILED, 6L);
     }
 
     @Test
@@ -101,7 +111,7 @@ class RetryJobListenerTest {
 
         when(dateTimeProvider.now()).thenReturn(dateTime);
 
-        RetryJobListener retryJobListener = new RetryJobListener(durationInSeconds, maxRetryNumber, quartzSchedulerService, dateTimeProvider);
+        RetryJobListener retryJobListener = new RetryJobListener(durationInSeconds, maxRetryNumber, deferralInSeconds, quartzSchedulerService, dateTimeProvider, timedEventRepository);
 
         retryJobListener.jobWasExecuted(jobExecutionContext, new RetryableException());
 
@@ -117,5 +127,29 @@ class RetryJobListenerTest {
         assertEquals(Event.EXAMPLE, timedEvent.getValue().getEvent());
         assertTrue(timedEvent.getValue().getScheduledDateTime()
                 .isBefore(dateTime.plusSeconds(durationInSeconds + 121)));
+        verify(timedEventRepository).updateState(identity, TimedEventState.SCHEDULED, 0L);
+    }
+
+    @Test
+    public void should_defer_event_without_counting_retry_when_execution_is_deferred() {
+
+        when(jobDataMap.getString("jurisdiction")).thenReturn("IA");
+        when(jobDataMap.getString("caseType")).thenReturn("Asylum");
+        when(jobDataMap.getOrDefault("attempts", 0L)).thenReturn(2L);
+
+        when(dateTimeProvider.now()).thenReturn(dateTime);
+
+        RetryJobListener retryJobListener = new RetryJobListener(durationInSeconds, maxRetryNumber, deferralInSeconds, quartzSchedulerService, dateTimeProvider, timedEventRepository);
+
+        retryJobListener.jobWasExecuted(jobExecutionContext, new DeferredExecutionException());
+
+        ArgumentCaptor<TimedEvent> timedEvent = ArgumentCaptor.forClass(TimedEvent.class);
+
+        verify(quartzSchedulerService).reschedule(timedEvent.capture());
+
+        assertEquals(identity, timedEvent.getValue().getId());
+        assertFalse(timedEvent.getValue().getScheduledDateTime().isBefore(dateTime.plusSeconds(deferralInSeconds)));
+        assertTrue(timedEvent.getValue().getScheduledDateTime().isBefore(dateTime.plusSeconds(deferralInSeconds + 30)));
+        verify(timedEventRepository).updateState(identity, TimedEventState.SCHEDULED, 2L);
     }
 }
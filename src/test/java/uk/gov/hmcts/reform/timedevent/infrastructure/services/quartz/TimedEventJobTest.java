@@ -2,8 +2,13 @@ package uk.gov.hmcts.reform.timedevent.infrastructure.services.quartz;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import java.time.ZonedDateTime;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,7 +22,10 @@ import org.quartz.JobExecutionException;
 import uk.gov.hmcts.reform.timedevent.domain.entities.EventExecution;
 import uk.gov.hmcts.reform.timedevent.domain.entities.ccd.Event;
 import uk.gov.hmcts.reform.timedevent.domain.services.EventExecutor;
+import uk.gov.hmcts.reform.timedevent.infrastructure.resilience.DownstreamResilience;
+import uk.gov.hmcts.reform.timedevent.infrastructure.services.DateTimeProvider;
 import uk.gov.hmcts.reform.timedevent.infrastructure.services.RetryableExceptionHandler;
+import uk.gov.hmcts.reform.timedevent.infrastructure.services.exceptions.DeferredExecutionException;
 import uk.gov.hmcts.reform.timedevent.infrastructure.services.exceptions.NonRetryableException;
 import uk.gov.hmcts.reform.timedevent.infrastructure.services.exceptions.RetryableException;
 
@@ -30,6 +38,12 @@ class TimedEventJobTest {
     @Mock
     private RetryableExceptionHandler exceptionHandler;
 
+    @Mock
+    private DateTimeProvider dateTimeProvider;
+
+    @Mock
+    private DownstreamResilience downstreamResilience;
+
     @Mock
     private JobExecutionContext jobExecutionContext;
 
@@ -42,23 +56,26 @@ class TimedEventJobTest {
     private final String jurisdiction = "IA";
     private final String caseType = "Asylum";
     private final long caseId = 12345;
+    private final ZonedDateTime now = ZonedDateTime.now();
 
     @BeforeEach
     public void setUp() {
-        when(jobDataMap.getString("event")).thenReturn(Event.EXAMPLE.toString());
-        when(jobDataMap.getString("jurisdiction")).thenReturn(jurisdiction);
-        when(jobDataMap.getString("caseType")).thenReturn(caseType);
-        when(jobDataMap.getLong("caseId")).thenReturn(caseId);
+        lenient().when(jobDataMap.getString("event")).thenReturn(Event.EXAMPLE.toString());
+        lenient().when(jobDataMap.getString("jurisdiction")).thenReturn(jurisdiction);
+        lenient().when(jobDataMap.getString("caseType")).thenReturn(caseType);
+        lenient().when(jobDataMap.getLong("caseId")).thenReturn(caseId);
 
         when(jobDetail.getJobDataMap()).thenReturn(jobDataMap);
         when(jobExecutionContext.getJobDetail()).thenReturn(jobDetail);
+        lenient().when(dateTimeProvider.now()).thenReturn(now);
+        lenient().when(downstreamResilience.isExecutionPermitted()).thenReturn(true);
     }
 
     @Test
     public void should_execute_job_without_exception_handler_interaction() throws JobExecutionException {
         doNothing().when(eventExecutor).execute(any(EventExecution.class));
 
-        TimedEventJob timedEventJob = new TimedEventJob(eventExecutor, exceptionHandler);
+        TimedEventJob timedEventJob = new TimedEventJob(eventExecutor, exceptionHandler, dateTimeProvider, downstreamResilience);
 
         ArgumentCaptor<EventExecution> execution = ArgumentCaptor.forClass(EventExecution.class);
 
@@ -70,6 +87,8 @@ class TimedEventJobTest {
         assertEquals(jurisdiction, execution.getValue().getJurisdiction());
         assertEquals(caseType, execution.getValue().getCaseType());
         assertEquals(caseId, execution.getValue().getCaseId());
+        verify(jobDataMap).put("attempts", 1L);
+        verify(jobDataMap).put("lastExecutedAt", now.toInstant().toEpochMilli());
         verifyNoInteractions(exceptionHandler);
     }
 
@@ -80,7 +99,7 @@ class TimedEventJobTest {
         doThrow(ex).when(eventExecutor).execute(any(EventExecution.class));
         doThrow(new RetryableException()).when(exceptionHandler).wrapException(ex);
 
-        TimedEventJob timedEventJob = new TimedEventJob(eventExecutor, exceptionHandler);
+        TimedEventJob timedEventJob = new TimedEventJob(eventExecutor, exceptionHandler, dateTimeProvider, downstreamResilience);
 
         assertThrows(
             RetryableException.class,
@@ -98,7 +117,7 @@ class TimedEventJobTest {
         doThrow(ex).when(eventExecutor).execute(any(EventExecution.class));
         doThrow(new NonRetryableException()).when(exceptionHandler).wrapException(ex);
 
-        TimedEventJob timedEventJob = new TimedEventJob(eventExecutor, exceptionHandler);
+        TimedEventJob timedEventJob = new TimedEventJob(eventExecutor, exceptionHandler, dateTimeProvider, downstreamResilience);
 
         assertThrows(
             NonRetryableException.class,
@@ -108,4 +127,39 @@ class TimedEventJobTest {
         verify(eventExecutor).execute(any(EventExecution.class));
         verify(exceptionHandler).wrapException(ex);
     }
+
+    @Test
+    public void should_defer_job_without_attempt_when_downstream_circuit_is_open() {
+
+        when(downstreamResilience.isExecutionPermitted()).thenReturn(false);
+
+        TimedEventJob timedEventJob = new TimedEventJob(eventExecutor, exceptionHandler, dateTimeProvider, downstreamResilience);
+
+        assertThrows(
+            DeferredExecutionException.class,
+            () -> timedEventJob.execute(jobExecutionContext)
+        );
+
+        verifyNoInteractions(eventExecutor, exceptionHandler);
+        verify(jobDataMap, never()).put(eq("attempts"), anyLong());
+    }
+
+    @Test
+    public void should_defer_job_and_revert_attempt_when_downstream_call_is_rejected() {
+
+        when(jobDataMap.getLongValue("attempts")).thenReturn(2L, 3L);
+        doThrow(new RuntimeException(BulkheadFullException.createBulkheadFullException(Bulkhead.ofDefaults("ccd"))))
+            .when(eventExecutor).execute(any(EventExecution.class));
+
+        TimedEventJob timedEventJob = new TimedEventJob(eventExecutor, exceptionHandler, dateTimeProvider, downstreamResilience);
+
+        assertThrows(
+            DeferredExecutionException.class,
+            () -> timedEventJob.execute(jobExecutionContext)
+        );
+
+        verify(jobDataMap).put("attempts", 3L);
+        verify(jobDataMap).put("attempts", 2L);
+        verifyNoInteractions(exceptionHandler);
+    }
 }
@@ -0,0 +1,120 @@
+package uk.gov.hmcts.reform.timedevent.infrastructure.services.quartz;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.quartz.SchedulerConfigException;
+
+class VirtualThreadPoolTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void should_fail_to_initialize_without_thread_count() {
+
+        VirtualThreadPool pool = new VirtualThreadPool(meterRegistry);
+
+        assertThrows(SchedulerConfigException.class, pool::initialize);
+    }
+
+    @Test
+    void should_run_job_on_virtual_thread() throws Exception {
+
+        VirtualThreadPool pool = pool(2);
+
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicReference<Thread> worker = new AtomicReference<>();
+
+        assertTrue(pool.runInThread(() -> {
+            worker.set(Thread.currentThread());
+            done.countDown();
+        }));
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(worker.get().isVirtual());
+        assertTrue(worker.get().getName().startsWith("scheduler_Worker-"));
+        assertFalse(pool.runInThread(null));
+        assertEquals(2, pool.getPoolSize());
+    }
+
+    @Test
+    void should_limit_concurrency_to_thread_count() throws Exception {
+
+        VirtualThreadPool pool = pool(2);
+
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(2);
+
+        pool.runInThread(() -> await(started, release));
+        pool.runInThread(() -> await(started, release));
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertEquals(2.0, meterRegistry.get("quartz.pool.permits.used").gauge().value());
+
+        AtomicBoolean thirdSubmitted = new AtomicBoolean(false);
+        Thread submitter = Thread.ofPlatform().start(() -> {
+            pool.runInThread(() -> { });
+            thirdSubmitted.set(true);
+        });
+
+        submitter.join(200);
+        assertFalse(thirdSubmitted.get());
+
+        release.countDown();
+
+        submitter.join(5000);
+        assertTrue(thirdSubmitted.get());
+        assertTrue(pool.blockForAvailableThreads() > 0);
+        assertEquals(3, meterRegistry.get("quartz.pool.queue.wait").timer().count());
+    }
+
+    @Test
+    void should_wait_for_running_jobs_on_shutdown() throws Exception {
+
+        VirtualThreadPool pool = pool(1);
+
+        AtomicBoolean finished = new AtomicBoolean(false);
+        CountDownLatch started = new CountDownLatch(1);
+
+        pool.runInThread(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            finished.set(true);
+        });
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        pool.shutdown(true);
+
+        assertTrue(finished.get());
+        assertEquals(1, pool.blockForAvailableThreads());
+    }
+
+    private VirtualThreadPool pool(int threadCount) throws SchedulerConfigException {
+
+        VirtualThreadPool pool = new VirtualThreadPool(meterRegistry);
+        pool.setInstanceName("scheduler");
+        pool.setInstanceId("instance");
+        pool.setThreadCount(threadCount);
+        pool.initialize();
+        return pool;
+    }
+
+    private static void await(CountDownLatch started, CountDownLatch release) {
+        started.countDown();
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}